@@ -0,0 +1,63 @@
+package com.udb.letrasvivas.bookapi.benchmarks;
+
+import java.util.Arrays;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udb.letrasvivas.bookapi.LetrasVivasBookApiApplication;
+
+/**
+ * Starts the application against an in-memory H2 database, seeded by the
+ * regular data seeder. Tracing, access logging and the JFR stream are off so
+ * they do not blur the numbers.
+ */
+public final class BenchmarkApplication {
+
+    private static final String[] ARGUMENTS = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--spring.datasource.driver-class-name=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+            "--bookapi.reactive.url=r2dbc:h2:mem:///benchmarks;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+            "--bookapi.reactive.username=sa",
+            "--bookapi.reactive.password=",
+            "--springdoc.api-docs.enabled=false",
+            "--bookapi.tracing.enabled=false",
+            "--bookapi.access-log.enabled=false",
+            "--bookapi.jfr.streaming.enabled=false",
+            "--bookapi.catalog.async=false",
+            "--bookapi.warmup.enabled=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.udb.letrasvivas=WARN"
+    };
+
+    private BenchmarkApplication() {
+    }
+
+    /**
+     * The application context without a web server, for in-process
+     * benchmarks
+     */
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(LetrasVivasBookApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(ARGUMENTS);
+    }
+
+    /**
+     * The full application on a random port, for HTTP load tests. Per-client
+     * rate limiting is off, since all load comes from one client.
+     */
+    public static ConfigurableApplicationContext startServer() {
+        String[] arguments = Arrays.copyOf(ARGUMENTS, ARGUMENTS.length + 2);
+        arguments[ARGUMENTS.length] = "--server.port=0";
+        arguments[ARGUMENTS.length + 1] = "--bookapi.ratelimit.enabled=false";
+        return new SpringApplicationBuilder(LetrasVivasBookApiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .run(arguments);
+    }
+}
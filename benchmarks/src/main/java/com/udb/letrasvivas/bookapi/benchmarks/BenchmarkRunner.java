@@ -0,0 +1,121 @@
+package com.udb.letrasvivas.bookapi.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Runs the benchmarks with the GC profiler (allocation rate and bytes per
+ * operation) and compares them against {@value #BASELINE}. The run fails
+ * when a benchmark got slower than the time tolerance, allocates more than
+ * the allocation tolerance, or has no baseline; allocation per operation is
+ * far less noisy than time, hence the tighter default. Only with
+ * {@code -Dbenchmarks.update-baseline=true} do the results become the new
+ * baseline, to be committed.
+ */
+public final class BenchmarkRunner {
+
+    static final String BASELINE = "baseline/baseline.json";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        Options options = new OptionsBuilder()
+                .include(System.getProperty("benchmarks.include", ".*Benchmark.*"))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result.json")
+                .build();
+        Map<String, Score> scores = new TreeMap<>();
+        for (RunResult result : new Runner(options).run()) {
+            scores.put(result.getParams().getBenchmark(), Score.of(result));
+        }
+
+        Path baselineFile = Path.of(BASELINE);
+        if (Boolean.getBoolean("benchmarks.update-baseline")) {
+            Map<String, Score> baseline = Files.exists(baselineFile) ? read(baselineFile) : new TreeMap<>();
+            baseline.putAll(scores);
+            Files.createDirectories(baselineFile.getParent());
+            objectMapper.writeValue(baselineFile.toFile(), baseline);
+            System.out.println("Baseline written to " + baselineFile.toAbsolutePath());
+            return;
+        }
+        if (!Files.exists(baselineFile)) {
+            System.err.println("No baseline at " + baselineFile.toAbsolutePath()
+                    + "; record one with -Dbenchmarks.update-baseline=true and commit it");
+            System.exit(1);
+        }
+
+        List<String> regressions = compare(read(baselineFile), scores,
+                Double.parseDouble(System.getProperty("benchmarks.time-tolerance", "0.10")),
+                Double.parseDouble(System.getProperty("benchmarks.alloc-tolerance", "0.05")));
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.err.println("REGRESSION " + regression));
+            System.exit(1);
+        }
+        System.out.println("No regressions against " + baselineFile);
+    }
+
+    static List<String> compare(Map<String, Score> baseline, Map<String, Score> scores, double timeTolerance,
+            double allocTolerance) {
+        List<String> regressions = new ArrayList<>();
+        scores.forEach((benchmark, score) -> {
+            Score base = baseline.get(benchmark);
+            if (base == null || !base.unit().equals(score.unit())) {
+                regressions.add(String.format("%s: no baseline in %s, record one with"
+                        + " -Dbenchmarks.update-baseline=true", benchmark, score.unit()));
+                return;
+            }
+            if (score.score() > base.score() * (1 + timeTolerance)) {
+                regressions.add(String.format("%s: %.3f %s, baseline %.3f", benchmark, score.score(), score.unit(),
+                        base.score()));
+            }
+            // A few bytes of slack so zero-allocation baselines do not flap
+            if (base.allocBytesPerOp() != null && score.allocBytesPerOp() != null
+                    && score.allocBytesPerOp() > base.allocBytesPerOp() * (1 + allocTolerance) + 16) {
+                regressions.add(String.format("%s: %.0f B/op allocated, baseline %.0f", benchmark,
+                        score.allocBytesPerOp(), base.allocBytesPerOp()));
+            }
+        });
+        return regressions;
+    }
+
+    private static Map<String, Score> read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), new TypeReference<TreeMap<String, Score>>() { });
+    }
+
+    /**
+     * Average time per operation and bytes allocated per operation
+     */
+    record Score(double score, String unit, Double allocBytesPerOp) {
+
+        static Score of(RunResult result) {
+            Map<String, Result> secondary = result.getSecondaryResults();
+            Result alloc = secondary.containsKey("gc.alloc.rate.norm")
+                    ? secondary.get("gc.alloc.rate.norm")
+                    : secondary.get("\u00b7gc.alloc.rate.norm");
+            return new Score(result.getPrimaryResult().getScore(), result.getPrimaryResult().getScoreUnit(),
+                    alloc != null ? alloc.getScore() : null);
+        }
+    }
+}
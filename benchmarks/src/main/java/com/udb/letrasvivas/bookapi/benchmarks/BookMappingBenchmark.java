@@ -0,0 +1,52 @@
+package com.udb.letrasvivas.bookapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookMapper;
+
+/**
+ * {@code BookDto} to {@code Book} mapping, including the {@code Double} to
+ * {@code BigDecimal} price conversion
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMappingBenchmark {
+
+    private final BookDto withPrice = new BookDto("Don Quixote", "Miguel de Cervantes", 1605,
+            "A classic Spanish novel about the adventures of Don Quixote", "Fiction", 863, 24.99);
+    private final BookDto withoutPrice = new BookDto("Don Quixote", "Miguel de Cervantes", 1605,
+            null, "Fiction", 863, null);
+    private final Book existing = BookMapper.toEntity(withPrice);
+
+    @Benchmark
+    public Book toEntity() {
+        return BookMapper.toEntity(withPrice);
+    }
+
+    @Benchmark
+    public Book toEntityWithoutPrice() {
+        return BookMapper.toEntity(withoutPrice);
+    }
+
+    @Benchmark
+    public Book copyToExistingEntity() {
+        BookMapper.copyToEntity(withPrice, existing);
+        return existing;
+    }
+}
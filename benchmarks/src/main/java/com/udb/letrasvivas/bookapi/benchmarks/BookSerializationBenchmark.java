@@ -0,0 +1,77 @@
+package com.udb.letrasvivas.bookapi.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+
+/**
+ * Jackson serialization of one {@code Book} and of a 20-book
+ * {@code Page<Book>}, with an {@code ObjectMapper} configured the way Spring
+ * MVC configures its own
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final Book book = book(1);
+    private final Page<Book> page;
+
+    public BookSerializationBenchmark() {
+        List<Book> books = new ArrayList<>();
+        for (long id = 1; id <= 20; id++) {
+            books.add(book(id));
+        }
+        page = new PageImpl<>(books, PageRequest.of(0, 20), 200);
+    }
+
+    @Benchmark
+    public byte[] serializeBook() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    private static Book book(long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Don Quixote " + id);
+        book.setAuthor("Miguel de Cervantes");
+        book.setPublicationYear(1605);
+        book.setDescription("A classic Spanish novel about the adventures of Don Quixote");
+        book.setGenre("Fiction");
+        book.setPageCount(863);
+        book.setPrice(new BigDecimal("24.99"));
+        book.setIsAvailable(true);
+        book.setCreatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        book.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        return book;
+    }
+}
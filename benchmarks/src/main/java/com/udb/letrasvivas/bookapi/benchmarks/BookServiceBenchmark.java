@@ -0,0 +1,93 @@
+package com.udb.letrasvivas.bookapi.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+
+/**
+ * {@link BookService} reads and writes through the full proxy stack
+ * (transactions, caching, coalescing, retries, metrics) against embedded H2
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20, Sort.by("title"));
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Long bookId;
+    private BookDto update;
+    private int updates;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        bookService = context.getBean(BookService.class);
+        Book book = context.getBean(BookRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0);
+        bookId = book.getId();
+        update = new BookDto(book.getTitle(), book.getAuthor(), book.getPublicationYear(), book.getDescription(),
+                book.getGenre(), book.getPageCount(), book.getPrice() != null ? book.getPrice().doubleValue() : null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book getBookById() {
+        return bookService.getBookById(bookId);
+    }
+
+    @Benchmark
+    public Page<Book> getAllBooksFirstPage() {
+        return bookService.getAllBooks(FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Book> searchBooksAdvanced() {
+        return bookService.searchBooksAdvanced("the", null, null, 1800, null, null, null, true, FIRST_PAGE);
+    }
+
+    @Benchmark
+    public BookService.BookStatistics getBookStatistics() {
+        return bookService.getBookStatistics();
+    }
+
+    @Benchmark
+    public Book updateBook() {
+        // Alternate the price so every call writes a row
+        update.setPrice(updates++ % 2 == 0 ? 10.5 : 11.5);
+        return bookService.updateBook(bookId, update);
+    }
+
+    @Benchmark
+    public Book toggleBookAvailability() {
+        return bookService.toggleBookAvailability(bookId);
+    }
+}
@@ -0,0 +1,140 @@
+package com.udb.letrasvivas.bookapi.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.udb.letrasvivas.bookapi.metrics.LatencyHistogram;
+
+/**
+ * Latencies of one run, per operation and overall, plus a per-second series
+ * of completions, errors and percentiles. Latency is measured from the time
+ * a request was scheduled to be sent, not from when it actually went out,
+ * so a stalled server shows up in the numbers instead of silently lowering
+ * the request rate (coordinated omission).
+ */
+class LoadReport {
+
+    private final long startNanos;
+    private final Map<Operation, Stats> operations = new EnumMap<>(Operation.class);
+    private final Stats overall = new Stats();
+    private final Stats[] seconds;
+    private final Map<Integer, LongAdder> statuses = new ConcurrentSkipListMap<>();
+
+    LoadReport(long startNanos, int durationSeconds) {
+        this.startNanos = startNanos;
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new Stats());
+        }
+        // A few extra seconds for requests completing after the last send
+        this.seconds = new Stats[durationSeconds + 30];
+        for (int i = 0; i < seconds.length; i++) {
+            seconds[i] = new Stats();
+        }
+    }
+
+    /**
+     * Record one request; {@code status} is zero when it failed without a
+     * response. Anything but a 2xx is an error: a 429, 409 or 404 means the
+     * operation did not happen either.
+     */
+    void record(Operation operation, long intendedNanos, long completedNanos, int status) {
+        long latency = completedNanos - intendedNanos;
+        boolean error = status < 200 || status >= 300;
+        statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+        operations.get(operation).record(latency, error);
+        overall.record(latency, error);
+        int second = (int) Math.min(TimeUnit.NANOSECONDS.toSeconds(completedNanos - startNanos),
+                seconds.length - 1);
+        seconds[second].record(latency, error);
+    }
+
+    long p99Nanos() {
+        return overall.histogram.percentile(0.99);
+    }
+
+    long p99Nanos(Operation operation) {
+        return operations.get(operation).histogram.percentile(0.99);
+    }
+
+    long count(Operation operation) {
+        return operations.get(operation).histogram.count();
+    }
+
+    double errorRate() {
+        long count = overall.histogram.count();
+        return count == 0 ? 0 : overall.errors.sum() / (double) count;
+    }
+
+    String summary(double rate, long durationSeconds) {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+        out.printf(Locale.ROOT, "Open-loop load: %.0f req/s for %d s%n%n", rate, durationSeconds);
+        out.printf(Locale.ROOT, "%-10s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        operations.forEach((operation, stats) -> {
+            if (stats.histogram.count() > 0) {
+                line(out, operation.name().toLowerCase(Locale.ROOT), stats);
+            }
+        });
+        line(out, "all", overall);
+        long completed = overall.histogram.count();
+        out.printf(Locale.ROOT, "%nThroughput: %.1f req/s completed%n", completed / (double) durationSeconds);
+        out.print("Status codes:");
+        statuses.forEach((status, count) -> out.printf(Locale.ROOT, " %s=%d",
+                status == 0 ? "failed" : status, count.sum()));
+        out.println();
+        out.flush();
+        return text.toString();
+    }
+
+    /**
+     * Per-second completions, errors and latency percentiles as CSV
+     */
+    void writeThroughput(Path file) throws IOException {
+        StringBuilder csv = new StringBuilder("second,completed,errors,p50_ms,p99_ms,max_ms\n");
+        int last = seconds.length - 1;
+        while (last > 0 && seconds[last].histogram.count() == 0) {
+            last--;
+        }
+        for (int i = 0; i <= last; i++) {
+            Stats stats = seconds[i];
+            csv.append(String.format(Locale.ROOT, "%d,%d,%d,%.3f,%.3f,%.3f%n", i, stats.histogram.count(),
+                    stats.errors.sum(), millis(stats.histogram.percentile(0.5)),
+                    millis(stats.histogram.percentile(0.99)), millis(stats.histogram.max())));
+        }
+        Files.writeString(file, csv);
+    }
+
+    private static void line(PrintWriter out, String name, Stats stats) {
+        LatencyHistogram histogram = stats.histogram;
+        out.printf(Locale.ROOT, "%-10s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f%n", name, histogram.count(),
+                stats.errors.sum(), millis(histogram.percentile(0.5)), millis(histogram.percentile(0.9)),
+                millis(histogram.percentile(0.99)), millis(histogram.percentile(0.999)), millis(histogram.max()));
+    }
+
+    static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Stats {
+
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long latency, boolean error) {
+            histogram.record(latency);
+            if (error) {
+                errors.increment();
+            }
+        }
+    }
+}
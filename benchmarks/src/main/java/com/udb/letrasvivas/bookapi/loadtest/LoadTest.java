@@ -0,0 +1,157 @@
+package com.udb.letrasvivas.bookapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.udb.letrasvivas.bookapi.benchmarks.BenchmarkApplication;
+
+/**
+ * Open-loop HTTP load test. Requests are sent at a fixed rate whatever the
+ * server's response times, each one at its own scheduled instant, and
+ * latency is counted from that instant (see {@link LoadReport}). Without
+ * {@code loadtest.base-url} the application is started in-process on an
+ * embedded database.
+ * <p>
+ * A warm-up phase at the same rate is run and discarded first. The run
+ * fails (exit code 1) when p99 latency, overall or for an operation with
+ * its own {@code loadtest.p99-budget.<operation>}, is over budget, or when
+ * more than {@code loadtest.max-error-rate} of the requests got no 2xx
+ * response.
+ * Results are written to {@code target/loadtest}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        Duration duration = duration("loadtest.duration", "60s");
+        Duration warmup = duration("loadtest.warmup", "15s");
+        Duration timeout = duration("loadtest.request-timeout", "10s");
+        Operation.Mix mix = Operation.Mix.parse(System.getProperty("loadtest.mix",
+                "browse=30,search=25,get_by_id=30,create=5,update=5,toggle=5"));
+        long seed = Long.getLong("loadtest.seed", 42);
+        Duration p99Budget = duration("loadtest.p99-budget", "250ms");
+        double maxErrorRate = Double.parseDouble(System.getProperty("loadtest.max-error-rate", "0.01"));
+
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isBlank()) {
+            context = BenchmarkApplication.startServer();
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            baseUrl = "http://localhost:" + port;
+        }
+
+        int exitCode;
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(timeout)
+                    .build();
+            Workload workload = new Workload(URI.create(baseUrl), timeout);
+            workload.discover(client);
+            Random random = new Random(seed);
+
+            System.out.printf(Locale.ROOT, "Warming up %s for %d s%n", baseUrl, warmup.toSeconds());
+            run(client, workload, mix, random, rate, warmup, timeout);
+            LoadReport report = run(client, workload, mix, random, rate, duration, timeout);
+
+            Path output = Path.of("target", "loadtest");
+            Files.createDirectories(output);
+            String summary = report.summary(rate, duration.toSeconds());
+            Files.writeString(output.resolve("summary.txt"), summary);
+            report.writeThroughput(output.resolve("throughput.csv"));
+            System.out.println(summary);
+
+            List<String> failures = check(report, p99Budget, maxErrorRate);
+            failures.forEach(failure -> System.err.println("FAILED " + failure));
+            exitCode = failures.isEmpty() ? 0 : 1;
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+        System.exit(exitCode);
+    }
+
+    /**
+     * Send {@code rate} requests per second for {@code duration}, then wait
+     * for the stragglers
+     */
+    static LoadReport run(HttpClient client, Workload workload, Operation.Mix mix, Random random, double rate,
+            Duration duration, Duration timeout) throws InterruptedException {
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = (long) (rate * duration.toSeconds());
+        long start = System.nanoTime();
+        LoadReport report = new LoadReport(start, (int) duration.toSeconds());
+        AtomicLong inFlight = new AtomicLong();
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * intervalNanos;
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = mix.pick(random);
+            inFlight.incrementAndGet();
+            client.sendAsync(workload.request(operation, random), HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, failure) -> {
+                        report.record(operation, intended, System.nanoTime(),
+                                response != null ? response.statusCode() : 0);
+                        if (response != null) {
+                            workload.onResponse(operation, response);
+                        }
+                        inFlight.decrementAndGet();
+                    });
+        }
+
+        long deadline = System.nanoTime() + timeout.toNanos() + TimeUnit.SECONDS.toNanos(1);
+        while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return report;
+    }
+
+    static List<String> check(LoadReport report, Duration p99Budget, double maxErrorRate) {
+        List<String> failures = new ArrayList<>();
+        if (report.p99Nanos() > p99Budget.toNanos()) {
+            failures.add(String.format(Locale.ROOT, "p99 %.2f ms is over the %d ms budget",
+                    LoadReport.millis(report.p99Nanos()), p99Budget.toMillis()));
+        }
+        for (Operation operation : Operation.values()) {
+            String budget = System.getProperty("loadtest.p99-budget." + operation.name().toLowerCase(Locale.ROOT));
+            if (budget != null && report.count(operation) > 0
+                    && report.p99Nanos(operation) > DurationStyle.detectAndParse(budget).toNanos()) {
+                failures.add(String.format(Locale.ROOT, "%s p99 %.2f ms is over its %s budget",
+                        operation.name().toLowerCase(Locale.ROOT), LoadReport.millis(report.p99Nanos(operation)),
+                        budget));
+            }
+        }
+        if (report.errorRate() > maxErrorRate) {
+            failures.add(String.format(Locale.ROOT, "error rate %.2f%% is over %.2f%%", report.errorRate() * 100,
+                    maxErrorRate * 100));
+        }
+        return failures;
+    }
+
+    private static Duration duration(String property, String defaultValue) {
+        return DurationStyle.detectAndParse(System.getProperty(property, defaultValue));
+    }
+}
@@ -0,0 +1,55 @@
+package com.udb.letrasvivas.bookapi.loadtest;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The {@code BookController} calls a load test mixes
+ */
+public enum Operation {
+
+    BROWSE,
+    SEARCH,
+    GET_BY_ID,
+    CREATE,
+    UPDATE,
+    TOGGLE;
+
+    /**
+     * Weighted choice of operations, e.g. {@code browse=30,search=25,get_by_id=30,create=5,update=5,toggle=5}
+     */
+    public record Mix(Map<Operation, Integer> weights) {
+
+        public static Mix parse(String spec) {
+            Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException("Invalid mix entry: " + entry);
+                }
+                int weight = Integer.parseInt(parts[1].trim());
+                if (weight > 0) {
+                    weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+                }
+            }
+            if (weights.isEmpty()) {
+                throw new IllegalArgumentException("Empty operation mix: " + spec);
+            }
+            return new Mix(weights);
+        }
+
+        Operation pick(Random random) {
+            int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+            int roll = random.nextInt(total);
+            for (Map.Entry<Operation, Integer> entry : weights.entrySet()) {
+                roll -= entry.getValue();
+                if (roll < 0) {
+                    return entry.getKey();
+                }
+            }
+            throw new IllegalStateException("Unreachable");
+        }
+    }
+}
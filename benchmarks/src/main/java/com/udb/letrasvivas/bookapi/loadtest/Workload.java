@@ -0,0 +1,109 @@
+package com.udb.letrasvivas.bookapi.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Builds the HTTP request for each operation. Reads pick among the seeded
+ * books; updates and toggles prefer books the run created itself, so the
+ * seeded catalogue stays as it was for the reads. All choices come from the
+ * seeded {@link Random}, so a run is reproducible.
+ */
+class Workload {
+
+    private static final List<String> SEARCH_TERMS = List.of("the", "war", "great", "pride", "of", "and", "night");
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final URI baseUri;
+    private final Duration timeout;
+    private final List<Long> seededIds = new CopyOnWriteArrayList<>();
+    private final List<Long> createdIds = new CopyOnWriteArrayList<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    Workload(URI baseUri, Duration timeout) {
+        this.baseUri = baseUri;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Load the ids of the first page of books, which reads will target
+     */
+    void discover(HttpClient client) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(get("/api/books?page=0&size=100"),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Could not list books: HTTP " + response.statusCode());
+        }
+        for (JsonNode book : objectMapper.readTree(response.body()).path("content")) {
+            seededIds.add(book.path("id").asLong());
+        }
+        if (seededIds.isEmpty()) {
+            throw new IllegalStateException("No books to run against; is the data seeder enabled?");
+        }
+    }
+
+    HttpRequest request(Operation operation, Random random) {
+        return switch (operation) {
+            case BROWSE -> get("/api/books?page=" + random.nextInt(5) + "&size=20&sortBy=title");
+            case SEARCH -> get("/api/books/search?title=" + SEARCH_TERMS.get(random.nextInt(SEARCH_TERMS.size()))
+                    + "&page=0&size=20");
+            case GET_BY_ID -> get("/api/books/" + pick(seededIds, random));
+            case CREATE -> send("POST", "/api/books", body("Load Test Book " + sequence.incrementAndGet(), random));
+            case UPDATE -> send("PUT", "/api/books/" + writableId(random),
+                    body("Load Test Book Revised " + sequence.incrementAndGet(), random));
+            case TOGGLE -> send("PATCH", "/api/books/" + writableId(random) + "/availability", null);
+        };
+    }
+
+    /**
+     * Remember books created by the run
+     */
+    void onResponse(Operation operation, HttpResponse<String> response) {
+        if (operation == Operation.CREATE && response.statusCode() == 201) {
+            try {
+                createdIds.add(objectMapper.readTree(response.body()).path("id").asLong());
+            } catch (IOException ex) {
+                // Not fatal: later writes fall back to seeded books
+            }
+        }
+    }
+
+    private long writableId(Random random) {
+        return createdIds.isEmpty() ? pick(seededIds, random) : pick(createdIds, random);
+    }
+
+    private static long pick(List<Long> ids, Random random) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String body(String title, Random random) {
+        return "{\"title\": \"" + title + "\", \"author\": \"Load Tester\", \"publicationYear\": "
+                + (1900 + random.nextInt(120)) + ", \"genre\": \"Fiction\", \"pageCount\": "
+                + (100 + random.nextInt(800)) + ", \"price\": " + (5 + random.nextInt(45)) + ".99}";
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout).GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String body) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .method(method, body != null
+                        ? HttpRequest.BodyPublishers.ofString(body)
+                        : HttpRequest.BodyPublishers.noBody())
+                .build();
+    }
+}
@@ -2,12 +2,20 @@ package com.udb.letrasvivas.bookapi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class LetrasVivasBookApiApplication {
 
+    /**
+     * Startup steps kept for {@code /api/startup}; later steps are dropped
+     */
+    private static final int STARTUP_STEP_CAPACITY = 10_000;
+
     public static void main(String[] args) {
-        SpringApplication.run(LetrasVivasBookApiApplication.class, args);
+        SpringApplication application = new SpringApplication(LetrasVivasBookApiApplication.class);
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
+        application.run(args);
     }
 
 }
@@ -0,0 +1,171 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that follows observed latency (AIMD), adjusted once per
+ * measurement window rather than per request.
+ * <p>
+ * Samples are summed per endpoint over a window of at least {@code window}
+ * and {@code minSamples} requests. Each endpoint's baseline is its lowest
+ * window average, so a mix of cache hits and misses on one endpoint is
+ * compared with the same mix, not with its fastest hit (a cached point read
+ * and a full-text search are not comparable either). When the endpoints
+ * running more than {@code tolerance} times their baseline account for most
+ * of the window's request time, or a request failed, the backend is
+ * queueing and the limit is multiplied by {@code backoffRatio}; otherwise,
+ * while the limit is actually being used, it grows by one. Requests over
+ * the limit are refused at once rather than queued, so a slow database
+ * sheds load instead of piling up connection waits.
+ * <p>
+ * Recording a sample only adds to counters; whichever request closes a
+ * window does the adjustment.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** How quickly a baseline forgets an old minimum, per window */
+    private static final double BASELINE_DRIFT = 0.01;
+
+    /** Sub-millisecond jitter never counts as queueing */
+    private static final long MIN_SLOWDOWN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final long windowNanos;
+    private final int minSamples;
+    private final LongSupplier clock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<Object, Samples> endpoints = new ConcurrentHashMap<>();
+    private final LongAdder windowSamples = new LongAdder();
+    private final LongAdder windowFailures = new LongAdder();
+    private final LongAccumulator windowPeak = new LongAccumulator(Math::max, 0);
+    private final AtomicLong windowEnd;
+    private volatile double limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            double backoffRatio, long windowNanos, int minSamples) {
+        this(initialLimit, minLimit, maxLimit, tolerance, backoffRatio, windowNanos, minSamples, System::nanoTime);
+    }
+
+    /**
+     * @param clock nanosecond time source that windows are measured against
+     */
+    AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double tolerance,
+            double backoffRatio, long windowNanos, int minSamples, LongSupplier clock) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= minLimit <= initialLimit <= maxLimit");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.windowNanos = windowNanos;
+        this.minSamples = Math.max(1, minSamples);
+        this.clock = clock;
+        this.windowEnd = new AtomicLong(clock.getAsLong() + windowNanos);
+    }
+
+    /**
+     * Admit a request if its priority's share of the limit is not used up
+     */
+    public boolean tryAcquire(Priority priority) {
+        int allowance = priority.allowance(limit);
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowance) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Record the outcome of an admitted request, and adjust the limit if this
+     * closes the window
+     */
+    public void release(Object endpoint, long latencyNanos, boolean failed) {
+        int concurrency = inFlight.getAndDecrement();
+        Samples samples = endpoints.get(endpoint);
+        if (samples == null) {
+            samples = endpoints.computeIfAbsent(endpoint, key -> new Samples());
+        }
+        samples.count.increment();
+        samples.nanos.add(latencyNanos);
+        windowPeak.accumulate(concurrency);
+        windowSamples.increment();
+        if (failed) {
+            windowFailures.increment();
+        }
+
+        long now = clock.getAsLong();
+        long end = windowEnd.get();
+        if (now - end >= 0 && windowSamples.sum() >= minSamples && windowEnd.compareAndSet(end, now + windowNanos)) {
+            closeWindow();
+        }
+    }
+
+    public double limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private void closeWindow() {
+        windowSamples.reset();
+        long failures = windowFailures.sumThenReset();
+        long peak = windowPeak.getThenReset();
+        double totalNanos = 0;
+        double slowNanos = 0;
+        for (Samples samples : endpoints.values()) {
+            long count = samples.count.sumThenReset();
+            long nanos = samples.nanos.sumThenReset();
+            if (count == 0) {
+                continue;
+            }
+            double average = (double) nanos / count;
+            double baseline = samples.baseline;
+            if (Double.isNaN(baseline) || average < baseline) {
+                baseline = average;
+            } else {
+                baseline += (average - baseline) * BASELINE_DRIFT;
+            }
+            samples.baseline = baseline;
+            totalNanos += nanos;
+            if (average > baseline * tolerance && average - baseline > MIN_SLOWDOWN_NANOS) {
+                slowNanos += nanos;
+            }
+        }
+        // Weighted by time, so fast cache hits cannot hide queueing elsewhere
+        boolean slow = slowNanos * 2 > totalNanos;
+        double current = limit;
+        if (failures > 0 || slow) {
+            limit = Math.max(minLimit, current * backoffRatio);
+        } else if (peak * 2 >= current) {
+            limit = Math.min(maxLimit, current + 1);
+        }
+    }
+
+    /**
+     * One endpoint's samples in the current window, and its baseline
+     */
+    private static final class Samples {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder nanos = new LongAdder();
+        volatile double baseline = Double.NaN;
+    }
+}
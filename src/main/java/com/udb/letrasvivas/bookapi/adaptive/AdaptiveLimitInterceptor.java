@@ -0,0 +1,135 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import java.lang.reflect.Method;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.workload.BulkheadFullException;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Puts {@link Workload}-annotated endpoints behind an
+ * {@link AdaptiveConcurrencyLimiter}. Point reads and writes are high
+ * priority and searches normal, unless {@link RequestPriority} says
+ * otherwise. Only overload counts as a failed sample: a 503 or 504, a query
+ * or deadline timeout, a connection pool timeout or a full bulkhead. Other
+ * errors, such as a 500 caused by a bad request parameter, say nothing about
+ * database load and would let one client shrink everyone's limit.
+ */
+@Component
+public class AdaptiveLimitInterceptor implements HandlerInterceptor {
+
+    private static final String STARTED = AdaptiveLimitInterceptor.class.getName() + ".STARTED";
+
+    private final boolean enabled;
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final Map<Priority, LongAdder> shed = new EnumMap<>(Priority.class);
+    private final Map<Method, Priority> priorities = new ConcurrentHashMap<>();
+
+    public AdaptiveLimitInterceptor(Environment environment, ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.enabled = environment.getProperty("bookapi.adaptive.enabled", Boolean.class, true);
+        this.limiter = new AdaptiveConcurrencyLimiter(
+                environment.getProperty("bookapi.adaptive.initial-limit", Integer.class, 20),
+                environment.getProperty("bookapi.adaptive.min-limit", Integer.class, 4),
+                environment.getProperty("bookapi.adaptive.max-limit", Integer.class, 200),
+                environment.getProperty("bookapi.adaptive.tolerance", Double.class, 2.0),
+                environment.getProperty("bookapi.adaptive.backoff-ratio", Double.class, 0.9),
+                environment.getProperty("bookapi.adaptive.window", Duration.class, Duration.ofMillis(100)).toNanos(),
+                environment.getProperty("bookapi.adaptive.min-samples", Integer.class, 10));
+        for (Priority priority : Priority.values()) {
+            shed.put(priority, new LongAdder());
+        }
+        metricsRegistry.ifAvailable(registry -> {
+            registry.gauge(limiter::limit, "bookapi.adaptive.limit");
+            registry.gauge(limiter::inFlight, "bookapi.adaptive.in_flight");
+            shed.forEach((priority, count) -> registry.gauge(count::sum, "bookapi.adaptive.shed",
+                    "priority", priority.key()));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(STARTED) != null) {
+            return true;
+        }
+        Priority priority = priorities.computeIfAbsent(handlerMethod.getMethod(), method -> resolve(handlerMethod));
+        if (priority == null) {
+            return true;
+        }
+        if (!limiter.tryAcquire(priority)) {
+            shed.get(priority).increment();
+            throw new LoadSheddingException(priority);
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(STARTED) instanceof Long started) {
+            request.removeAttribute(STARTED);
+            // A handled exception is not passed in, but the dispatcher keeps it
+            Throwable failure = ex != null ? ex
+                    : (Throwable) request.getAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE);
+            limiter.release(((HandlerMethod) handler).getMethod(), System.nanoTime() - started,
+                    isOverload(response.getStatus(), failure));
+        }
+    }
+
+    public AdaptiveConcurrencyLimiter limiter() {
+        return limiter;
+    }
+
+    /**
+     * Whether a response, or the exception behind it, means the backend is
+     * overloaded rather than that the request itself was bad
+     */
+    static boolean isOverload(int status, Throwable ex) {
+        if (status == HttpStatus.SERVICE_UNAVAILABLE.value() || status == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return true;
+        }
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof QueryTimeoutException
+                    || cause instanceof BulkheadFullException
+                    || cause instanceof CannotGetJdbcConnectionException
+                    || cause instanceof SQLTransientConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Priority resolve(HandlerMethod handlerMethod) {
+        RequestPriority explicit = handlerMethod.getMethodAnnotation(RequestPriority.class);
+        if (explicit != null) {
+            return explicit.value();
+        }
+        Workload workload = handlerMethod.getMethodAnnotation(Workload.class);
+        if (workload == null) {
+            return null;
+        }
+        return switch (workload.value()) {
+            case POINT_READ, WRITE -> Priority.HIGH;
+            case SEARCH -> Priority.NORMAL;
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class LoadSheddingException extends RuntimeException {
+
+    private final Priority priority;
+
+    public LoadSheddingException(Priority priority) {
+        super("Server overloaded, " + priority.key() + "-priority request shed");
+        this.priority = priority;
+    }
+
+    public Priority getPriority() {
+        return priority;
+    }
+}
@@ -0,0 +1,27 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+/**
+ * How early a request is shed when the adaptive limit shrinks. Each level
+ * may only use its share of the current limit, so low-priority traffic is
+ * refused first and high-priority traffic last.
+ */
+public enum Priority {
+
+    HIGH(1.0),
+    NORMAL(0.8),
+    LOW(0.5);
+
+    private final double share;
+
+    Priority(double share) {
+        this.share = share;
+    }
+
+    int allowance(double limit) {
+        return Math.max(1, (int) (limit * share));
+    }
+
+    public String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,19 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the shedding priority implied by a controller method's
+ * {@link com.udb.letrasvivas.bookapi.workload.Workload}
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestPriority {
+
+    Priority value();
+}
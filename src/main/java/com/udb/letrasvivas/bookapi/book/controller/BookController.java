@@ -1,8 +1,17 @@
 package com.udb.letrasvivas.bookapi.book.controller;
 
+import com.udb.letrasvivas.bookapi.adaptive.Priority;
+import com.udb.letrasvivas.bookapi.adaptive.RequestPriority;
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchRequest;
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
 import com.udb.letrasvivas.bookapi.book.dto.BookDto;
 import com.udb.letrasvivas.bookapi.book.model.Book;
 import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.ratelimit.EndpointGroup;
+import com.udb.letrasvivas.bookapi.ratelimit.RateLimitGroup;
+import com.udb.letrasvivas.bookapi.sql.StatementBudget;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -43,6 +52,8 @@ public class BookController {
             description = "Retrieve a paginated list of all books in the catalog",
             operationId = "getAllBooks"
     )
+    @Workload(WorkloadType.SEARCH)
+    @StatementBudget(2)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -67,7 +78,7 @@ public class BookController {
             @Parameter(description = "Sort direction", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("GET /api/books - Fetching all books with pagination: page={}, size={}, sortBy={}, sortDir={}",
+        log.debug("GET /api/books - Fetching all books with pagination: page={}, size={}, sortBy={}, sortDir={}",
                 page, size, sortBy, sortDir);
 
         Sort sort = sortDir.equalsIgnoreCase("desc")
@@ -87,6 +98,8 @@ public class BookController {
             description = "Retrieve a specific book by its ID",
             operationId = "getBookById"
     )
+    @Workload(WorkloadType.POINT_READ)
+    @StatementBudget(1)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -115,11 +128,82 @@ public class BookController {
     public ResponseEntity<Book> getBookById(
             @Parameter(description = "ID of the book to retrieve", example = "1")
             @PathVariable Long id) {
-        log.info("GET /api/books/{} - Fetching book by ID", id);
+        log.debug("GET /api/books/{} - Fetching book by ID", id);
         Book book = bookService.getBookById(id);
         return ResponseEntity.ok(book);
     }
 
+    /**
+     * Get several books by ID in one request
+     */
+    @GetMapping(params = "ids")
+    @Operation(
+            summary = "Get books by IDs",
+            description = "Retrieve several books in one request; unknown IDs are listed in missingIds",
+            operationId = "getBooksByIds"
+    )
+    @Workload(WorkloadType.POINT_READ)
+    @StatementBudget(5)
+    @RateLimitGroup(EndpointGroup.BULK)
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Books retrieved successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = BookBatchResponse.class),
+                        examples = @ExampleObject(
+                                name = "Books found",
+                                value = "{\"books\": [{\"id\": 1, \"title\": \"Don Quixote\", \"author\": \"Miguel de Cervantes\", \"publicationYear\": 1605}], \"missingIds\": [999]}"
+                        )
+                )
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "Too many IDs requested",
+                content = @Content(mediaType = "application/json")
+        )
+    })
+    public ResponseEntity<BookBatchResponse> getBooksByIds(
+            @Parameter(description = "Comma-separated book IDs", example = "1,2,3")
+            @RequestParam List<Long> ids) {
+        log.debug("GET /api/books?ids - Fetching {} books by ID", ids.size());
+        return ResponseEntity.ok(bookService.getBooksByIds(ids));
+    }
+
+    /**
+     * Get several books by ID, with the IDs in the request body
+     */
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Get books by IDs (body)",
+            description = "Same as GET /api/books?ids=..., for ID lists too long for a query string",
+            operationId = "getBooksByIdsBatch"
+    )
+    @Workload(WorkloadType.POINT_READ)
+    @StatementBudget(5)
+    @RateLimitGroup(EndpointGroup.BULK)
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Books retrieved successfully",
+                content = @Content(
+                        mediaType = "application/json",
+                        schema = @Schema(implementation = BookBatchResponse.class)
+                )
+        ),
+        @ApiResponse(
+                responseCode = "400",
+                description = "Empty or too many IDs",
+                content = @Content(mediaType = "application/json")
+        )
+    })
+    public ResponseEntity<BookBatchResponse> getBooksByIdsBatch(
+            @Valid @RequestBody BookBatchRequest request) {
+        log.debug("POST /api/books/batch - Fetching {} books by ID", request.getIds().size());
+        return ResponseEntity.ok(bookService.getBooksByIds(request.getIds()));
+    }
+
     /**
      * Advanced search for books
      */
@@ -129,6 +213,8 @@ public class BookController {
             description = "Search books using multiple criteria with pagination",
             operationId = "searchBooksAdvanced"
     )
+    @Workload(WorkloadType.SEARCH)
+    @StatementBudget(2)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -169,7 +255,7 @@ public class BookController {
             @Parameter(description = "Sort direction", example = "asc")
             @RequestParam(defaultValue = "asc") String sortDir) {
 
-        log.info("GET /api/books/search - Advanced search with criteria: title={}, author={}, genre={}, "
+        log.debug("GET /api/books/search - Advanced search with criteria: title={}, author={}, genre={}, "
                 + "minYear={}, maxYear={}, minPrice={}, maxPrice={}, isAvailable={}, page={}, size={}, sortBy={}, sortDir={}",
                 title, author, genre, minYear, maxYear, minPrice, maxPrice, isAvailable, page, size, sortBy, sortDir);
 
@@ -191,6 +277,9 @@ public class BookController {
             description = "Search books that contain the specified title",
             operationId = "searchBooksByTitle"
     )
+    @Workload(WorkloadType.SEARCH)
+    @StatementBudget(1)
+    @RequestPriority(Priority.LOW)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -208,7 +297,7 @@ public class BookController {
     public ResponseEntity<List<Book>> searchBooksByTitle(
             @Parameter(description = "Title to search for", example = "Quixote")
             @RequestParam String title) {
-        log.info("GET /api/books/search/title?title={} - Searching books by title", title);
+        log.debug("GET /api/books/search/title?title={} - Searching books by title", title);
         List<Book> books = bookService.searchBooksByTitle(title);
         return ResponseEntity.ok(books);
     }
@@ -222,6 +311,9 @@ public class BookController {
             description = "Search books that contain the specified author name",
             operationId = "searchBooksByAuthor"
     )
+    @Workload(WorkloadType.SEARCH)
+    @StatementBudget(1)
+    @RequestPriority(Priority.LOW)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -239,7 +331,7 @@ public class BookController {
     public ResponseEntity<List<Book>> searchBooksByAuthor(
             @Parameter(description = "Author to search for", example = "Cervantes")
             @RequestParam String author) {
-        log.info("GET /api/books/search/author?author={} - Searching books by author", author);
+        log.debug("GET /api/books/search/author?author={} - Searching books by author", author);
         List<Book> books = bookService.searchBooksByAuthor(author);
         return ResponseEntity.ok(books);
     }
@@ -253,6 +345,9 @@ public class BookController {
             description = "Retrieve statistics about the book catalog",
             operationId = "getBookStatistics"
     )
+    @Workload(WorkloadType.SEARCH)
+    @StatementBudget(5)
+    @RequestPriority(Priority.LOW)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -267,7 +362,7 @@ public class BookController {
         )
     })
     public ResponseEntity<BookService.BookStatistics> getBookStatistics() {
-        log.info("GET /api/books/statistics - Fetching book statistics");
+        log.debug("GET /api/books/statistics - Fetching book statistics");
         BookService.BookStatistics statistics = bookService.getBookStatistics();
         return ResponseEntity.ok(statistics);
     }
@@ -281,6 +376,8 @@ public class BookController {
             description = "Add a new book to the catalog",
             operationId = "createBook"
     )
+    @Workload(WorkloadType.WRITE)
+    @StatementBudget(2)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "201",
@@ -330,7 +427,7 @@ public class BookController {
                     )
             )
             @Valid @RequestBody BookDto bookDto) {
-        log.info("POST /api/books - Creating new book: {}", bookDto.getTitle());
+        log.debug("POST /api/books - Creating new book: {}", bookDto.getTitle());
         Book createdBook = bookService.createBook(bookDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBook);
     }
@@ -344,6 +441,8 @@ public class BookController {
             description = "Update an existing book by ID",
             operationId = "updateBook"
     )
+    @Workload(WorkloadType.WRITE)
+    @StatementBudget(3)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -406,7 +505,7 @@ public class BookController {
                     )
             )
             @Valid @RequestBody BookDto bookDto) {
-        log.info("PUT /api/books/{} - Updating book", id);
+        log.debug("PUT /api/books/{} - Updating book", id);
         Book updatedBook = bookService.updateBook(id, bookDto);
         return ResponseEntity.ok(updatedBook);
     }
@@ -420,6 +519,8 @@ public class BookController {
             description = "Toggle the availability status of a book",
             operationId = "toggleBookAvailability"
     )
+    @Workload(WorkloadType.WRITE)
+    @StatementBudget(2)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "200",
@@ -448,7 +549,7 @@ public class BookController {
     public ResponseEntity<Book> toggleBookAvailability(
             @Parameter(description = "ID of the book to toggle availability", example = "1")
             @PathVariable Long id) {
-        log.info("PATCH /api/books/{}/availability - Toggling book availability", id);
+        log.debug("PATCH /api/books/{}/availability - Toggling book availability", id);
         Book updatedBook = bookService.toggleBookAvailability(id);
         return ResponseEntity.ok(updatedBook);
     }
@@ -462,6 +563,8 @@ public class BookController {
             description = "Delete a book by ID",
             operationId = "deleteBook"
     )
+    @Workload(WorkloadType.WRITE)
+    @StatementBudget(3)
     @ApiResponses(value = {
         @ApiResponse(
                 responseCode = "204",
@@ -482,7 +585,7 @@ public class BookController {
     public ResponseEntity<Void> deleteBook(
             @Parameter(description = "ID of the book to delete", example = "1")
             @PathVariable Long id) {
-        log.info("DELETE /api/books/{} - Deleting book", id);
+        log.debug("DELETE /api/books/{} - Deleting book", id);
         bookService.deleteBook(id);
         return ResponseEntity.noContent().build();
     }
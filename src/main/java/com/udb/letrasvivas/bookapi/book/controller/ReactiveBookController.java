@@ -0,0 +1,140 @@
+package com.udb.letrasvivas.bookapi.book.controller;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.ReactiveBookService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+/**
+ * Non-blocking catalog browsing endpoints. Handlers return {@link Mono} so the
+ * servlet thread is released while R2DBC runs the query on its own small
+ * event loop; results are written back through an async dispatch.
+ */
+@RestController
+@RequestMapping("/api/reactive/books")
+@RequiredArgsConstructor
+@Tag(name = "Reactive Catalog", description = "Non-blocking read-only APIs for browsing the catalog")
+public class ReactiveBookController {
+
+    private final ReactiveBookService reactiveBookService;
+
+    /**
+     * Get all books with pagination
+     */
+    @GetMapping
+    @Operation(
+            summary = "Get all books (non-blocking)",
+            description = "Retrieve a paginated list of all books through the reactive read path",
+            operationId = "getAllBooksReactive"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Books retrieved successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+        )
+    })
+    public Mono<Page<Book>> getAllBooks(
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field", example = "title")
+            @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc")
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return reactiveBookService.getAllBooks(pageable);
+    }
+
+    /**
+     * Get book by ID
+     */
+    @GetMapping("/{id}")
+    @Operation(
+            summary = "Get book by ID (non-blocking)",
+            description = "Retrieve a specific book by its ID through the reactive read path",
+            operationId = "getBookByIdReactive"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Book found",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Book.class))
+        ),
+        @ApiResponse(responseCode = "404", description = "Book not found")
+    })
+    public Mono<Book> getBookById(
+            @Parameter(description = "ID of the book to retrieve", example = "1")
+            @PathVariable Long id) {
+        return reactiveBookService.getBookById(id);
+    }
+
+    /**
+     * Advanced search for books
+     */
+    @GetMapping("/search")
+    @Operation(
+            summary = "Advanced book search (non-blocking)",
+            description = "Search books using multiple criteria with pagination through the reactive read path",
+            operationId = "searchBooksAdvancedReactive"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+                responseCode = "200",
+                description = "Search completed successfully",
+                content = @Content(mediaType = "application/json", schema = @Schema(implementation = Page.class))
+        )
+    })
+    public Mono<Page<Book>> searchBooksAdvanced(
+            @Parameter(description = "Title to search for", example = "Quixote")
+            @RequestParam(required = false) String title,
+            @Parameter(description = "Author to search for", example = "Cervantes")
+            @RequestParam(required = false) String author,
+            @Parameter(description = "Genre to filter by", example = "Fiction")
+            @RequestParam(required = false) String genre,
+            @Parameter(description = "Minimum publication year", example = "1600")
+            @RequestParam(required = false) Integer minYear,
+            @Parameter(description = "Maximum publication year", example = "1700")
+            @RequestParam(required = false) Integer maxYear,
+            @Parameter(description = "Minimum price", example = "10.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Maximum price", example = "50.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Availability status", example = "true")
+            @RequestParam(required = false) Boolean isAvailable,
+            @Parameter(description = "Page number (0-based)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of items per page", example = "10")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Sort field", example = "title")
+            @RequestParam(defaultValue = "title") String sortBy,
+            @Parameter(description = "Sort direction", example = "asc")
+            @RequestParam(defaultValue = "asc") String sortDir) {
+
+        Sort sort = sortDir.equalsIgnoreCase("desc")
+                ? Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
+        Pageable pageable = PageRequest.of(page, size, sort);
+
+        return reactiveBookService.searchBooksAdvanced(
+                title, author, genre, minYear, maxYear, minPrice, maxPrice, isAvailable, pageable);
+    }
+}
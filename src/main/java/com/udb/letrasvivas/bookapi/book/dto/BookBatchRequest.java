@@ -0,0 +1,21 @@
+package com.udb.letrasvivas.bookapi.book.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Data Transfer Object for fetching many books by ID in one request")
+public class BookBatchRequest {
+
+    @NotEmpty(message = "At least one book ID is required")
+    @Schema(description = "IDs of the books to retrieve, in the order they should be returned", example = "[3, 1, 2]", required = true)
+    private List<@NotNull(message = "Book IDs cannot be null") Long> ids;
+}
@@ -0,0 +1,24 @@
+package com.udb.letrasvivas.bookapi.book.dto;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Books found for a multi-get request, plus the IDs that do not exist")
+public class BookBatchResponse {
+
+    @Schema(description = "Books found, in the order their IDs were requested")
+    private List<Book> books;
+
+    @Schema(description = "Requested IDs that do not match any book", example = "[42]")
+    private List<Long> missingIds;
+}
@@ -0,0 +1,16 @@
+package com.udb.letrasvivas.bookapi.book.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BatchSizeExceededException extends RuntimeException {
+
+    public BatchSizeExceededException(String message) {
+        super(message);
+    }
+
+    public BatchSizeExceededException(int requested, int maximum) {
+        super("Requested " + requested + " book IDs but at most " + maximum + " are allowed per request");
+    }
+}
@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
     @Index(name = "idx_book_title", columnList = "title"),
     @Index(name = "idx_book_author", columnList = "author"),
     @Index(name = "idx_book_publication_year", columnList = "publication_year"),
-    @Index(name = "idx_book_genre", columnList = "genre")
+    @Index(name = "idx_book_genre", columnList = "genre"),
+    @Index(name = "idx_book_updated_at", columnList = "updated_at")
 })
 @Data
 @NoArgsConstructor
@@ -1,6 +1,7 @@
 package com.udb.letrasvivas.bookapi.book.repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -146,6 +147,12 @@ public interface BookRepository extends JpaRepository<Book, Long> {
     @Query("SELECT b FROM Book b WHERE LOWER(b.title) = LOWER(:title) AND LOWER(b.author) = LOWER(:author)")
     Optional<Book> findByTitleAndAuthorIgnoreCase(@Param("title") String title, @Param("author") String author);
 
+    /**
+     * Find the books whose IDs are in the given list (single IN-list query)
+     */
+    @Query("SELECT b FROM Book b WHERE b.id IN :ids")
+    List<Book> findByIdIn(@Param("ids") Collection<Long> ids);
+
     /**
      * Get statistics about books
      */
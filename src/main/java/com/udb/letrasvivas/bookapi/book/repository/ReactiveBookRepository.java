@@ -0,0 +1,228 @@
+package com.udb.letrasvivas.bookapi.book.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Statement;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking, read-only access to the books table over R2DBC.
+ * Query semantics mirror {@link BookRepository}; writes stay on JPA.
+ * <p>
+ * Statements are multiplexed over a small fixed set of long-lived
+ * connections (the drivers queue concurrent statements per connection), so
+ * thousands of in-flight requests need neither a thread nor a connection
+ * each. A connection that fails is dropped and re-created on next use.
+ */
+@Repository
+@Slf4j
+public class ReactiveBookRepository {
+
+    private static final String SELECT_COLUMNS = "SELECT id, title, author, publication_year, description, genre, "
+            + "page_count, price, is_available, created_at, updated_at, version FROM books";
+
+    /**
+     * Entity properties that may be used for sorting, mapped to their columns
+     */
+    private static final Map<String, String> SORTABLE_COLUMNS = Map.of(
+            "id", "id",
+            "title", "title",
+            "author", "author",
+            "publicationYear", "publication_year",
+            "genre", "genre",
+            "pageCount", "page_count",
+            "price", "price",
+            "isAvailable", "is_available",
+            "createdAt", "created_at",
+            "updatedAt", "updated_at");
+
+    private final ConnectionFactory connectionFactory;
+    private final List<AtomicReference<Mono<Connection>>> connections;
+    private final AtomicInteger nextConnection = new AtomicInteger();
+
+    public ReactiveBookRepository(
+            @Value("${bookapi.reactive.url}") String url,
+            @Value("${bookapi.reactive.username}") String username,
+            @Value("${bookapi.reactive.password}") String password,
+            @Value("${bookapi.reactive.connections:4}") int connectionCount) {
+        this.connectionFactory = ConnectionFactories.get(ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build());
+        this.connections = new ArrayList<>(connectionCount);
+        for (int i = 0; i < connectionCount; i++) {
+            connections.add(new AtomicReference<>(newConnection()));
+        }
+    }
+
+    /**
+     * Find a book by ID
+     */
+    public Mono<Book> findById(Long id) {
+        return query(SELECT_COLUMNS + " WHERE id = $1", List.of(id), ReactiveBookRepository::toBook)
+                .next();
+    }
+
+    /**
+     * Find all books with pagination
+     */
+    public Mono<Page<Book>> findAll(Pageable pageable) {
+        return findPage(new ArrayList<>(), "", pageable);
+    }
+
+    /**
+     * Advanced search with multiple criteria (same semantics as
+     * {@link BookRepository#findBooksWithAdvancedSearch}); null criteria are
+     * left out of the statement instead of being bound as nulls
+     */
+    public Mono<Page<Book>> findBooksWithAdvancedSearch(
+            String title, String author, String genre,
+            Integer minYear, Integer maxYear,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean isAvailable, Pageable pageable) {
+        List<Object> bindings = new ArrayList<>();
+        List<String> predicates = new ArrayList<>();
+
+        if (title != null) {
+            bindings.add(title);
+            predicates.add("LOWER(title) LIKE LOWER(CONCAT('%', $" + bindings.size() + ", '%'))");
+        }
+        if (author != null) {
+            bindings.add(author);
+            predicates.add("LOWER(author) LIKE LOWER(CONCAT('%', $" + bindings.size() + ", '%'))");
+        }
+        if (genre != null) {
+            bindings.add(genre);
+            predicates.add("LOWER(genre) = LOWER($" + bindings.size() + ")");
+        }
+        if (minYear != null) {
+            bindings.add(minYear);
+            predicates.add("publication_year >= $" + bindings.size());
+        }
+        if (maxYear != null) {
+            bindings.add(maxYear);
+            predicates.add("publication_year <= $" + bindings.size());
+        }
+        if (minPrice != null) {
+            bindings.add(minPrice);
+            predicates.add("price >= $" + bindings.size());
+        }
+        if (maxPrice != null) {
+            bindings.add(maxPrice);
+            predicates.add("price <= $" + bindings.size());
+        }
+        if (isAvailable != null) {
+            bindings.add(isAvailable);
+            predicates.add("is_available = $" + bindings.size());
+        }
+
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return findPage(bindings, where, pageable);
+    }
+
+    @PreDestroy
+    void closeConnections() {
+        for (AtomicReference<Mono<Connection>> slot : connections) {
+            slot.get()
+                    .flatMap(connection -> Mono.from(connection.close()))
+                    .onErrorResume(ex -> Mono.empty())
+                    .subscribe();
+        }
+    }
+
+    private Mono<Page<Book>> findPage(List<Object> bindings, String where, Pageable pageable) {
+        String contentSql = SELECT_COLUMNS + where + orderBy(pageable.getSort());
+        if (pageable.isPaged()) {
+            contentSql += " LIMIT " + pageable.getPageSize() + " OFFSET " + pageable.getOffset();
+        }
+
+        Mono<List<Book>> content = query(contentSql, bindings, ReactiveBookRepository::toBook).collectList();
+        Mono<Long> total = query("SELECT COUNT(*) FROM books" + where, bindings,
+                row -> row.get(0, Long.class)).single();
+
+        return Mono.zip(content, total)
+                .map(tuple -> new PageImpl<>(tuple.getT1(), pageable, tuple.getT2()));
+    }
+
+    private <T> Flux<T> query(String sql, List<Object> bindings, Function<Readable, T> mapper) {
+        AtomicReference<Mono<Connection>> slot =
+                connections.get(Math.floorMod(nextConnection.getAndIncrement(), connections.size()));
+        Mono<Connection> connection = slot.get();
+
+        return connection.flatMapMany(conn -> {
+            Statement statement = conn.createStatement(sql);
+            for (int i = 0; i < bindings.size(); i++) {
+                statement.bind(i, bindings.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .flatMap(result -> result.map(mapper));
+        }).doOnError(ex -> {
+            if (slot.compareAndSet(connection, newConnection())) {
+                log.warn("Discarding reactive connection after error: {}", ex.getMessage());
+                connection.flatMap(conn -> Mono.from(conn.close()))
+                        .onErrorResume(closeError -> Mono.empty())
+                        .subscribe();
+            }
+        });
+    }
+
+    private Mono<Connection> newConnection() {
+        return Mono.<Connection>from(connectionFactory.create()).cache();
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORTABLE_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("No property '" + order.getProperty() + "' found for type 'Book'");
+            }
+            orders.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        return " ORDER BY " + String.join(", ", orders);
+    }
+
+    private static Book toBook(Readable row) {
+        Book book = new Book();
+        book.setId(row.get("id", Long.class));
+        book.setTitle(row.get("title", String.class));
+        book.setAuthor(row.get("author", String.class));
+        book.setPublicationYear(row.get("publication_year", Integer.class));
+        book.setDescription(row.get("description", String.class));
+        book.setGenre(row.get("genre", String.class));
+        book.setPageCount(row.get("page_count", Integer.class));
+        book.setPrice(row.get("price", BigDecimal.class));
+        book.setIsAvailable(row.get("is_available", Boolean.class));
+        book.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        book.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        book.setVersion(row.get("version", Long.class));
+        return book;
+    }
+}
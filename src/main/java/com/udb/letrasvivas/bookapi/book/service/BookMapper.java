@@ -0,0 +1,50 @@
+package com.udb.letrasvivas.bookapi.book.service;
+
+import java.math.BigDecimal;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+
+/**
+ * Copies the client-editable fields of a {@link BookDto} onto a {@link Book},
+ * and books themselves
+ */
+public final class BookMapper {
+
+    private BookMapper() {
+    }
+
+    /**
+     * A new, available book with the DTO's fields
+     */
+    public static Book toEntity(BookDto bookDto) {
+        Book book = new Book();
+        copyToEntity(bookDto, book);
+        book.setIsAvailable(true);
+        return book;
+    }
+
+    /**
+     * Overwrite the book's editable fields; availability, id and audit fields
+     * are left alone
+     */
+    public static void copyToEntity(BookDto bookDto, Book book) {
+        book.setTitle(bookDto.getTitle());
+        book.setAuthor(bookDto.getAuthor());
+        book.setPublicationYear(bookDto.getPublicationYear());
+        book.setDescription(bookDto.getDescription());
+        book.setGenre(bookDto.getGenre());
+        book.setPageCount(bookDto.getPageCount());
+        book.setPrice(bookDto.getPrice() != null ? BigDecimal.valueOf(bookDto.getPrice()) : null);
+    }
+
+    /**
+     * A detached book with every field of the given one, id and version
+     * included
+     */
+    public static Book copy(Book book) {
+        return new Book(book.getId(), book.getTitle(), book.getAuthor(), book.getPublicationYear(),
+                book.getDescription(), book.getGenre(), book.getPageCount(), book.getPrice(), book.getIsAvailable(),
+                book.getCreatedAt(), book.getUpdatedAt(), book.getVersion());
+    }
+}
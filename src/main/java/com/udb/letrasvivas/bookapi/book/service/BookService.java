@@ -1,19 +1,36 @@
 package com.udb.letrasvivas.bookapi.book.service;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
 import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.exception.BatchSizeExceededException;
 import com.udb.letrasvivas.bookapi.book.exception.BookNotFoundException;
 import com.udb.letrasvivas.bookapi.book.exception.DuplicateBookException;
 import com.udb.letrasvivas.bookapi.book.model.Book;
 import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import com.udb.letrasvivas.bookapi.coalescing.Coalesced;
+import com.udb.letrasvivas.bookapi.config.CacheConfig;
+import com.udb.letrasvivas.bookapi.resilience.StaleIfError;
+import com.udb.letrasvivas.bookapi.retry.RetryOnConflict;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,13 +42,22 @@ import lombok.extern.slf4j.Slf4j;
 public class BookService {
 
     private final BookRepository bookRepository;
+    private final CacheManager cacheManager;
+
+    @Value("${bookapi.multiget.batch-size:100}")
+    private int multiGetBatchSize = 100;
+
+    @Value("${bookapi.multiget.max-ids:500}")
+    private int multiGetMaxIds = 500;
 
     /**
      * Get all books with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleIfError
     public Page<Book> getAllBooks(Pageable pageable) {
-        log.info("Fetching all books with pagination: {}", pageable);
+        log.debug("Fetching all books with pagination: {}", pageable);
         return bookRepository.findAll(pageable);
     }
 
@@ -39,8 +65,10 @@ public class BookService {
      * Get all books (legacy method for backward compatibility)
      */
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleIfError
     public List<Book> getAllBooks() {
-        log.info("Fetching all books");
+        log.debug("Fetching all books");
         return bookRepository.findAll();
     }
 
@@ -48,18 +76,75 @@ public class BookService {
      * Get book by ID
      */
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleIfError
+    @Cacheable(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public Book getBookById(Long id) {
-        log.info("Fetching book with id: {}", id);
+        log.debug("Fetching book with id: {}", id);
         return bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
     }
 
+    /**
+     * Get many books by ID in one call. Cached books are served first; the
+     * rest are fetched with IN-list queries of at most
+     * {@code bookapi.multiget.batch-size} IDs each. Books are returned in
+     * the order their IDs were requested (duplicates collapsed) and unknown
+     * IDs are reported instead of failing the request.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public BookBatchResponse getBooksByIds(List<Long> ids) {
+        Set<Long> requested = new LinkedHashSet<>(ids);
+        if (requested.size() > multiGetMaxIds) {
+            throw new BatchSizeExceededException(requested.size(), multiGetMaxIds);
+        }
+        log.debug("Fetching {} books by id", requested.size());
+
+        Cache cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        Map<Long, Book> found = new HashMap<>(requested.size() * 2);
+        List<Long> misses = new ArrayList<>();
+        for (Long id : requested) {
+            Book cached = cache != null ? cache.get(id, Book.class) : null;
+            if (cached != null) {
+                found.put(id, cached);
+            } else {
+                misses.add(id);
+            }
+        }
+
+        for (int from = 0; from < misses.size(); from += multiGetBatchSize) {
+            List<Long> batch = misses.subList(from, Math.min(from + multiGetBatchSize, misses.size()));
+            for (Book book : bookRepository.findByIdIn(batch)) {
+                found.put(book.getId(), book);
+                if (cache != null) {
+                    cache.put(book.getId(), book);
+                }
+            }
+        }
+
+        List<Book> books = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requested) {
+            Book book = found.get(id);
+            if (book != null) {
+                books.add(book);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return BookBatchResponse.builder()
+                .books(books)
+                .missingIds(missingIds)
+                .build();
+    }
+
     /**
      * Get book by ID (legacy method returning Optional)
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Optional<Book> getBookByIdOptional(Long id) {
-        log.info("Fetching book with id: {}", id);
+        log.debug("Fetching book with id: {}", id);
         return bookRepository.findById(id);
     }
 
@@ -67,8 +152,9 @@ public class BookService {
      * Search books by title with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByTitle(String title, Pageable pageable) {
-        log.info("Searching books with title containing: {} with pagination: {}", title, pageable);
+        log.debug("Searching books with title containing: {} with pagination: {}", title, pageable);
         return bookRepository.findByTitleContainingIgnoreCase(title, pageable);
     }
 
@@ -76,8 +162,9 @@ public class BookService {
      * Search books by title (legacy method)
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public List<Book> searchBooksByTitle(String title) {
-        log.info("Searching books with title containing: {}", title);
+        log.debug("Searching books with title containing: {}", title);
         return bookRepository.findByTitleContainingIgnoreCase(title);
     }
 
@@ -85,8 +172,9 @@ public class BookService {
      * Search books by author with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByAuthor(String author, Pageable pageable) {
-        log.info("Searching books with author containing: {} with pagination: {}", author, pageable);
+        log.debug("Searching books with author containing: {} with pagination: {}", author, pageable);
         return bookRepository.findByAuthorContainingIgnoreCase(author, pageable);
     }
 
@@ -94,8 +182,9 @@ public class BookService {
      * Search books by author (legacy method)
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public List<Book> searchBooksByAuthor(String author) {
-        log.info("Searching books with author containing: {}", author);
+        log.debug("Searching books with author containing: {}", author);
         return bookRepository.findByAuthorContainingIgnoreCase(author);
     }
 
@@ -103,12 +192,13 @@ public class BookService {
      * Advanced search with multiple criteria
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksAdvanced(
             String title, String author, String genre,
             Integer minYear, Integer maxYear,
             BigDecimal minPrice, BigDecimal maxPrice,
             Boolean isAvailable, Pageable pageable) {
-        log.info("Advanced search with criteria - title: {}, author: {}, genre: {}, "
+        log.debug("Advanced search with criteria - title: {}, author: {}, genre: {}, "
                 + "minYear: {}, maxYear: {}, minPrice: {}, maxPrice: {}, isAvailable: {}, pagination: {}",
                 title, author, genre, minYear, maxYear, minPrice, maxPrice, isAvailable, pageable);
 
@@ -120,8 +210,9 @@ public class BookService {
      * Search books by genre with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByGenre(String genre, Pageable pageable) {
-        log.info("Searching books by genre: {} with pagination: {}", genre, pageable);
+        log.debug("Searching books by genre: {} with pagination: {}", genre, pageable);
         return bookRepository.findByGenreIgnoreCase(genre, pageable);
     }
 
@@ -129,8 +220,9 @@ public class BookService {
      * Search books by publication year with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByPublicationYear(Integer year, Pageable pageable) {
-        log.info("Searching books by publication year: {} with pagination: {}", year, pageable);
+        log.debug("Searching books by publication year: {} with pagination: {}", year, pageable);
         return bookRepository.findByPublicationYear(year, pageable);
     }
 
@@ -138,8 +230,9 @@ public class BookService {
      * Search books by publication year range with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByPublicationYearRange(Integer startYear, Integer endYear, Pageable pageable) {
-        log.info("Searching books by publication year range: {} - {} with pagination: {}", startYear, endYear, pageable);
+        log.debug("Searching books by publication year range: {} - {} with pagination: {}", startYear, endYear, pageable);
         return bookRepository.findByPublicationYearBetween(startYear, endYear, pageable);
     }
 
@@ -147,8 +240,9 @@ public class BookService {
      * Search books by price range with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByPriceRange(BigDecimal minPrice, BigDecimal maxPrice, Pageable pageable) {
-        log.info("Searching books by price range: {} - {} with pagination: {}", minPrice, maxPrice, pageable);
+        log.debug("Searching books by price range: {} - {} with pagination: {}", minPrice, maxPrice, pageable);
         return bookRepository.findByPriceBetween(minPrice, maxPrice, pageable);
     }
 
@@ -156,8 +250,9 @@ public class BookService {
      * Search books by availability with pagination
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public Page<Book> searchBooksByAvailability(Boolean isAvailable, Pageable pageable) {
-        log.info("Searching books by availability: {} with pagination: {}", isAvailable, pageable);
+        log.debug("Searching books by availability: {} with pagination: {}", isAvailable, pageable);
         return bookRepository.findByIsAvailable(isAvailable, pageable);
     }
 
@@ -165,24 +260,14 @@ public class BookService {
      * Create a new book
      */
     public Book createBook(BookDto bookDto) {
-        log.info("Creating new book: {}", bookDto.getTitle());
+        log.debug("Creating new book: {}", bookDto.getTitle());
 
         // Check for duplicate book
         if (bookRepository.existsByTitleAndAuthorIgnoreCase(bookDto.getTitle(), bookDto.getAuthor())) {
             throw new DuplicateBookException(bookDto.getTitle(), bookDto.getAuthor());
         }
 
-        Book book = new Book();
-        book.setTitle(bookDto.getTitle());
-        book.setAuthor(bookDto.getAuthor());
-        book.setPublicationYear(bookDto.getPublicationYear());
-        book.setDescription(bookDto.getDescription());
-        book.setGenre(bookDto.getGenre());
-        book.setPageCount(bookDto.getPageCount());
-        book.setPrice(bookDto.getPrice() != null ? BigDecimal.valueOf(bookDto.getPrice()) : null);
-        book.setIsAvailable(true);
-
-        Book savedBook = bookRepository.save(book);
+        Book savedBook = bookRepository.save(BookMapper.toEntity(bookDto));
         log.info("Book created successfully with id: {}", savedBook.getId());
         return savedBook;
     }
@@ -190,8 +275,10 @@ public class BookService {
     /**
      * Update an existing book
      */
+    @RetryOnConflict
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public Book updateBook(Long id, BookDto bookDto) {
-        log.info("Updating book with id: {}", id);
+        log.debug("Updating book with id: {}", id);
 
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
@@ -201,13 +288,7 @@ public class BookService {
             throw new DuplicateBookException(bookDto.getTitle(), bookDto.getAuthor());
         }
 
-        book.setTitle(bookDto.getTitle());
-        book.setAuthor(bookDto.getAuthor());
-        book.setPublicationYear(bookDto.getPublicationYear());
-        book.setDescription(bookDto.getDescription());
-        book.setGenre(bookDto.getGenre());
-        book.setPageCount(bookDto.getPageCount());
-        book.setPrice(bookDto.getPrice() != null ? BigDecimal.valueOf(bookDto.getPrice()) : null);
+        BookMapper.copyToEntity(bookDto, book);
 
         Book updatedBook = bookRepository.save(book);
         log.info("Book updated successfully");
@@ -217,6 +298,8 @@ public class BookService {
     /**
      * Update an existing book (legacy method returning Optional)
      */
+    @RetryOnConflict
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public Optional<Book> updateBookOptional(Long id, BookDto bookDto) {
         try {
             Book updatedBook = updateBook(id, bookDto);
@@ -229,8 +312,10 @@ public class BookService {
     /**
      * Delete a book by ID
      */
+    @RetryOnConflict
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public void deleteBook(Long id) {
-        log.info("Deleting book with id: {}", id);
+        log.debug("Deleting book with id: {}", id);
         if (!bookRepository.existsById(id)) {
             throw new BookNotFoundException(id);
         }
@@ -241,6 +326,8 @@ public class BookService {
     /**
      * Delete a book by ID (legacy method returning boolean)
      */
+    @RetryOnConflict
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public boolean deleteBookBoolean(Long id) {
         try {
             deleteBook(id);
@@ -254,8 +341,10 @@ public class BookService {
     /**
      * Toggle book availability
      */
+    @RetryOnConflict
+    @CacheEvict(cacheNames = CacheConfig.BOOKS_CACHE, key = "#id")
     public Book toggleBookAvailability(Long id) {
-        log.info("Toggling availability for book with id: {}", id);
+        log.debug("Toggling availability for book with id: {}", id);
         Book book = bookRepository.findById(id)
                 .orElseThrow(() -> new BookNotFoundException(id));
 
@@ -269,6 +358,7 @@ public class BookService {
      * Check if book exists by ID
      */
     @Transactional(readOnly = true)
+    @Coalesced
     public boolean bookExists(Long id) {
         return bookRepository.existsById(id);
     }
@@ -277,8 +367,10 @@ public class BookService {
      * Get book statistics
      */
     @Transactional(readOnly = true)
+    @Coalesced
+    @StaleIfError
     public BookStatistics getBookStatistics() {
-        log.info("Fetching book statistics");
+        log.debug("Fetching book statistics");
         return BookStatistics.builder()
                 .totalBooks(bookRepository.countAllBooks())
                 .availableBooks(bookRepository.countAvailableBooks())
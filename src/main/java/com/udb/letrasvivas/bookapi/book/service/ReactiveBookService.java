@@ -0,0 +1,58 @@
+package com.udb.letrasvivas.bookapi.book.service;
+
+import java.math.BigDecimal;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import com.udb.letrasvivas.bookapi.book.exception.BookNotFoundException;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.ReactiveBookRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-only counterpart of {@link BookService} for the non-blocking catalog
+ * browsing path
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookService {
+
+    private final ReactiveBookRepository reactiveBookRepository;
+
+    /**
+     * Get all books with pagination
+     */
+    public Mono<Page<Book>> getAllBooks(Pageable pageable) {
+        log.debug("Reactive fetch of all books with pagination: {}", pageable);
+        return reactiveBookRepository.findAll(pageable);
+    }
+
+    /**
+     * Get book by ID
+     */
+    public Mono<Book> getBookById(Long id) {
+        log.debug("Reactive fetch of book with id: {}", id);
+        return reactiveBookRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new BookNotFoundException(id)));
+    }
+
+    /**
+     * Advanced search with multiple criteria
+     */
+    public Mono<Page<Book>> searchBooksAdvanced(
+            String title, String author, String genre,
+            Integer minYear, Integer maxYear,
+            BigDecimal minPrice, BigDecimal maxPrice,
+            Boolean isAvailable, Pageable pageable) {
+        log.debug("Reactive advanced search - title: {}, author: {}, genre: {}, pagination: {}",
+                title, author, genre, pageable);
+        return reactiveBookRepository.findBooksWithAdvancedSearch(
+                title, author, genre, minYear, maxYear, minPrice, maxPrice, isAvailable, pageable);
+    }
+}
@@ -0,0 +1,98 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.udb.letrasvivas.bookapi.jfr.CacheAccessEvent;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} backed by a
+ * {@link BoundedExpiringMap}, so cached catalog entries cannot grow without
+ * limit and are refreshed after their time-to-live. Mutable values are
+ * copied with {@code valueCopy} on the way in and out, so no two callers
+ * share an instance with each other or with the cache.
+ */
+public class BoundedCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final BoundedExpiringMap<Object, Object> store;
+    private final UnaryOperator<Object> valueCopy;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public BoundedCache(String name, int maximumSize, Duration timeToLive) {
+        this(name, maximumSize, timeToLive, UnaryOperator.identity());
+    }
+
+    public BoundedCache(String name, int maximumSize, Duration timeToLive, UnaryOperator<Object> valueCopy) {
+        super(true);
+        this.name = name;
+        this.store = new BoundedExpiringMap<>(maximumSize, timeToLive, null);
+        this.valueCopy = valueCopy;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = store.get(key);
+        if (value != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+        }
+        CacheAccessEvent.emit(name, value != null);
+        return value != null ? valueCopy.apply(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(valueCopy.apply(store.computeIfAbsent(key, k -> {
+            try {
+                return toStoreValue(valueCopy.apply(valueLoader.call()));
+            } catch (Exception ex) {
+                throw new ValueRetrievalException(k, valueLoader, ex);
+            }
+        })));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, toStoreValue(valueCopy.apply(value)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        store.clear();
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public int size() {
+        return store.size();
+    }
+}
@@ -0,0 +1,152 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Concurrent map with a size bound, an optional time-to-live and an optional
+ * idle timeout.
+ * <p>
+ * Reads and writes go straight to a {@link ConcurrentHashMap} and never
+ * block. When the map grows past its bound, the writer that notices trims
+ * the least recently used entries down to 90% of the bound; concurrent
+ * writers skip the trim instead of waiting for it.
+ */
+public class BoundedExpiringMap<K, V> {
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final int maximumSize;
+    private final long timeToLiveNanos;
+    private final long idleTimeoutNanos;
+
+    /**
+     * @param maximumSize upper bound on the number of entries
+     * @param timeToLive  maximum age of an entry, or {@code null} for none
+     * @param idleTimeout maximum time since last access, or {@code null} for none
+     */
+    public BoundedExpiringMap(int maximumSize, Duration timeToLive, Duration idleTimeout) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.timeToLiveNanos = timeToLive != null ? timeToLive.toNanos() : 0;
+        this.idleTimeoutNanos = idleTimeout != null ? idleTimeout.toNanos() : 0;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (isExpired(entry, now)) {
+            entries.remove(key, entry);
+            return null;
+        }
+        entry.lastAccessNanos = now;
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        entries.put(key, new Entry<>(value, System.nanoTime()));
+        trimIfNeeded();
+    }
+
+    public V putIfAbsent(K key, V value) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        Entry<V> previous = entries.putIfAbsent(key, new Entry<>(value, System.nanoTime()));
+        if (previous != null && !isExpired(previous, System.nanoTime())) {
+            return previous.value;
+        }
+        if (previous != null) {
+            entries.put(key, new Entry<>(value, System.nanoTime()));
+        }
+        trimIfNeeded();
+        return null;
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V existing = get(key);
+        if (existing != null) {
+            return existing;
+        }
+        long now = System.nanoTime();
+        Entry<V> entry = entries.compute(key, (k, current) -> current != null && !isExpired(current, now)
+                ? current : new Entry<>(mappingFunction.apply(k), now));
+        trimIfNeeded();
+        return entry.value;
+    }
+
+    public void remove(K key) {
+        entries.remove(key);
+    }
+
+    public void clear() {
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Drop every expired or idle entry
+     */
+    public void cleanUp() {
+        long now = System.nanoTime();
+        entries.entrySet().removeIf(entry -> isExpired(entry.getValue(), now));
+    }
+
+    private void trimIfNeeded() {
+        if (entries.size() <= maximumSize || !evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            cleanUp();
+            int excess = entries.size() - (maximumSize - maximumSize / 10);
+            if (excess <= 0) {
+                return;
+            }
+            // Access times keep moving under concurrent reads, so sort a frozen copy
+            List<Candidate<K, V>> candidates = new ArrayList<>(entries.size());
+            entries.forEach((key, entry) -> candidates.add(new Candidate<>(key, entry, entry.lastAccessNanos)));
+            candidates.sort(Comparator.comparingLong(Candidate::lastAccessNanos));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                Candidate<K, V> eldest = candidates.get(i);
+                entries.remove(eldest.key(), eldest.entry());
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private boolean isExpired(Entry<V> entry, long now) {
+        return (timeToLiveNanos > 0 && now - entry.createdNanos > timeToLiveNanos)
+                || (idleTimeoutNanos > 0 && now - entry.lastAccessNanos > idleTimeoutNanos);
+    }
+
+    private record Candidate<K, V>(K key, Entry<V> entry, long lastAccessNanos) {
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final long createdNanos;
+        private volatile long lastAccessNanos;
+
+        private Entry(V value, long now) {
+            this.value = value;
+            this.createdNanos = now;
+            this.lastAccessNanos = now;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+/**
+ * Cache decorator that, on a miss, asks a local {@link Source} before the
+ * caller goes to the database. What the source finds is returned but not
+ * cached, so the source's own refreshes and invalidations are seen on the
+ * next read rather than after the cache entry expires. Evictions are passed
+ * on to the source, so it stops answering for entries that were written
+ * since it was loaded.
+ */
+public class ReadThroughCache implements Cache {
+
+    /**
+     * Secondary, local copy of the cached values
+     */
+    public interface Source {
+
+        /**
+         * The value for this key, or {@code null} if the caller should load
+         * it; callers may modify the value, so it must not be shared
+         */
+        Object lookup(Object key);
+
+        /**
+         * The value for this key has changed; stop answering for it
+         */
+        void invalidate(Object key);
+    }
+
+    private final Cache target;
+    private final Source source;
+
+    public ReadThroughCache(Cache target, Source source) {
+        this.target = target;
+        this.source = source;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = target.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        Object value = source.lookup(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        return wrapper != null ? (T) wrapper.get() : target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        target.put(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        source.invalidate(key);
+        target.evict(key);
+    }
+
+    @Override
+    public void clear() {
+        target.clear();
+    }
+}
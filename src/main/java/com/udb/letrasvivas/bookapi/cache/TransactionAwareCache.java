@@ -0,0 +1,79 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import java.util.concurrent.Callable;
+
+import org.springframework.cache.Cache;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Cache decorator that delays puts and evictions issued inside a transaction
+ * until that transaction commits, so a rolled-back write never leaves its
+ * value in the cache and a reader cannot re-cache the old row between an
+ * early eviction and the commit.
+ * <p>
+ * Puts are not version-checked: a reader that loaded the row before the
+ * commit can still put it after the eviction runs. That stale entry lives
+ * until the next write to the row or the cache's time-to-live.
+ */
+public class TransactionAwareCache implements Cache {
+
+    private final Cache target;
+
+    public TransactionAwareCache(Cache target) {
+        this.target = target;
+    }
+
+    @Override
+    public String getName() {
+        return target.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return target.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return target.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return target.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return target.get(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        afterCommit(() -> target.put(key, value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        afterCommit(() -> target.evict(key));
+    }
+
+    @Override
+    public void clear() {
+        afterCommit(target::clear);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
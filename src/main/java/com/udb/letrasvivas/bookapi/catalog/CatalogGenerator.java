@@ -0,0 +1,210 @@
+package com.udb.letrasvivas.bookapi.catalog;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic books. Authors and genres follow Zipf distributions,
+ * so a few are very common and most are rare; publication years lean
+ * towards recent ones; prices are log-normal around the median; description
+ * lengths vary between the configured bounds.
+ * <p>
+ * Rows are produced in fixed-size chunks, each with its own random stream
+ * derived from the seed and the chunk number, so the catalog is the same
+ * however many threads generate it and in whatever order.
+ */
+public class CatalogGenerator {
+
+    /**
+     * Rows per chunk; a chunk is the unit of work and of randomness
+     */
+    public static final int CHUNK_SIZE = 10_000;
+
+    private static final int MAX_DESCRIPTION_LENGTH = 1000;
+
+    /**
+     * Most popular first, as the Zipf rank is the list index
+     */
+    static final List<String> GENRES = List.of(
+            "Fiction", "Mystery", "Romance", "Fantasy", "Science Fiction", "Thriller", "Historical Fiction",
+            "Biography", "History", "Self-help", "Classic", "Horror", "Literary Fiction", "Adventure", "Poetry",
+            "Memoir", "Business", "Psychology", "Philosophy", "Science", "Travel", "Cooking", "Drama",
+            "Dystopian", "Coming-of-age", "Health", "Politics", "Economics", "Art", "Music", "Religion",
+            "Technology", "Education", "Mathematics", "Law");
+
+    private static final String[] FIRST_NAMES = {
+            "Ana", "Carlos", "Elena", "Jorge", "Lucia", "Miguel", "Sofia", "Diego", "Isabel", "Pablo",
+            "Laura", "Javier", "Marta", "Andres", "Carmen", "Luis", "Paula", "Daniel", "Rosa", "Fernando",
+            "Julia", "Ricardo", "Clara", "Tomas", "Alicia", "Emilio", "Beatriz", "Hugo", "Teresa", "Ramon",
+            "Jane", "George", "Virginia", "Mark", "Emily", "Charles", "Mary", "Oscar", "Edith", "Henry"};
+
+    private static final String[] LAST_NAMES = {
+            "Garcia", "Martinez", "Lopez", "Hernandez", "Gonzalez", "Perez", "Sanchez", "Ramirez", "Torres",
+            "Flores", "Rivera", "Gomez", "Diaz", "Reyes", "Morales", "Cruz", "Ortiz", "Gutierrez", "Chavez",
+            "Ramos", "Castillo", "Vargas", "Romero", "Herrera", "Medina", "Aguilar", "Vega", "Castro",
+            "Austen", "Dickens", "Woolf", "Twain", "Bronte", "Hardy", "Eliot", "Wilde", "Shelley", "Poe",
+            "Melville", "Hawthorne"};
+
+    private static final String[] ADJECTIVES = {
+            "Silent", "Lost", "Hidden", "Burning", "Forgotten", "Golden", "Broken", "Distant", "Secret",
+            "Last", "Crimson", "Endless", "Quiet", "Wild", "Shattered", "Northern", "Little", "Hollow",
+            "Bright", "Bitter", "Sleeping", "Winter", "Scarlet", "Ancient", "Restless"};
+
+    private static final String[] NOUNS = {
+            "River", "House", "Garden", "Letter", "Kingdom", "Promise", "Island", "Mirror", "Storm",
+            "Orchard", "Bridge", "Shadow", "Harbor", "Song", "Lantern", "Voyage", "Crown", "Forest",
+            "Daughter", "Stranger", "Map", "Clock", "Tower", "Memory", "Widow", "Empire", "Journey"};
+
+    private static final String[] PLACES = {
+            "Salamanca", "the Andes", "Buenos Aires", "the North", "Macondo", "the Sea", "Seville",
+            "the Desert", "Granada", "the Valley", "Lisbon", "the Coast", "Havana", "the Mountains"};
+
+    private static final String[] WORDS = {
+            "a", "the", "story", "of", "love", "war", "family", "memory", "journey", "across", "young",
+            "old", "city", "village", "secret", "letters", "between", "two", "worlds", "and", "loss",
+            "hope", "friendship", "betrayal", "century", "revolution", "exile", "return", "home",
+            "mystery", "that", "haunts", "generation", "quiet", "courage", "in", "time", "of", "silence"};
+
+    private final CatalogSpec spec;
+    private final ZipfDistribution authorRanks;
+    private final ZipfDistribution genreRanks;
+    private final double logMedianPrice;
+
+    public CatalogGenerator(CatalogSpec spec) {
+        this.spec = spec;
+        this.authorRanks = new ZipfDistribution(spec.authors(), spec.authorSkew());
+        this.genreRanks = new ZipfDistribution(GENRES.size(), spec.genreSkew());
+        this.logMedianPrice = Math.log(spec.medianPrice().doubleValue());
+    }
+
+    public CatalogSpec spec() {
+        return spec;
+    }
+
+    /**
+     * Number of chunks needed for the configured row count
+     */
+    public long chunkCount() {
+        return (spec.rows() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    }
+
+    /**
+     * Number of rows in the given chunk; only the last one may be short
+     */
+    public int chunkSize(long chunk) {
+        return (int) Math.min(CHUNK_SIZE, spec.rows() - chunk * CHUNK_SIZE);
+    }
+
+    /**
+     * The random stream of a chunk, to be passed to {@link #next} for each
+     * of its rows in turn
+     */
+    public SplittableRandom random(long chunk) {
+        return new SplittableRandom(mix(spec.seed() * 0x9E3779B97F4A7C15L + chunk));
+    }
+
+    public BookRow next(SplittableRandom random) {
+        String author = authorName(authorRanks.sample(random));
+        String genre = GENRES.get(genreRanks.sample(random));
+        String title = title(random);
+        int yearSpan = spec.maxYear() - spec.minYear();
+        int year = spec.minYear() + (int) Math.round(yearSpan * Math.pow(random.nextDouble(), 1 / spec.yearSkew()));
+        // Average of two uniforms: most books have a middling page count
+        int pages = spec.minPages()
+                + (int) ((spec.maxPages() - spec.minPages()) * (random.nextDouble() + random.nextDouble()) / 2);
+        BigDecimal price = price(random);
+        boolean available = random.nextDouble() < spec.availableRatio();
+        LocalDateTime createdAt = spec.referenceTime().minusMinutes(random.nextLong(365L * 24 * 60));
+        LocalDateTime updatedAt = createdAt.plusMinutes(random.nextLong(30L * 24 * 60));
+        if (updatedAt.isAfter(spec.referenceTime())) {
+            updatedAt = spec.referenceTime();
+        }
+        return new BookRow(title, author, year, description(random), genre, pages, price, available,
+                createdAt, updatedAt);
+    }
+
+    /**
+     * Author of the given popularity rank; every rank has a distinct name
+     */
+    static String authorName(int rank) {
+        int first = rank % FIRST_NAMES.length;
+        int last = (rank / FIRST_NAMES.length) % LAST_NAMES.length;
+        int generation = rank / (FIRST_NAMES.length * LAST_NAMES.length);
+        String name = FIRST_NAMES[first] + " " + LAST_NAMES[last];
+        if (generation == 0) {
+            return name;
+        }
+        // Beyond the plain combinations, add middle initials: "Ana B. Garcia"
+        StringBuilder initials = new StringBuilder();
+        for (int g = generation; g > 0; g /= 26) {
+            initials.insert(0, (char) ('A' + (g - 1) % 26)).insert(1, ". ");
+        }
+        return FIRST_NAMES[first] + " " + initials + LAST_NAMES[last];
+    }
+
+    private static String title(SplittableRandom random) {
+        String noun = NOUNS[random.nextInt(NOUNS.length)];
+        return switch (random.nextInt(4)) {
+            case 0 -> "The " + ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + noun;
+            case 1 -> "The " + noun + " of " + PLACES[random.nextInt(PLACES.length)];
+            case 2 -> "A " + noun + " in " + PLACES[random.nextInt(PLACES.length)];
+            default -> "The " + noun + "'s " + NOUNS[random.nextInt(NOUNS.length)];
+        };
+    }
+
+    private BigDecimal price(SplittableRandom random) {
+        double logPrice = logMedianPrice + spec.priceSpread() * gaussian(random);
+        BigDecimal price = BigDecimal.valueOf(Math.exp(logPrice)).setScale(2, RoundingMode.HALF_UP);
+        if (price.compareTo(spec.minPrice()) < 0) {
+            return spec.minPrice();
+        }
+        return price.compareTo(spec.maxPrice()) > 0 ? spec.maxPrice() : price;
+    }
+
+    private String description(SplittableRandom random) {
+        int words = spec.minDescriptionWords()
+                + random.nextInt(spec.maxDescriptionWords() - spec.minDescriptionWords() + 1);
+        StringBuilder description = new StringBuilder(words * 7);
+        for (int i = 0; i < words; i++) {
+            String word = WORDS[random.nextInt(WORDS.length)];
+            if (description.length() + word.length() + 2 > MAX_DESCRIPTION_LENGTH) {
+                break;
+            }
+            if (i == 0) {
+                description.append(Character.toUpperCase(word.charAt(0))).append(word, 1, word.length());
+            } else {
+                description.append(' ').append(word);
+            }
+        }
+        return description.append('.').toString();
+    }
+
+    /**
+     * Standard normal draw (Box-Muller)
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u = 1.0 - random.nextDouble();
+        return Math.sqrt(-2 * Math.log(u)) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    /**
+     * SplitMix64 finaliser, so neighbouring chunk numbers get unrelated
+     * streams
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * One generated book, in column order
+     */
+    public record BookRow(String title, String author, int publicationYear, String description, String genre,
+            int pageCount, BigDecimal price, boolean available, LocalDateTime createdAt,
+            LocalDateTime updatedAt) {
+    }
+}
@@ -0,0 +1,145 @@
+package com.udb.letrasvivas.bookapi.catalog;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bulk-loads a generated catalog with plain JDBC: every worker thread takes
+ * whole chunks, inserts them on its own connection in batches of
+ * {@link CatalogSpec#batchSize()} and commits once per chunk. Hibernate and
+ * the statement instrumentation are bypassed, as neither adds anything to a
+ * million identical inserts but overhead.
+ * <p>
+ * The rows are deterministic; with more than one thread the ids they get
+ * are not, since chunks finish in any order.
+ */
+@Slf4j
+public class CatalogLoader {
+
+    static final String INSERT = "INSERT INTO books (title, author, publication_year, description, genre, "
+            + "page_count, price, is_available, created_at, updated_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final long PROGRESS_INTERVAL = 100_000;
+
+    private final DataSource dataSource;
+
+    public CatalogLoader(DataSource dataSource) {
+        this.dataSource = unwrap(dataSource);
+    }
+
+    /**
+     * Generate and insert the whole catalog described by {@code spec}
+     *
+     * @return number of rows inserted
+     */
+    public long load(CatalogSpec spec) {
+        CatalogGenerator generator = new CatalogGenerator(spec);
+        long chunks = generator.chunkCount();
+        int threads = (int) Math.max(1, Math.min(spec.threads(), chunks));
+        AtomicLong inserted = new AtomicLong();
+        long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "catalog-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (long chunk = 0; chunk < chunks; chunk++) {
+                long current = chunk;
+                futures.add(executor.submit(() -> {
+                    int rows = insertChunk(generator, current, spec.batchSize());
+                    long total = inserted.addAndGet(rows);
+                    if (total / PROGRESS_INTERVAL != (total - rows) / PROGRESS_INTERVAL) {
+                        log.info("Catalog: {} of {} books inserted", total, spec.rows());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Catalog load interrupted", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Catalog load failed", ex.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        double seconds = Math.max((System.nanoTime() - start) / 1e9, 1e-9);
+        log.info("Catalog: {} books inserted in {} s ({} rows/s, {} threads)", inserted.get(),
+                String.format("%.1f", seconds), Math.round(inserted.get() / seconds), threads);
+        return inserted.get();
+    }
+
+    private int insertChunk(CatalogGenerator generator, long chunk, int batchSize) throws SQLException {
+        int rows = generator.chunkSize(chunk);
+        SplittableRandom random = generator.random(chunk);
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                for (int i = 0; i < rows; i++) {
+                    bind(statement, generator.next(random));
+                    statement.addBatch();
+                    if ((i + 1) % batchSize == 0) {
+                        statement.executeBatch();
+                    }
+                }
+                statement.executeBatch();
+                connection.commit();
+            } catch (SQLException | RuntimeException ex) {
+                connection.rollback();
+                throw ex;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+        return rows;
+    }
+
+    private static void bind(PreparedStatement statement, CatalogGenerator.BookRow row) throws SQLException {
+        statement.setString(1, row.title());
+        statement.setString(2, row.author());
+        statement.setInt(3, row.publicationYear());
+        statement.setString(4, row.description());
+        statement.setString(5, row.genre());
+        statement.setInt(6, row.pageCount());
+        statement.setBigDecimal(7, row.price());
+        statement.setBoolean(8, row.available());
+        statement.setTimestamp(9, Timestamp.valueOf(row.createdAt()));
+        statement.setTimestamp(10, Timestamp.valueOf(row.updatedAt()));
+    }
+
+    /**
+     * Strip the instrumentation and lazy-connection wrappers; what is left
+     * hands out pooled connections for writing
+     */
+    private static DataSource unwrap(DataSource dataSource) {
+        DataSource current = dataSource;
+        while (current instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            current = delegating.getTargetDataSource();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,58 @@
+package com.udb.letrasvivas.bookapi.catalog;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Shape of a synthetic catalog, bound from {@code bookapi.catalog.*}. The
+ * same seed and settings always produce the same rows.
+ *
+ * @param seed             seed of every random choice
+ * @param rows             number of books to generate
+ * @param skipIfNotEmpty   leave a database that already has books alone
+ * @param async            seed on a background thread instead of holding up startup
+ * @param threads          parallel insert workers, each on its own connection
+ * @param batchSize        rows per JDBC batch
+ * @param authors          size of the author population
+ * @param authorSkew       Zipf exponent of author popularity; 0 is uniform
+ * @param genreSkew        Zipf exponent of genre popularity; 0 is uniform
+ * @param minYear          oldest publication year
+ * @param maxYear          newest publication year
+ * @param yearSkew         how strongly years lean towards {@code maxYear}; 1 is uniform
+ * @param medianPrice      median of the log-normal price distribution
+ * @param priceSpread      standard deviation of the log of the price
+ * @param minPrice         lowest price; lower draws are clamped
+ * @param maxPrice         highest price; higher draws are clamped
+ * @param minPages         fewest pages
+ * @param maxPages         most pages
+ * @param minDescriptionWords shortest description, in words
+ * @param maxDescriptionWords longest description, in words (capped at 1000 characters)
+ * @param availableRatio   share of books that are available
+ * @param referenceTime    "now" for creation and update timestamps, fixed so runs are repeatable
+ */
+public record CatalogSpec(
+        @DefaultValue("42") long seed,
+        @DefaultValue("100") long rows,
+        @DefaultValue("true") boolean skipIfNotEmpty,
+        @DefaultValue("true") boolean async,
+        @DefaultValue("4") int threads,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("5000") int authors,
+        @DefaultValue("1.1") double authorSkew,
+        @DefaultValue("1.0") double genreSkew,
+        @DefaultValue("1800") int minYear,
+        @DefaultValue("2024") int maxYear,
+        @DefaultValue("3.0") double yearSkew,
+        @DefaultValue("14.99") BigDecimal medianPrice,
+        @DefaultValue("0.45") double priceSpread,
+        @DefaultValue("5.99") BigDecimal minPrice,
+        @DefaultValue("51.00") BigDecimal maxPrice,
+        @DefaultValue("100") int minPages,
+        @DefaultValue("1000") int maxPages,
+        @DefaultValue("8") int minDescriptionWords,
+        @DefaultValue("60") int maxDescriptionWords,
+        @DefaultValue("0.85") double availableRatio,
+        @DefaultValue("2024-12-31T12:00:00") LocalDateTime referenceTime) {
+}
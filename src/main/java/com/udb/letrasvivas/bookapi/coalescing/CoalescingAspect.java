@@ -0,0 +1,112 @@
+package com.udb.letrasvivas.bookapi.coalescing;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookMapper;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.routing.ReadConsistency;
+
+/**
+ * Applies single-flight coalescing to {@link Coalesced} methods.
+ * <p>
+ * Runs outside the transaction interceptor, so followers never open a
+ * transaction or borrow a pool connection while they wait. Calls made from
+ * inside an existing transaction are not coalesced, because they must see
+ * that transaction's own uncommitted writes. Neither are reads carrying a
+ * consistency token: the leader may have been routed to a replica that has
+ * not replayed the caller's write. Books are mutable entities, so
+ * followers get their own copies of the leader's books, pages and lists.
+ */
+@Aspect
+@Component
+@Order(CoalescingAspect.ORDER)
+public class CoalescingAspect {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 20;
+
+    private final boolean enabled;
+    private final SingleFlight singleFlight;
+
+    public CoalescingAspect(MetricsRegistry metricsRegistry,
+            @Value("${bookapi.coalescing.enabled:true}") boolean enabled,
+            @Value("${bookapi.coalescing.max-wait:5s}") Duration maxWait) {
+        this.enabled = enabled;
+        this.singleFlight = new SingleFlight(maxWait, CoalescingAspect::copyResult, (key, role) -> metricsRegistry
+                .counter("bookapi.coalescing.calls",
+                        "method", ((InvocationKey) key).method().getName(),
+                        "role", role.name().toLowerCase())
+                .increment());
+        metricsRegistry.gauge(singleFlight::inFlightCount, "bookapi.coalescing.in_flight");
+    }
+
+    @Around("@annotation(com.udb.letrasvivas.bookapi.coalescing.Coalesced)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()
+                || ReadConsistency.requiredPosition() != null) {
+            return joinPoint.proceed();
+        }
+        InvocationKey key = new InvocationKey(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), Arrays.asList(joinPoint.getArgs()));
+        return singleFlight.execute(key, joinPoint::proceed);
+    }
+
+    /**
+     * A copy of a {@code BookService} result that shares no mutable state
+     * with it; values that are immutable already are returned as they are
+     */
+    static Object copyResult(Object result) {
+        if (result instanceof Book book) {
+            return BookMapper.copy(book);
+        }
+        if (result instanceof Page<?> page) {
+            return new PageImpl<>(copyAll(page.getContent()), page.getPageable(), page.getTotalElements());
+        }
+        if (result instanceof List<?> list) {
+            return copyAll(list);
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.map(CoalescingAspect::copyResult);
+        }
+        if (result instanceof BookService.BookStatistics statistics) {
+            return new BookService.BookStatistics(statistics.getTotalBooks(), statistics.getAvailableBooks(),
+                    statistics.getAveragePrice(), statistics.getOldestPublicationYear(),
+                    statistics.getNewestPublicationYear());
+        }
+        return result;
+    }
+
+    private static List<Object> copyAll(List<?> values) {
+        List<Object> copies = new ArrayList<>(values.size());
+        for (Object value : values) {
+            copies.add(copyResult(value));
+        }
+        return copies;
+    }
+
+    /**
+     * Method plus argument values; arguments are compared with
+     * {@code equals}, which holds for ids, strings, numbers and
+     * {@link org.springframework.data.domain.PageRequest}
+     */
+    record InvocationKey(Method method, List<Object> args) {
+    }
+}
@@ -0,0 +1,100 @@
+package com.udb.letrasvivas.bookapi.coalescing;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+/**
+ * Collapses concurrent calls with the same key into one execution.
+ * <p>
+ * The first caller for a key (the leader) runs the call on its own thread;
+ * callers arriving while it is in flight (followers) wait for the leader's
+ * outcome. A follower that waits longer than {@code maxWait} stops waiting
+ * and runs the call itself, so a stuck leader never blocks others for longer
+ * than that bound. Followers receive {@code followerCopy} of the leader's
+ * result, so a caller that mutates what it got does not change what the
+ * others see.
+ */
+public class SingleFlight {
+
+    /**
+     * How a call was served
+     */
+    public enum Role {
+        LEADER, FOLLOWER, TIMEOUT
+    }
+
+    /**
+     * A call that may throw anything the underlying method throws
+     */
+    @FunctionalInterface
+    public interface Call {
+        Object run() throws Throwable;
+    }
+
+    /**
+     * Observer notified once per call with the way it was served
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onCall(Object key, Role role);
+    }
+
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final UnaryOperator<Object> followerCopy;
+    private final Listener listener;
+
+    public SingleFlight(Duration maxWait, Listener listener) {
+        this(maxWait, UnaryOperator.identity(), listener);
+    }
+
+    public SingleFlight(Duration maxWait, UnaryOperator<Object> followerCopy, Listener listener) {
+        this.maxWait = maxWait;
+        this.followerCopy = followerCopy;
+        this.listener = listener;
+    }
+
+    public Object execute(Object key, Call call) throws Throwable {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, mine);
+
+        if (existing == null) {
+            listener.onCall(key, Role.LEADER);
+            try {
+                Object result = call.run();
+                mine.complete(result);
+                return result;
+            } catch (Throwable ex) {
+                mine.completeExceptionally(ex);
+                throw ex;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        try {
+            Object result = existing.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+            listener.onCall(key, Role.FOLLOWER);
+            return followerCopy.apply(result);
+        } catch (ExecutionException ex) {
+            listener.onCall(key, Role.FOLLOWER);
+            throw ex.getCause();
+        } catch (TimeoutException ex) {
+            listener.onCall(key, Role.TIMEOUT);
+            return call.run();
+        }
+    }
+
+    /**
+     * Number of keys currently being executed
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
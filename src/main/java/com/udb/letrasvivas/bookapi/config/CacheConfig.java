@@ -0,0 +1,54 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookMapper;
+import com.udb.letrasvivas.bookapi.cache.BoundedCache;
+import com.udb.letrasvivas.bookapi.cache.ReadThroughCache;
+import com.udb.letrasvivas.bookapi.cache.TransactionAwareCache;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.snapshot.CatalogSnapshotStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    /**
+     * Books by ID
+     */
+    public static final String BOOKS_CACHE = "books";
+
+    @Bean
+    public CacheManager cacheManager(
+            MetricsRegistry metricsRegistry,
+            ObjectProvider<CatalogSnapshotStore> snapshotStore,
+            @Value("${bookapi.cache.books.maximum-size:10000}") int maximumSize,
+            @Value("${bookapi.cache.books.time-to-live:10m}") Duration timeToLive) {
+        // Books are mutable entities; every caller gets its own copy
+        BoundedCache books = new BoundedCache(BOOKS_CACHE, maximumSize, timeToLive,
+                value -> value instanceof Book book ? BookMapper.copy(book) : value);
+        metricsRegistry.gauge(books::hitCount, "bookapi.cache.gets", "cache", BOOKS_CACHE, "result", "hit");
+        metricsRegistry.gauge(books::missCount, "bookapi.cache.gets", "cache", BOOKS_CACHE, "result", "miss");
+        metricsRegistry.gauge(books::size, "bookapi.cache.size", "cache", BOOKS_CACHE);
+
+        // Misses are answered from the catalog snapshot when there is one; it
+        // sees evictions after commit, like the cache itself
+        CatalogSnapshotStore snapshot = snapshotStore.getIfAvailable();
+        Cache booksCache = snapshot != null ? new ReadThroughCache(books, snapshot) : books;
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        // Puts and evictions issued inside a transaction are applied after commit
+        cacheManager.setCaches(List.of(new TransactionAwareCache(booksCache)));
+        return cacheManager;
+    }
+}
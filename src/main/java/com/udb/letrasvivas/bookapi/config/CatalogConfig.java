@@ -0,0 +1,29 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.catalog.CatalogLoader;
+import com.udb.letrasvivas.bookapi.catalog.CatalogSpec;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Synthetic catalog used to seed the database, shaped by
+ * {@code bookapi.catalog.*}. The {@code catalog} profile turns the
+ * application into a one-off bulk loader.
+ */
+@Configuration
+public class CatalogConfig {
+
+    @Bean
+    public CatalogSpec catalogSpec(Environment environment) {
+        return Binder.get(environment).bindOrCreate("bookapi.catalog", CatalogSpec.class);
+    }
+
+    @Bean
+    public CatalogLoader catalogLoader(DataSource dataSource) {
+        return new CatalogLoader(dataSource);
+    }
+}
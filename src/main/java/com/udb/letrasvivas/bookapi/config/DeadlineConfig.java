@@ -0,0 +1,34 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.deadline.StatementTimeoutDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Request deadlines at the JDBC layer; the budgets themselves are set by
+ * {@link com.udb.letrasvivas.bookapi.deadline.DeadlineInterceptor}.
+ */
+@Configuration
+public class DeadlineConfig {
+
+    /**
+     * Wrap the application data source, whichever configuration created it,
+     * so every statement honours the current request deadline
+     */
+    @Bean
+    public static BeanPostProcessor statementTimeoutDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementTimeoutDataSource)) {
+                    return new StatementTimeoutDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+}
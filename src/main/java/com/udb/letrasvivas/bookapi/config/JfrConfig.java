@@ -0,0 +1,36 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.jfr.JfrRuntimeStatistics;
+import com.udb.letrasvivas.bookapi.jfr.RecordingManager;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class JfrConfig {
+
+    /**
+     * GC pause and lock contention metrics from an in-process JFR stream
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookapi.jfr.streaming.enabled", havingValue = "true", matchIfMissing = true)
+    public JfrRuntimeStatistics jfrRuntimeStatistics(MetricsRegistry metricsRegistry,
+            @Value("${bookapi.jfr.streaming.lock-threshold:10ms}") Duration lockThreshold) {
+        return new JfrRuntimeStatistics(metricsRegistry, lockThreshold);
+    }
+
+    /**
+     * On-demand recordings for the admin endpoint; off unless explicitly
+     * enabled, as the endpoint is not authenticated
+     */
+    @Bean
+    @ConditionalOnProperty(name = "bookapi.jfr.admin.enabled", havingValue = "true")
+    public RecordingManager recordingManager(
+            @Value("${bookapi.jfr.admin.max-duration:15m}") Duration maxDuration) {
+        return new RecordingManager(maxDuration);
+    }
+}
@@ -0,0 +1,84 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchRequest;
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.exception.ErrorResponse;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.catalog.CatalogSpec;
+import com.udb.letrasvivas.bookapi.jfr.RecordingManager;
+import com.udb.letrasvivas.bookapi.startup.StartupTimeline;
+import com.udb.letrasvivas.bookapi.tracing.RingBufferSpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.Span;
+import com.udb.letrasvivas.bookapi.warmup.Warmup;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.boot.context.properties.bind.BindableRuntimeHintsRegistrar;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.util.ClassUtils;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.util.Arrays;
+
+/**
+ * Reachability metadata for the native image ({@code ./mvnw -Pnative
+ * native:compile}) that Spring AOT cannot work out from the bean graph:
+ * the JDK proxies the JDBC instrumentation creates, types bound with
+ * {@code Binder} instead of {@code @ConfigurationProperties}, and types
+ * Jackson writes outside (or nested inside) controller return values.
+ * Hibernate, springdoc, Hikari and the drivers bring their own metadata.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.BookApiRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class BookApiRuntimeHints implements RuntimeHintsRegistrar {
+
+        /**
+         * What the pool hands out; statements and result sets are proxied
+         * with all the interfaces of these classes
+         */
+        private static final String[] POOLED_JDBC_TYPES = {
+                "com.zaxxer.hikari.pool.HikariProxyStatement",
+                "com.zaxxer.hikari.pool.HikariProxyPreparedStatement",
+                "com.zaxxer.hikari.pool.HikariProxyCallableStatement",
+                "com.zaxxer.hikari.pool.HikariProxyResultSet"};
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // StatementTimeoutDataSource, StatementStatisticsDataSource, LazyConnectionDataSourceProxy
+            hints.proxies().registerJdkProxy(Connection.class);
+            hints.proxies().registerJdkProxy(ConnectionProxy.class);
+            for (String type : POOLED_JDBC_TYPES) {
+                if (ClassUtils.isPresent(type, classLoader)) {
+                    Class<?>[] interfaces = ClassUtils.getAllInterfacesForClass(
+                            ClassUtils.resolveClassName(type, classLoader), classLoader);
+                    hints.proxies().registerJdkProxy(interfaces);
+                    // A proxy wrapped by the next data source also reports Proxy's own Serializable
+                    Class<?>[] rewrapped = Arrays.copyOf(interfaces, interfaces.length + 1);
+                    rewrapped[interfaces.length] = Serializable.class;
+                    hints.proxies().registerJdkProxy(rewrapped);
+                }
+            }
+
+            // Served by OpenApiDocumentController
+            hints.resources().registerPattern("openapi/openapi.json");
+
+            BindableRuntimeHintsRegistrar.forTypes(CatalogSpec.class, HikariDataSource.class)
+                    .registerHints(hints, classLoader);
+
+            new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                    Book.class, BookDto.class, BookBatchRequest.class, BookBatchResponse.class,
+                    BookService.BookStatistics.class, PageImpl.class, ErrorResponse.class, Span.class,
+                    RingBufferSpanExporter.TraceSummary.class, StartupTimeline.StartupReport.class,
+                    RecordingManager.Status.class, Warmup.Status.class);
+        }
+    }
+}
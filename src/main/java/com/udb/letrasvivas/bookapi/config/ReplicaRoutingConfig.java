@@ -0,0 +1,93 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.routing.ConsistencyTokenFilter;
+import com.udb.letrasvivas.bookapi.routing.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting: read-only transactions go to the replicas listed in
+ * {@code bookapi.routing.replica-urls}, everything else to the primary
+ * configured under {@code spring.datasource} (through the workload pools,
+ * when those are enabled). Disabled by default.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookapi.routing.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * Name of the primary data source bean; the workload pools take this
+     * role when they are enabled
+     */
+    public static final String PRIMARY_DATA_SOURCE = "primaryDataSource";
+
+    @Bean(name = PRIMARY_DATA_SOURCE)
+    @ConditionalOnProperty(name = "bookapi.workload.pools.enabled", havingValue = "false")
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier(PRIMARY_DATA_SOURCE) DataSource primaryDataSource,
+            MetricsRegistry metricsRegistry,
+            @Value("${bookapi.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${bookapi.routing.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${bookapi.routing.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${bookapi.routing.replica-pool-size:10}") int poolSize,
+            @Value("${bookapi.routing.health-check-interval:5s}") Duration healthCheckInterval,
+            @Value("${bookapi.routing.consistency.enabled:false}") boolean consistencyEnabled,
+            @Value("${bookapi.routing.consistency.primary-position-query:SELECT pg_current_wal_lsn()::text}") String primaryPositionQuery,
+            @Value("${bookapi.routing.consistency.replica-position-query:SELECT pg_last_wal_replay_lsn()::text}") String replicaPositionQuery,
+            @Value("${bookapi.routing.consistency.position-refresh:10ms}") Duration positionRefresh) {
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            // Do not fail startup when a replica is down; the health check routes around it
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(primaryDataSource, replicas, healthCheckInterval,
+                new ReplicaRoutingDataSource.ConsistencySettings(
+                        consistencyEnabled, primaryPositionQuery, replicaPositionQuery, positionRefresh),
+                metricsRegistry);
+    }
+
+    /**
+     * The data source JPA sees; defers picking a target until the first
+     * statement, when the transaction's read-only flag is known
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    @Bean
+    public ConsistencyTokenFilter consistencyTokenFilter() {
+        return new ConsistencyTokenFilter();
+    }
+}
@@ -0,0 +1,23 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.resilience.CircuitBreaker;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    /**
+     * Circuit breaker for the book database, shared by the repository guard
+     * and the stale-result fallback
+     */
+    @Bean
+    public CircuitBreaker databaseCircuitBreaker(
+            @Value("${bookapi.resilience.circuit.failure-threshold:5}") int failureThreshold,
+            @Value("${bookapi.resilience.circuit.open-duration:10s}") Duration openDuration) {
+        return new CircuitBreaker(failureThreshold, openDuration);
+    }
+}
@@ -0,0 +1,42 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.snapshot.CatalogSnapshotStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Memory-mapped catalog snapshot behind the book cache, for warm restarts
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookapi.snapshot.enabled", havingValue = "true")
+public class SnapshotConfig {
+
+    @Bean
+    public CatalogSnapshotStore catalogSnapshotStore(DataSource dataSource,
+            PlatformTransactionManager transactionManager, MetricsRegistry metricsRegistry,
+            @Value("${bookapi.snapshot.path:data/catalog.snapshot}") Path path,
+            @Value("${bookapi.snapshot.catch-up-interval:30s}") Duration catchUpInterval,
+            @Value("${bookapi.snapshot.write-interval:10m}") Duration writeInterval,
+            @Value("${bookapi.snapshot.reconcile-interval:5m}") Duration reconcileInterval,
+            @Value("${bookapi.snapshot.catch-up-overlap:5m}") Duration overlap,
+            @Value("${bookapi.snapshot.max-age:1h}") Duration maxAge,
+            @Value("${bookapi.snapshot.fetch-size:1000}") int fetchSize) {
+        // Streams the full scan instead of buffering it
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        return new CatalogSnapshotStore(path, jdbcTemplate, readOnlyTransaction, catchUpInterval, writeInterval,
+                reconcileInterval, overlap, maxAge, metricsRegistry);
+    }
+}
@@ -0,0 +1,42 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.sql.StatementStatisticsDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Statement counting, timing and slow-statement logging at the JDBC layer;
+ * per-request reporting is done by
+ * {@link com.udb.letrasvivas.bookapi.sql.SqlStatisticsFilter}.
+ */
+@Configuration
+public class SqlStatisticsConfig {
+
+    /**
+     * Wrap the application data source, whichever configuration created it
+     */
+    @Bean
+    public static BeanPostProcessor statementStatisticsDataSourcePostProcessor(Environment environment,
+            ObjectProvider<MetricsRegistry> metricsRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof StatementStatisticsDataSource)) {
+                    Duration slowThreshold = environment.getProperty("bookapi.sql.slow-threshold", Duration.class,
+                            Duration.ofMillis(200));
+                    MetricsRegistry registry = metricsRegistry.getIfAvailable(MetricsRegistry::new);
+                    return new StatementStatisticsDataSource(dataSource, slowThreshold, registry);
+                }
+                return bean;
+            }
+        };
+    }
+}
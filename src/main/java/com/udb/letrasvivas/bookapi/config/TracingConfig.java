@@ -0,0 +1,45 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.tracing.FileSpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.RingBufferSpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.SpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.Tracer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Request tracing with local exporters only: an in-memory ring buffer behind
+ * {@code /api/traces} (when {@code bookapi.tracing.admin.enabled}), and
+ * optionally a JSON-lines file ({@code bookapi.tracing.export-file}).
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookapi.tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    @Bean
+    public RingBufferSpanExporter ringBufferSpanExporter(
+            @Value("${bookapi.tracing.buffer-size:4096}") int bufferSize) {
+        return new RingBufferSpanExporter(bufferSize);
+    }
+
+    @Bean
+    @ConditionalOnExpression("'${bookapi.tracing.export-file:}' != ''")
+    public FileSpanExporter fileSpanExporter(@Value("${bookapi.tracing.export-file}") Path file,
+            ObjectMapper objectMapper) throws IOException {
+        return new FileSpanExporter(file, objectMapper);
+    }
+
+    @Bean
+    public Tracer tracer(@Value("${bookapi.tracing.sampling-ratio:0.1}") double samplingRatio,
+            List<SpanExporter> exporters) {
+        return new Tracer(samplingRatio, exporters);
+    }
+}
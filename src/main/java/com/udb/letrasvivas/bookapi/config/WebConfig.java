@@ -0,0 +1,29 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.adaptive.AdaptiveLimitInterceptor;
+import com.udb.letrasvivas.bookapi.deadline.DeadlineInterceptor;
+import com.udb.letrasvivas.bookapi.ratelimit.RateLimitInterceptor;
+import com.udb.letrasvivas.bookapi.workload.BulkheadInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final AdaptiveLimitInterceptor adaptiveLimitInterceptor;
+    private final DeadlineInterceptor deadlineInterceptor;
+    private final BulkheadInterceptor bulkheadInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Cheapest rejection first: a rate-limited or shed request never queues in a bulkhead
+        registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(adaptiveLimitInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/api/**");
+        registry.addInterceptor(bulkheadInterceptor).addPathPatterns("/api/**");
+    }
+}
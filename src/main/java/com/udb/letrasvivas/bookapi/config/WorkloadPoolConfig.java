@@ -0,0 +1,55 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.workload.WorkloadRoutingDataSource;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * One connection pool per {@link WorkloadType}, all pointing at the database
+ * in {@code spring.datasource}. Each pool starts from the shared
+ * {@code spring.datasource.hikari} settings and is sized by
+ * {@code bookapi.workload.<workload>.pool-size}. When replica routing is
+ * enabled these pools serve as its primary.
+ */
+@Configuration
+@ConditionalOnProperty(name = "bookapi.workload.pools.enabled", havingValue = "true", matchIfMissing = true)
+public class WorkloadPoolConfig {
+
+    @Bean(name = ReplicaRoutingConfig.PRIMARY_DATA_SOURCE)
+    public WorkloadRoutingDataSource workloadRoutingDataSource(DataSourceProperties properties,
+            Environment environment) {
+        Binder binder = Binder.get(environment);
+        Map<WorkloadType, DataSource> pools = new EnumMap<>(WorkloadType.class);
+        for (WorkloadType workload : WorkloadType.values()) {
+            HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+            int poolSize = binder.bind("bookapi.workload." + workload.key() + ".pool-size", Integer.class)
+                    .orElse(pool.getMaximumPoolSize());
+            pool.setPoolName(workload.key());
+            pool.setMaximumPoolSize(poolSize);
+            pool.setMinimumIdle(Math.min(pool.getMinimumIdle(), poolSize));
+            pools.put(workload, pool);
+        }
+        return new WorkloadRoutingDataSource(pools);
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "bookapi.routing.enabled", havingValue = "false", matchIfMissing = true)
+    public DataSource dataSource(WorkloadRoutingDataSource workloadRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(workloadRoutingDataSource);
+    }
+}
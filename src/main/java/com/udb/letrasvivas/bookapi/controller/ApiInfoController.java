@@ -1,7 +1,13 @@
 package com.udb.letrasvivas.bookapi.controller;
 
+import com.udb.letrasvivas.bookapi.warmup.Warmup;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -12,9 +18,14 @@ import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
+@RequiredArgsConstructor
 @Tag(name = "API Information", description = "Información general sobre la API")
 public class ApiInfoController {
 
+    private final ApplicationAvailability applicationAvailability;
+    private final Warmup warmup;
+    private final Environment environment;
+
     @GetMapping("/info")
     @Operation(
             summary = "Información de la API",
@@ -27,13 +38,17 @@ public class ApiInfoController {
         apiInfo.put("description", "API RESTful para la gestión de libros en Letras Vivas");
         apiInfo.put("author", "Equipo de Desarrollo UDB");
         apiInfo.put("contact", "desarrollo@udb.edu.sv");
-        apiInfo.put("documentation", "/swagger-ui.html");
+        // Swagger UI is only served when springdoc is enabled (SPRINGDOC_ENABLED)
+        boolean swaggerUi = environment.getProperty("springdoc.swagger-ui.enabled", Boolean.class, false);
+        apiInfo.put("documentation", swaggerUi ? "/swagger-ui.html" : "/api-docs");
         apiInfo.put("openapi", "/api-docs");
 
         Map<String, String> endpoints = new HashMap<>();
         endpoints.put("books", "/api/books");
         endpoints.put("search", "/api/books/search");
-        endpoints.put("swagger-ui", "/swagger-ui.html");
+        if (swaggerUi) {
+            endpoints.put("swagger-ui", "/swagger-ui.html");
+        }
         endpoints.put("openapi-json", "/api-docs");
 
         apiInfo.put("endpoints", endpoints);
@@ -54,4 +69,19 @@ public class ApiInfoController {
 
         return ResponseEntity.ok(health);
     }
+
+    @GetMapping("/health/readiness")
+    @Operation(
+            summary = "Disponibilidad para recibir tráfico",
+            description = "Responde 503 hasta que la aplicación arrancó y terminó el calentamiento (o agotó su tiempo límite)"
+    )
+    public ResponseEntity<Map<String, Object>> readiness() {
+        boolean ready = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC
+                && warmup.isReady();
+        Map<String, Object> readiness = new HashMap<>();
+        readiness.put("status", ready ? "UP" : "OUT_OF_SERVICE");
+        readiness.put("warmup", warmup.status());
+
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(readiness);
+    }
 }
@@ -0,0 +1,66 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import com.udb.letrasvivas.bookapi.jfr.RecordingManager;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+@RestController
+@RequestMapping("/api/admin/jfr")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "bookapi.jfr.admin.enabled", havingValue = "true")
+@Tag(name = "Administration", description = "Herramientas de diagnóstico de la API")
+public class FlightRecorderController {
+
+    private final RecordingManager recordingManager;
+
+    @PostMapping("/start")
+    @Operation(
+            summary = "Iniciar grabación JFR",
+            description = "Inicia una grabación de Java Flight Recorder con la configuración indicada (default o profile)"
+    )
+    public ResponseEntity<RecordingManager.Status> start(
+            @RequestParam(defaultValue = "profile") String settings) {
+        return ResponseEntity.ok(recordingManager.start(settings));
+    }
+
+    @GetMapping
+    @Operation(summary = "Estado de la grabación JFR")
+    public ResponseEntity<RecordingManager.Status> status() {
+        return ResponseEntity.ok(recordingManager.status());
+    }
+
+    @PostMapping(value = "/stop", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(
+            summary = "Detener grabación JFR",
+            description = "Detiene la grabación y la devuelve como archivo .jfr"
+    )
+    public ResponseEntity<StreamingResponseBody> stop() throws IOException {
+        Path file = recordingManager.stop();
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookapi.jfr\"")
+                .contentLength(Files.size(file))
+                .body(body);
+    }
+}
@@ -0,0 +1,41 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/metrics")
+@RequiredArgsConstructor
+@Tag(name = "API Information", description = "Información general sobre la API")
+public class MetricsController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain;version=0.0.4;charset=utf-8";
+
+    private final MetricsRegistry metricsRegistry;
+
+    @GetMapping
+    @Operation(
+            summary = "Métricas de la API",
+            description = "Devuelve el valor actual de los contadores y medidores internos de la API"
+    )
+    public ResponseEntity<Map<String, Number>> getMetrics() {
+        return ResponseEntity.ok(metricsRegistry.snapshot());
+    }
+
+    @GetMapping(value = "/prometheus", produces = PROMETHEUS_CONTENT_TYPE)
+    @Operation(
+            summary = "Métricas en formato Prometheus",
+            description = "Devuelve todos los contadores, medidores y temporizadores en el formato de texto de Prometheus"
+    )
+    public ResponseEntity<String> scrape() {
+        return ResponseEntity.ok(metricsRegistry.scrape());
+    }
+}
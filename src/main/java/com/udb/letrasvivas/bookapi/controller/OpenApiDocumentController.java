@@ -0,0 +1,128 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import io.swagger.v3.oas.annotations.Hidden;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves the OpenAPI document generated at build time (see
+ * {@code OpenApiDocumentTest}) instead of having springdoc scan the
+ * controllers at runtime. The document is read and gzipped once at
+ * startup and revalidated by clients through its ETag.
+ */
+@Hidden
+@RestController
+@ConditionalOnProperty(name = "bookapi.openapi.static.enabled", havingValue = "true", matchIfMissing = true)
+public class OpenApiDocumentController {
+
+    private final byte[] document;
+    private final byte[] compressed;
+    private final String etag;
+    private final String compressedEtag;
+
+    public OpenApiDocumentController(@Value("${bookapi.openapi.static.location:classpath:openapi/openapi.json}") Resource location) {
+        try (InputStream in = location.getInputStream()) {
+            this.document = in.readAllBytes();
+        } catch (IOException ex) {
+            throw new IllegalStateException("OpenAPI document not found at " + location
+                    + "; regenerate it with -Dopenapi.update=true", ex);
+        }
+        this.compressed = gzip(document);
+        String hash = sha256(document);
+        this.etag = "\"" + hash + "\"";
+        // Each encoding is a different representation, so it gets its own strong validator
+        this.compressedEtag = "\"" + hash + "-gzip\"";
+    }
+
+    @GetMapping("${bookapi.openapi.static.path:/api-docs}")
+    public ResponseEntity<byte[]> getDocument(
+            @RequestHeader(name = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String variantEtag = gzip ? compressedEtag : etag;
+        if (request.checkNotModified(variantEtag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(variantEtag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(gzip ? compressed : document);
+    }
+
+    /**
+     * Whether {@code Accept-Encoding} allows gzip: listed, or covered by
+     * {@code *}, with a q-value above zero
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.length() > 2 && parameter.substring(0, 2).equalsIgnoreCase("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        double quality = gzip != null ? gzip : wildcard != null ? wildcard : 0;
+        return quality > 0;
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return out.toByteArray();
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
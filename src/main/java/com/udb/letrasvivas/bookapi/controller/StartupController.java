@@ -0,0 +1,30 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import com.udb.letrasvivas.bookapi.startup.StartupTimeline;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/startup")
+@RequiredArgsConstructor
+@Tag(name = "API Information", description = "Información general sobre la API")
+public class StartupController {
+
+    private final StartupTimeline startupTimeline;
+
+    @GetMapping
+    @Operation(
+            summary = "Línea de tiempo del arranque",
+            description = "Tiempo hasta que la aplicación estuvo lista y los pasos de arranque más lentos"
+    )
+    public ResponseEntity<StartupTimeline.StartupReport> getStartupTimeline(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.of(startupTimeline.report(Math.max(1, Math.min(limit, 200))));
+    }
+}
@@ -0,0 +1,46 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import com.udb.letrasvivas.bookapi.tracing.RingBufferSpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.Span;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/traces")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = {"bookapi.tracing.enabled", "bookapi.tracing.admin.enabled"}, havingValue = "true")
+@Tag(name = "API Information", description = "Información general sobre la API")
+public class TraceController {
+
+    private final RingBufferSpanExporter ringBufferSpanExporter;
+
+    @GetMapping
+    @Operation(
+            summary = "Trazas recientes",
+            description = "Lista las peticiones muestreadas más recientes que siguen en el búfer de trazas"
+    )
+    public ResponseEntity<List<RingBufferSpanExporter.TraceSummary>> getRecentTraces(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ringBufferSpanExporter.recentTraces(Math.max(1, Math.min(limit, 200))));
+    }
+
+    @GetMapping("/{traceId}")
+    @Operation(
+            summary = "Detalle de una traza",
+            description = "Devuelve los spans de una traza (controlador, servicio, repositorio y SQL) en orden de inicio"
+    )
+    public ResponseEntity<List<Span>> getTrace(@PathVariable String traceId) {
+        List<Span> spans = ringBufferSpanExporter.trace(traceId);
+        return spans.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(spans);
+    }
+}
@@ -0,0 +1,77 @@
+package com.udb.letrasvivas.bookapi.deadline;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Time budget of one request, plus the JDBC statements it is running so
+ * they can be cancelled when the budget runs out
+ */
+@Slf4j
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final String endpoint;
+    private final long deadlineNanos;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean expired;
+
+    Deadline(String endpoint, long budgetNanos) {
+        this.endpoint = endpoint;
+        this.deadlineNanos = System.nanoTime() + budgetNanos;
+    }
+
+    /**
+     * Deadline of the request on the current thread, or {@code null}
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+
+    public long remainingNanos() {
+        return expired ? 0 : Math.max(0, deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+    void register(Statement statement) {
+        running.add(statement);
+    }
+
+    void unregister(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Mark the budget as spent and cancel every statement still running
+     */
+    void expire() {
+        expired = true;
+        for (Statement statement : running) {
+            try {
+                statement.cancel();
+            } catch (SQLException ex) {
+                log.debug("Could not cancel statement for {}: {}", endpoint, ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.udb.letrasvivas.bookapi.deadline;
+
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * Thrown when a request's time budget is already spent before a statement
+ * is sent to the database
+ */
+public class DeadlineExceededException extends QueryTimeoutException {
+
+    public DeadlineExceededException(String endpoint) {
+        super("Time budget exhausted for " + endpoint);
+    }
+}
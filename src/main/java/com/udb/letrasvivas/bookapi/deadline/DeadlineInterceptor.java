@@ -0,0 +1,108 @@
+package com.udb.letrasvivas.bookapi.deadline;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gives each {@link Workload}-annotated request a time budget,
+ * {@code bookapi.deadline.<workload>}, which a client may shorten (never
+ * extend) with the {@value #TIMEOUT_HEADER} header in milliseconds. The
+ * budget bounds every statement the request runs; when it runs out, the
+ * statements still running are cancelled.
+ */
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor, DisposableBean {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String WATCHDOG = DeadlineInterceptor.class.getName() + ".WATCHDOG";
+
+    private final Map<WorkloadType, Duration> budgets = new EnumMap<>(WorkloadType.class);
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "request-deadline-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DeadlineInterceptor(Environment environment, ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        for (WorkloadType workload : WorkloadType.values()) {
+            budgets.put(workload, environment.getProperty("bookapi.deadline." + workload.key(), Duration.class,
+                    Duration.ofSeconds(30)));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(WATCHDOG) != null) {
+            return true;
+        }
+        Workload workload = handlerMethod.getMethodAnnotation(Workload.class);
+        if (workload == null) {
+            return true;
+        }
+        Duration budget = budgets.get(workload.value());
+        Duration requested = parseTimeout(request.getHeader(TIMEOUT_HEADER));
+        if (requested != null && requested.compareTo(budget) < 0) {
+            budget = requested;
+        }
+        Deadline deadline = new Deadline(handlerMethod.getMethod().getName(), budget.toNanos());
+        Deadline.bind(deadline);
+        request.setAttribute(WATCHDOG, watchdog.schedule(deadline::expire, budget.toNanos(), TimeUnit.NANOSECONDS));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(WATCHDOG) instanceof ScheduledFuture<?> timer) {
+            request.removeAttribute(WATCHDOG);
+            timer.cancel(false);
+            Deadline deadline = Deadline.current();
+            Deadline.clear();
+            if (deadline != null && response.getStatus() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+                metricsRegistry.ifAvailable(registry -> registry
+                        .counter("bookapi.deadline.timeouts", "endpoint", deadline.endpoint())
+                        .increment());
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        watchdog.shutdownNow();
+    }
+
+    private static Duration parseTimeout(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            return millis > 0 ? Duration.ofMillis(millis) : null;
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.udb.letrasvivas.bookapi.deadline;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Applies the current request's {@link Deadline} to every JDBC statement:
+ * the remaining budget becomes the statement's query timeout, and the
+ * statement is registered so the deadline watchdog can cancel it. A
+ * statement created after the budget is spent fails immediately with
+ * {@link DeadlineExceededException}.
+ */
+public class StatementTimeoutDataSource extends DelegatingDataSource {
+
+    public StatementTimeoutDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private static Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementTimeoutDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        Deadline deadline = Deadline.current();
+                        if (deadline != null) {
+                            return track(statement, deadline);
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private static Statement track(Statement statement, Deadline deadline) throws SQLException {
+        long remainingNanos = deadline.remainingNanos();
+        if (remainingNanos == 0) {
+            statement.close();
+            throw new DeadlineExceededException(deadline.endpoint());
+        }
+        // JDBC timeouts are whole seconds; the watchdog cancels on the exact deadline
+        statement.setQueryTimeout((int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remainingNanos + 999_999_999L)));
+        deadline.register(statement);
+        ClassLoader classLoader = StatementTimeoutDataSource.class.getClassLoader();
+        return (Statement) Proxy.newProxyInstance(classLoader,
+                ClassUtils.getAllInterfacesForClass(statement.getClass(), classLoader),
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        deadline.unregister(statement);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code BookService} call. The criteria shape names the filters that
+ * were set (never their values), so recordings can be shared.
+ */
+@Name("com.udb.letrasvivas.BookOperation")
+@Label("Book Operation")
+@Category({"Letras Vivas", "Books"})
+@Description("A BookService call with its criteria shape and result size")
+@StackTrace(false)
+public class BookOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Criteria")
+    @Description("Names of the non-null arguments, e.g. title+genre")
+    String criteria;
+
+    @Label("Result Count")
+    int resultCount;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,31 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One application cache lookup
+ */
+@Name("com.udb.letrasvivas.CacheAccess")
+@Label("Cache Access")
+@Category({"Letras Vivas", "Cache"})
+@StackTrace(false)
+public class CacheAccessEvent extends jdk.jfr.Event {
+
+    @Label("Cache")
+    String cache;
+
+    @Label("Hit")
+    boolean hit;
+
+    public static void emit(String cache, boolean hit) {
+        CacheAccessEvent event = new CacheAccessEvent();
+        if (event.shouldCommit()) {
+            event.cache = cache;
+            event.hit = hit;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import java.util.List;
+
+import jdk.jfr.Event;
+
+/**
+ * The application's own flight recorder event types
+ */
+final class DomainEvents {
+
+    static final List<Class<? extends Event>> TYPES = List.of(
+            BookOperationEvent.class, RepositoryCallEvent.class, CacheAccessEvent.class, WriteConflictEvent.class);
+
+    private DomainEvents() {
+    }
+}
@@ -0,0 +1,107 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.StringJoiner;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
+
+/**
+ * Emits {@link BookOperationEvent}s for {@code BookService} calls and
+ * {@link RepositoryCallEvent}s for {@code BookRepository} calls. When no
+ * recording enables these events, the cost is one {@code isEnabled} check.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JfrEventAspect {
+
+    @Around("within(com.udb.letrasvivas.bookapi.book.service.BookService)")
+    public Object recordOperation(ProceedingJoinPoint joinPoint) throws Throwable {
+        BookOperationEvent event = new BookOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            Object result = joinPoint.proceed();
+            event.resultCount = resultCount(result);
+            return result;
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = joinPoint.getSignature().getName();
+                event.criteria = criteriaShape(joinPoint);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("target(com.udb.letrasvivas.bookapi.book.repository.BookRepository)")
+    public Object recordRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryCallEvent event = new RepositoryCallEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            event.failed = true;
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = joinPoint.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Names of the arguments that were given, skipping paging
+     */
+    static String criteriaShape(ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        StringJoiner shape = new StringJoiner("+");
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] != null && !(args[i] instanceof Pageable)) {
+                shape.add(names != null ? names[i] : "arg" + i);
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * Number of books in a service or repository result
+     */
+    public static int resultCount(Object result) {
+        if (result instanceof Page<?> page) {
+            return page.getNumberOfElements();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof BookBatchResponse batch) {
+            return batch.getBooks().size();
+        }
+        return result != null ? 1 : 0;
+    }
+}
@@ -0,0 +1,86 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import java.time.Duration;
+
+import org.springframework.context.SmartLifecycle;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.metrics.Timer;
+
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Feeds JVM events from an in-process JFR stream into the metrics:
+ * garbage-collection pauses ({@code jvm.gc.pause}) and threads blocked on a
+ * contended monitor or parked on a lock ({@code jvm.lock.contention}) for
+ * longer than the lock threshold.
+ * <p>
+ * Most parks are idle waiting, not contention: pool workers, housekeeping
+ * and scheduled executors park on a queue's condition or with no blocker at
+ * all. Only parks whose blocker is a lock itself ({@code ReentrantLock},
+ * {@code ReentrantReadWriteLock} or {@code StampedLock}) are counted.
+ */
+@Slf4j
+public class JfrRuntimeStatistics implements SmartLifecycle {
+
+    private final Duration lockThreshold;
+    private final Timer gcPauses;
+    private final Timer monitorContention;
+    private final Timer parkContention;
+    private RecordingStream stream;
+
+    public JfrRuntimeStatistics(MetricsRegistry metricsRegistry, Duration lockThreshold) {
+        this.lockThreshold = lockThreshold;
+        this.gcPauses = metricsRegistry.timer("jvm.gc.pause");
+        this.monitorContention = metricsRegistry.timer("jvm.lock.contention", "type", "monitor");
+        this.parkContention = metricsRegistry.timer("jvm.lock.contention", "type", "park");
+    }
+
+    @Override
+    public synchronized void start() {
+        try {
+            RecordingStream started = new RecordingStream();
+            started.enable("jdk.GarbageCollection");
+            started.enable("jdk.JavaMonitorEnter").withThreshold(lockThreshold).withoutStackTrace();
+            started.enable("jdk.ThreadPark").withThreshold(lockThreshold).withoutStackTrace();
+            started.onEvent("jdk.GarbageCollection",
+                    event -> gcPauses.record(event.getDuration("sumOfPauses").toNanos()));
+            started.onEvent("jdk.JavaMonitorEnter", event -> monitorContention.record(event.getDuration().toNanos()));
+            started.onEvent("jdk.ThreadPark", event -> {
+                RecordedClass parkedClass = event.getClass("parkedClass");
+                if (parkedClass != null && isLock(parkedClass.getName())) {
+                    parkContention.record(event.getDuration().toNanos());
+                }
+            });
+            started.startAsync();
+            stream = started;
+        } catch (RuntimeException ex) {
+            log.warn("JFR event streaming unavailable: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Whether a park blocker of this class means waiting for a lock, rather
+     * than for a condition, a latch or new work
+     */
+    static boolean isLock(String parkedClass) {
+        return parkedClass.startsWith("java.util.concurrent.locks.ReentrantLock$")
+                || parkedClass.startsWith("java.util.concurrent.locks.ReentrantReadWriteLock$")
+                || parkedClass.equals("java.util.concurrent.locks.StampedLock");
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+}
@@ -0,0 +1,96 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * The single on-demand flight recording behind the admin endpoint. A
+ * recording is started with one of the JDK's settings ("default" or
+ * "profile") plus every Letras Vivas event, and bounded by a maximum
+ * duration so a forgotten recording stops by itself.
+ */
+public class RecordingManager implements DisposableBean {
+
+    private final Duration maxDuration;
+    private Recording recording;
+
+    public RecordingManager(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    /**
+     * Start a recording, or fail if one is already running or the settings
+     * are not one of the JDK's
+     */
+    public synchronized Status start(String settings) {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new RecordingStateException("A recording is already running");
+        }
+        Configuration configuration = Configuration.getConfigurations().stream()
+                .filter(candidate -> candidate.getName().equals(settings))
+                .findFirst()
+                .orElseThrow(() -> new UnknownRecordingSettingsException(settings));
+        closeRecording();
+        Recording started = new Recording(configuration);
+        started.setName("bookapi-on-demand");
+        started.setDuration(maxDuration);
+        started.setToDisk(true);
+        for (Class<? extends jdk.jfr.Event> event : DomainEvents.TYPES) {
+            started.enable(event);
+        }
+        started.start();
+        recording = started;
+        return status();
+    }
+
+    /**
+     * Stop the recording and write it to a temporary file, which the caller
+     * must delete
+     */
+    public synchronized Path stop() throws IOException {
+        if (recording == null) {
+            throw new RecordingStateException("No recording to stop");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        Path file = Files.createTempFile("bookapi-", ".jfr");
+        recording.dump(file);
+        closeRecording();
+        return file;
+    }
+
+    public synchronized Status status() {
+        if (recording == null) {
+            return new Status("NONE", null, null);
+        }
+        return new Status(recording.getState().name(), recording.getStartTime(), recording.getSize());
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * State of the on-demand recording
+     */
+    public record Status(String state, Instant startedAt, Long sizeBytes) {
+    }
+}
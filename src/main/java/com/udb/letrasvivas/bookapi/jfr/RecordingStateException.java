@@ -0,0 +1,12 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+/**
+ * Thrown when the on-demand recording is asked to start while running, or
+ * to stop while there is none
+ */
+public class RecordingStateException extends RuntimeException {
+
+    public RecordingStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,22 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@code BookRepository} call
+ */
+@Name("com.udb.letrasvivas.RepositoryCall")
+@Label("Repository Call")
+@Category({"Letras Vivas", "Database"})
+@StackTrace(false)
+public class RepositoryCallEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Failed")
+    boolean failed;
+}
@@ -0,0 +1,12 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+/**
+ * Thrown when the on-demand recording is asked for settings the JDK does not
+ * have
+ */
+public class UnknownRecordingSettingsException extends RuntimeException {
+
+    public UnknownRecordingSettingsException(String settings) {
+        super("Unknown recording settings '" + settings + "'");
+    }
+}
@@ -0,0 +1,33 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An optimistic-locking conflict, and whether the write was retried
+ */
+@Name("com.udb.letrasvivas.WriteConflict")
+@Label("Write Conflict")
+@Category({"Letras Vivas", "Database"})
+public class WriteConflictEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Attempt")
+    int attempt;
+
+    @Label("Retried")
+    boolean retried;
+
+    public static void emit(String method, int attempt, boolean retried) {
+        WriteConflictEvent event = new WriteConflictEvent();
+        if (event.shouldCommit()) {
+            event.method = method;
+            event.attempt = attempt;
+            event.retried = retried;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.udb.letrasvivas.bookapi.logging;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.sql.SqlStatistics;
+import com.udb.letrasvivas.bookapi.sql.SqlStatisticsFilter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Writes one JSON line per request to the {@value #LOGGER} logger: route,
+ * status, latency, SQL statement count and time, and trace id. Failed
+ * (4xx/5xx) and slow requests are always logged; successful ones are
+ * sampled at {@code bookapi.access-log.success-sample-rate}, and the JSON is
+ * only built for lines that are kept. For asynchronous handlers, such as
+ * the reactive controller's, the line is written when the async request
+ * completes, with the final status and the full latency.
+ * <p>
+ * The logger goes to its own non-blocking async appender (see
+ * {@code logback-spring.xml}), so a slow console drops lines instead of
+ * stalling request threads.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    public static final String LOGGER = "ACCESS";
+
+    private static final Logger accessLog = LoggerFactory.getLogger(LOGGER);
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    private final boolean enabled;
+    private final double successSampleRate;
+    private final long slowNanos;
+
+    public AccessLogFilter(Environment environment, ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        this.enabled = environment.getProperty("bookapi.access-log.enabled", Boolean.class, true);
+        this.successSampleRate = environment.getProperty("bookapi.access-log.success-sample-rate", Double.class,
+                0.05);
+        this.slowNanos = environment.getProperty("bookapi.access-log.slow-threshold", Duration.class,
+                Duration.ofMillis(500)).toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!enabled || !accessLog.isInfoEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        String traceId = MDC.get("traceId");
+        int status = HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            status = response.getStatus();
+            async = request.isAsyncStarted();
+        } finally {
+            if (async) {
+                // The handler returned a Mono or similar; the response is written later
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        record(request, response.getStatus(), System.nanoTime() - start, traceId);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else {
+                record(request, status, System.nanoTime() - start, traceId);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, int status, long elapsedNanos, String traceId) {
+        boolean keep = status >= 400 || elapsedNanos >= slowNanos
+                || ThreadLocalRandom.current().nextDouble() < successSampleRate;
+        metricsRegistry.ifAvailable(registry -> registry
+                .counter("bookapi.access_log.requests", "outcome", keep ? "logged" : "sampled_out")
+                .increment());
+        if (keep) {
+            accessLog.info(line(request, status, elapsedNanos, traceId));
+        }
+    }
+
+    private String line(HttpServletRequest request, int status, long elapsedNanos, String traceId) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put("ts", Instant.now().toString());
+        fields.put("method", request.getMethod());
+        fields.put("route", request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        fields.put("path", request.getRequestURI());
+        fields.put("status", status);
+        fields.put("durationMs", TimeUnit.NANOSECONDS.toMicros(elapsedNanos) / 1000.0);
+        if (request.getAttribute(SqlStatisticsFilter.STATISTICS_ATTRIBUTE) instanceof SqlStatistics statistics) {
+            fields.put("sqlStatements", statistics.statements());
+            fields.put("sqlTimeMs", TimeUnit.NANOSECONDS.toMicros(statistics.nanos()) / 1000.0);
+        }
+        fields.put("traceId", traceId);
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException ex) {
+            return fields.toString();
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.udb.letrasvivas.bookapi.logging;
+
+import java.util.Iterator;
+
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+/**
+ * Queue depth of every async log appender, as
+ * {@code bookapi.logging.queue.used{appender}}; a queue at capacity means
+ * log lines are being dropped
+ */
+@Component
+public class AsyncLoggingMetrics {
+
+    public AsyncLoggingMetrics(MetricsRegistry metricsRegistry) {
+        ILoggerFactory factory = LoggerFactory.getILoggerFactory();
+        if (!(factory instanceof LoggerContext context)) {
+            return;
+        }
+        for (Logger logger : context.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> appenders = logger.iteratorForAppenders();
+            while (appenders.hasNext()) {
+                if (appenders.next() instanceof AsyncAppenderBase<?> async) {
+                    metricsRegistry.gauge(async::getNumberOfElementsInQueue, "bookapi.logging.queue.used",
+                            "appender", async.getName());
+                    metricsRegistry.gauge(async::getQueueSize, "bookapi.logging.queue.capacity",
+                            "appender", async.getName());
+                }
+            }
+        }
+    }
+}
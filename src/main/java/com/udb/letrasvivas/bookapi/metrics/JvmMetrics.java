@@ -0,0 +1,54 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * JVM gauges read from the platform MXBeans: memory, garbage collection,
+ * threads, class loading and CPU
+ */
+@Component
+public class JvmMetrics {
+
+    public JvmMetrics(MetricsRegistry metricsRegistry) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        metricsRegistry.gauge(() -> memory.getHeapMemoryUsage().getUsed(), "jvm.memory.used", "area", "heap");
+        metricsRegistry.gauge(() -> memory.getHeapMemoryUsage().getCommitted(), "jvm.memory.committed",
+                "area", "heap");
+        metricsRegistry.gauge(() -> memory.getHeapMemoryUsage().getMax(), "jvm.memory.max", "area", "heap");
+        metricsRegistry.gauge(() -> memory.getNonHeapMemoryUsage().getUsed(), "jvm.memory.used", "area", "nonheap");
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            metricsRegistry.gauge(() -> pool.getUsage().getUsed(), "jvm.memory.pool.used", "pool", pool.getName());
+        }
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            metricsRegistry.gauge(collector::getCollectionCount, "jvm.gc.collections", "gc", collector.getName());
+            metricsRegistry.gauge(() -> collector.getCollectionTime() / 1000.0, "jvm.gc.pause.seconds",
+                    "gc", collector.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        metricsRegistry.gauge(threads::getThreadCount, "jvm.threads.live");
+        metricsRegistry.gauge(threads::getDaemonThreadCount, "jvm.threads.daemon");
+        metricsRegistry.gauge(threads::getPeakThreadCount, "jvm.threads.peak");
+
+        ClassLoadingMXBean classLoading = ManagementFactory.getClassLoadingMXBean();
+        metricsRegistry.gauge(classLoading::getLoadedClassCount, "jvm.classes.loaded");
+
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        metricsRegistry.gauge(os::getAvailableProcessors, "system.cpu.count");
+        metricsRegistry.gauge(os::getSystemLoadAverage, "system.load.average.1m");
+        if (os instanceof com.sun.management.OperatingSystemMXBean sunOs) {
+            metricsRegistry.gauge(sunOs::getProcessCpuLoad, "process.cpu.usage");
+        }
+        metricsRegistry.gauge(() -> ManagementFactory.getRuntimeMXBean().getUptime() / 1000.0,
+                "process.uptime.seconds");
+    }
+}
@@ -0,0 +1,61 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every {@code BookController} endpoint, {@code BookService} method and
+ * {@code BookRepository} query as {@code bookapi.<layer>.duration{method}}.
+ * <p>
+ * Outermost advice, so service timings include the transaction, caching and
+ * coalescing around the method. Timers are resolved once per method and
+ * kept, so a timed call costs two {@code nanoTime} reads and a histogram
+ * update.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class MethodTimingAspect {
+
+    private final MetricsRegistry metricsRegistry;
+    private final Map<Method, Timer> timers = new ConcurrentHashMap<>();
+
+    public MethodTimingAspect(MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Around("within(com.udb.letrasvivas.bookapi.book.controller.BookController)")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "bookapi.controller.duration");
+    }
+
+    @Around("within(com.udb.letrasvivas.bookapi.book.service.BookService)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "bookapi.service.duration");
+    }
+
+    @Around("target(com.udb.letrasvivas.bookapi.book.repository.BookRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, "bookapi.repository.duration");
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String timerName) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer timer = timers.computeIfAbsent(method, key -> metricsRegistry.timer(timerName, "method", key.getName()));
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            timer.record(System.nanoTime() - start);
+        }
+    }
+}
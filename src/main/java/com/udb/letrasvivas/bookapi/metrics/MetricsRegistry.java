@@ -0,0 +1,134 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Lightweight in-process registry for the application's own counters,
+ * gauges and timers. Meters are identified by name plus tags, rendered as
+ * {@code name{key="value",...}}; counters are backed by {@link LongAdder} and
+ * timers by a ring of {@link LatencyHistogram}s (see {@link Timer}), so
+ * recording never contends on a lock.
+ */
+@Component
+public class MetricsRegistry {
+
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Supplier<? extends Number>> gauges = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    /**
+     * Get (or create) the counter for the given name and tag pairs
+     */
+    public LongAdder counter(String name, String... tags) {
+        return counters.computeIfAbsent(meterId(name, tags), id -> new LongAdder());
+    }
+
+    /**
+     * Register a gauge sampled on every snapshot
+     */
+    public void gauge(Supplier<? extends Number> value, String name, String... tags) {
+        gauges.put(meterId(name, tags), value);
+    }
+
+    /**
+     * Get (or create) the timer for the given name and tag pairs; callers on
+     * a hot path should keep the returned timer rather than look it up again
+     */
+    public Timer timer(String name, String... tags) {
+        return timers.computeIfAbsent(meterId(name, tags), id -> new Timer());
+    }
+
+    /**
+     * Current value of every meter, sorted by meter id. Timers contribute
+     * their count, total and maximum in seconds, plus one entry per
+     * published quantile.
+     */
+    public Map<String, Number> snapshot() {
+        Map<String, Number> values = new TreeMap<>();
+        counters.forEach((id, counter) -> values.put(id, counter.sum()));
+        gauges.forEach((id, gauge) -> values.put(id, gauge.get()));
+        timers.forEach((id, timer) -> {
+            values.put(withSuffix(id, ".count"), timer.count());
+            values.put(withSuffix(id, ".sum"), timer.totalSeconds());
+            values.put(withSuffix(id, ".max"), timer.maxSeconds());
+            for (double quantile : Timer.QUANTILES) {
+                values.put(withQuantile(id, quantile), timer.percentileSeconds(quantile));
+            }
+        });
+        return values;
+    }
+
+    /**
+     * Every meter in the Prometheus text exposition format (version 0.0.4).
+     * Dots in names become underscores, counters get a {@code _total}
+     * suffix and timers are published as summaries in seconds.
+     */
+    public String scrape() {
+        Map<String, StringBuilder> families = new TreeMap<>();
+        counters.forEach((id, counter) -> sample(families, id, "counter", "_total", counter.sum()));
+        gauges.forEach((id, gauge) -> sample(families, id, "gauge", "", gauge.get()));
+        timers.forEach((id, timer) -> {
+            for (double quantile : Timer.QUANTILES) {
+                sample(families, withQuantile(id, quantile), "summary", "_seconds", timer.percentileSeconds(quantile));
+            }
+            sample(families, id, "summary", "_seconds_count", timer.count());
+            sample(families, id, "summary", "_seconds_sum", timer.totalSeconds());
+            sample(families, withSuffix(id, ".max"), "gauge", "_seconds", timer.maxSeconds());
+        });
+        StringBuilder text = new StringBuilder();
+        families.values().forEach(text::append);
+        return text.toString();
+    }
+
+    private static void sample(Map<String, StringBuilder> families, String id, String type, String suffix,
+            Number value) {
+        int labels = id.indexOf('{');
+        String name = (labels < 0 ? id : id.substring(0, labels)).replace('.', '_');
+        String family = type.equals("summary") ? name + "_seconds" : name + suffix;
+        families.computeIfAbsent(family + " " + type,
+                key -> new StringBuilder("# TYPE ").append(family).append(' ').append(type).append('\n'))
+                .append(name).append(suffix)
+                .append(labels < 0 ? "" : id.substring(labels))
+                .append(' ').append(format(value)).append('\n');
+    }
+
+    private static String format(Number value) {
+        return value instanceof Double || value instanceof Float
+                ? Double.toString(value.doubleValue())
+                : String.valueOf(value);
+    }
+
+    private static String withSuffix(String id, String suffix) {
+        int labels = id.indexOf('{');
+        return labels < 0 ? id + suffix : id.substring(0, labels) + suffix + id.substring(labels);
+    }
+
+    private static String withQuantile(String id, double quantile) {
+        String tag = "quantile=\"" + quantile + "\"";
+        return id.endsWith("}") ? id.substring(0, id.length() - 1) + "," + tag + "}" : id + "{" + tag + "}";
+    }
+
+    static String meterId(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs: " + String.join(",", tags));
+        }
+        if (tags.length == 0) {
+            return name;
+        }
+        StringBuilder id = new StringBuilder(name).append('{');
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0) {
+                id.append(',');
+            }
+            id.append(tags[i]).append("=\"").append(tags[i + 1]).append('"');
+        }
+        return id.append('}').toString();
+    }
+}
@@ -0,0 +1,107 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency distribution of one operation, recorded in nanoseconds.
+ * <p>
+ * Count and total cover everything since application start, so rates can be
+ * derived from them. Quantiles and the maximum only cover the last
+ * {@value #EXPIRY_MINUTES} minutes, so they follow current behaviour instead
+ * of being pinned by startup and warm-up: like Micrometer's
+ * {@code distributionStatisticExpiry} and {@code bufferLength}, every sample
+ * goes into a ring of {@value #BUFFER_LENGTH} histograms, and every
+ * {@code expiry / bufferLength} the oldest is cleared and starts over.
+ * Quantiles are read from the oldest, which has been collecting for most of
+ * the window.
+ */
+public class Timer {
+
+    /** Quantiles published with every timer */
+    static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    static final int EXPIRY_MINUTES = 2;
+    static final int BUFFER_LENGTH = 3;
+
+    private final LongSupplier clock;
+    private final long rotationNanos;
+    private final AtomicReferenceArray<LatencyHistogram> ring;
+    private final AtomicLong nextRotation;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private volatile int oldest;
+
+    public Timer() {
+        this(Duration.ofMinutes(EXPIRY_MINUTES), BUFFER_LENGTH, System::nanoTime);
+    }
+
+    Timer(Duration expiry, int bufferLength, LongSupplier clock) {
+        this.clock = clock;
+        this.rotationNanos = expiry.toNanos() / bufferLength;
+        this.ring = new AtomicReferenceArray<>(bufferLength);
+        for (int i = 0; i < bufferLength; i++) {
+            ring.set(i, new LatencyHistogram());
+        }
+        this.nextRotation = new AtomicLong(clock.getAsLong() + rotationNanos);
+    }
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        rotate();
+        for (int i = 0; i < ring.length(); i++) {
+            ring.get(i).record(nanos);
+        }
+        count.increment();
+        total.add(nanos);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double totalSeconds() {
+        return toSeconds(total.sum());
+    }
+
+    public double maxSeconds() {
+        return toSeconds(current().max());
+    }
+
+    public double percentileSeconds(double quantile) {
+        return toSeconds(current().percentile(quantile));
+    }
+
+    private LatencyHistogram current() {
+        rotate();
+        return ring.get(oldest);
+    }
+
+    /**
+     * Clear the oldest histogram once per elapsed rotation interval; one
+     * caller wins each interval, the others keep recording
+     */
+    private void rotate() {
+        long now = clock.getAsLong();
+        long next = nextRotation.get();
+        if (now - next < 0 || !nextRotation.compareAndSet(next, now + rotationNanos)) {
+            return;
+        }
+        long elapsed = Math.min((now - next) / rotationNanos + 1, ring.length());
+        for (long i = 0; i < elapsed; i++) {
+            int index = oldest;
+            ring.set(index, new LatencyHistogram());
+            oldest = (index + 1) % ring.length();
+        }
+    }
+
+    private static double toSeconds(long nanos) {
+        return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+}
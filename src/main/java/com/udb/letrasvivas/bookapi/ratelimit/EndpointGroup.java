@@ -0,0 +1,19 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+/**
+ * Endpoint groups with their own rate limits
+ */
+public enum EndpointGroup {
+
+    READS,
+    SEARCHES,
+    WRITES,
+
+    /** Multi-get and other endpoints that do many lookups per request */
+    BULK;
+
+    /** Lower-case name used in property keys and metric tags */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,32 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import java.time.Duration;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+public class RateLimitExceededException extends RuntimeException {
+
+    private final EndpointGroup group;
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(EndpointGroup group, Duration retryAfter) {
+        super("Rate limit exceeded for " + group.key() + " requests");
+        this.group = group;
+        this.retryAfter = retryAfter;
+    }
+
+    public EndpointGroup getGroup() {
+        return group;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /** Retry-After header value: whole seconds, rounded up, at least 1 */
+    public long getRetryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
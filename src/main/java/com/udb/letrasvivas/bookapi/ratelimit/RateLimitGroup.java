@@ -0,0 +1,19 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a controller method in a rate-limit group other than the one implied
+ * by its {@link com.udb.letrasvivas.bookapi.workload.Workload}
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RateLimitGroup {
+
+    EndpointGroup value();
+}
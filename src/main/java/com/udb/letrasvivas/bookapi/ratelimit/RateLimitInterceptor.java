@@ -0,0 +1,119 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client rate limiting. A client is its {@code X-API-Key} header when
+ * that key is one of {@code bookapi.ratelimit.api-keys}, otherwise its IP
+ * address; unknown keys are ignored, so a client cannot get fresh buckets
+ * by making keys up. Every client has one bucket per {@link EndpointGroup},
+ * limited by {@code bookapi.ratelimit.<group>.rate} (requests per second)
+ * and {@code .burst}.
+ * <p>
+ * The group comes from {@link RateLimitGroup}, else from the handler's
+ * {@link Workload}, else from the HTTP method.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    public static final String API_KEY_HEADER = "X-API-Key";
+
+    private final boolean enabled;
+    private final TokenBucketLimiter limiter;
+    private final Map<EndpointGroup, TokenBucketLimiter.Limit> limits = new EnumMap<>(EndpointGroup.class);
+    private final Map<EndpointGroup, LongAdder> rejected = new EnumMap<>(EndpointGroup.class);
+    private final Map<GroupKey, EndpointGroup> groups = new ConcurrentHashMap<>();
+    /** Bucket keys of each configured API key, by group ordinal */
+    private final Map<String, String[]> apiKeyBuckets = new HashMap<>();
+
+    public RateLimitInterceptor(Environment environment, ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.enabled = environment.getProperty("bookapi.ratelimit.enabled", Boolean.class, true);
+        this.limiter = new TokenBucketLimiter(
+                environment.getProperty("bookapi.ratelimit.max-clients", Integer.class, 100_000),
+                environment.getProperty("bookapi.ratelimit.idle-timeout", Duration.class, Duration.ofMinutes(10)));
+        for (EndpointGroup group : EndpointGroup.values()) {
+            String prefix = "bookapi.ratelimit." + group.key() + ".";
+            limits.put(group, new TokenBucketLimiter.Limit(
+                    environment.getProperty(prefix + "rate", Double.class, 50.0),
+                    environment.getProperty(prefix + "burst", Integer.class, 100)));
+            rejected.put(group, new LongAdder());
+        }
+        for (String apiKey : environment.getProperty("bookapi.ratelimit.api-keys", String[].class, new String[0])) {
+            if (StringUtils.hasText(apiKey)) {
+                String[] buckets = new String[EndpointGroup.values().length];
+                for (EndpointGroup group : EndpointGroup.values()) {
+                    buckets[group.ordinal()] = "key:" + apiKey.trim() + '|' + group.ordinal();
+                }
+                apiKeyBuckets.put(apiKey.trim(), buckets);
+            }
+        }
+        metricsRegistry.ifAvailable(registry -> {
+            registry.gauge(limiter::size, "bookapi.ratelimit.clients");
+            rejected.forEach((group, count) -> registry.gauge(count::sum, "bookapi.ratelimit.rejected",
+                    "group", group.key()));
+        });
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!enabled || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        // The HTTP method is part of the key: it decides the group of unannotated handlers
+        EndpointGroup group = groups.computeIfAbsent(new GroupKey(handlerMethod.getMethod(), request.getMethod()),
+                key -> resolveGroup(handlerMethod, request));
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        String[] keyBuckets = apiKey != null ? apiKeyBuckets.get(apiKey) : null;
+        String bucket = keyBuckets != null ? keyBuckets[group.ordinal()]
+                : "ip:" + request.getRemoteAddr() + '|' + group.ordinal();
+        long waitNanos = limiter.tryAcquire(bucket, limits.get(group), System.nanoTime());
+        if (waitNanos > 0) {
+            rejected.get(group).increment();
+            throw new RateLimitExceededException(group, Duration.ofNanos(waitNanos));
+        }
+        return true;
+    }
+
+    public TokenBucketLimiter limiter() {
+        return limiter;
+    }
+
+    private static EndpointGroup resolveGroup(HandlerMethod handlerMethod, HttpServletRequest request) {
+        RateLimitGroup explicit = handlerMethod.getMethodAnnotation(RateLimitGroup.class);
+        if (explicit != null) {
+            return explicit.value();
+        }
+        Workload workload = handlerMethod.getMethodAnnotation(Workload.class);
+        if (workload != null) {
+            return switch (workload.value()) {
+                case POINT_READ -> EndpointGroup.READS;
+                case SEARCH -> EndpointGroup.SEARCHES;
+                case WRITE -> EndpointGroup.WRITES;
+            };
+        }
+        return HttpMethod.GET.matches(request.getMethod()) ? EndpointGroup.READS : EndpointGroup.WRITES;
+    }
+
+    private record GroupKey(Method method, String httpMethod) {
+    }
+}
@@ -0,0 +1,77 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.udb.letrasvivas.bookapi.cache.BoundedExpiringMap;
+
+/**
+ * Token buckets keyed by client, implemented with the generic cell rate
+ * algorithm: each bucket is a single {@link AtomicLong} holding the
+ * theoretical arrival time of the next request, updated with a CAS loop, so
+ * checking a limit never takes a lock.
+ * Buckets live in a bounded map and are dropped after being idle, which is
+ * safe because an idle bucket is full anyway.
+ */
+public class TokenBucketLimiter {
+
+    private final BoundedExpiringMap<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(int maximumClients, Duration idleTimeout) {
+        this.buckets = new BoundedExpiringMap<>(maximumClients, null, idleTimeout);
+    }
+
+    /**
+     * Take one token from the bucket for {@code key}
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a
+     *         token will be available
+     */
+    public long tryAcquire(String key, Limit limit, long nowNanos) {
+        AtomicLong arrival = buckets.get(key);
+        if (arrival == null) {
+            arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(nowNanos));
+        }
+        long interval = limit.intervalNanos();
+        long tolerance = limit.toleranceNanos();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + interval;
+            long wait = next - nowNanos - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public void cleanUp() {
+        buckets.cleanUp();
+    }
+
+    /**
+     * Sustained rate in requests per second plus the burst allowed on top
+     */
+    public record Limit(double ratePerSecond, int burst) {
+
+        public Limit {
+            if (ratePerSecond <= 0 || burst < 1) {
+                throw new IllegalArgumentException("Rate and burst must be positive");
+            }
+        }
+
+        long intervalNanos() {
+            return (long) (1_000_000_000L / ratePerSecond);
+        }
+
+        long toleranceNanos() {
+            return intervalNanos() * burst;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * <p>
+ * After {@code failureThreshold} consecutive failures the circuit opens and
+ * every call is refused at once for {@code openDuration}. Then a single trial
+ * call is let through (half-open): success closes the circuit, failure opens
+ * it again. While closed, admitting a call is a single volatile read.
+ */
+public class CircuitBreaker {
+
+    /**
+     * Circuit states; the ordinal is the value of the state gauge
+     */
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final List<Runnable> closeListeners = new CopyOnWriteArrayList<>();
+    private volatile State state = State.CLOSED;
+    private long openedAtNanos;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("failureThreshold must be positive");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Whether a call may go ahead; a caller that gets {@code true} must
+     * report the outcome with {@link #recordSuccess()} or
+     * {@link #recordFailure(long)}
+     */
+    public boolean tryAcquire(long nowNanos) {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && nowNanos - openedAtNanos >= openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            return false;
+        }
+    }
+
+    public void recordSuccess() {
+        if (state == State.CLOSED) {
+            if (consecutiveFailures.get() != 0) {
+                consecutiveFailures.set(0);
+            }
+            return;
+        }
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return;
+            }
+            state = State.CLOSED;
+            trialInFlight = false;
+            consecutiveFailures.set(0);
+        }
+        closeListeners.forEach(Runnable::run);
+    }
+
+    public void recordFailure(long nowNanos) {
+        if (state == State.CLOSED && consecutiveFailures.incrementAndGet() < failureThreshold) {
+            return;
+        }
+        synchronized (this) {
+            if (state == State.OPEN) {
+                return;
+            }
+            state = State.OPEN;
+            openedAtNanos = nowNanos;
+            trialInFlight = false;
+        }
+    }
+
+    /**
+     * Seconds until the next trial call, at least one
+     */
+    public synchronized long retryAfterSeconds(long nowNanos) {
+        long remaining = state == State.OPEN ? openNanos - (nowNanos - openedAtNanos) : 0;
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(remaining + 999_999_999L));
+    }
+
+    /**
+     * Run {@code listener} every time the circuit closes after being open
+     */
+    public void onClose(Runnable listener) {
+        closeListeners.add(listener);
+    }
+
+    public State state() {
+        return state;
+    }
+}
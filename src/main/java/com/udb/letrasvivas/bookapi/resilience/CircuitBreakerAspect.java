@@ -0,0 +1,75 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Guards every {@link com.udb.letrasvivas.bookapi.book.repository.BookRepository}
+ * call with the database {@link CircuitBreaker}. Only failures that mean the
+ * database cannot be reached count against the circuit; constraint
+ * violations, timeouts and the like do not. While the circuit is open, calls
+ * fail with {@link CircuitOpenException} instead of waiting for a connection.
+ */
+@Slf4j
+@Aspect
+@Component
+public class CircuitBreakerAspect {
+
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerAspect(CircuitBreaker circuitBreaker, MetricsRegistry metricsRegistry) {
+        this.circuitBreaker = circuitBreaker;
+        metricsRegistry.gauge(() -> circuitBreaker.state().ordinal(), "bookapi.circuit.state");
+        circuitBreaker.onClose(() -> log.info("Database circuit closed"));
+    }
+
+    @Around("target(com.udb.letrasvivas.bookapi.book.repository.BookRepository)")
+    public Object guard(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!circuitBreaker.tryAcquire(System.nanoTime())) {
+            throw new CircuitOpenException(circuitBreaker.retryAfterSeconds(System.nanoTime()));
+        }
+        try {
+            Object result = joinPoint.proceed();
+            circuitBreaker.recordSuccess();
+            return result;
+        } catch (Throwable ex) {
+            if (isDatabaseUnavailable(ex)) {
+                circuitBreaker.recordFailure(System.nanoTime());
+                if (circuitBreaker.state() == CircuitBreaker.State.OPEN) {
+                    log.warn("Database circuit open: {}", ex.getMessage());
+                }
+            } else {
+                circuitBreaker.recordSuccess();
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Whether {@code ex}, or one of its causes, means the database could not
+     * be reached
+     */
+    static boolean isDatabaseUnavailable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof org.hibernate.exception.JDBCConnectionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,20 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import org.springframework.dao.DataAccessResourceFailureException;
+
+/**
+ * Thrown instead of calling the database while its circuit is open
+ */
+public class CircuitOpenException extends DataAccessResourceFailureException {
+
+    private final long retryAfterSeconds;
+
+    public CircuitOpenException(long retryAfterSeconds) {
+        super("Database circuit is open");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,139 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.udb.letrasvivas.bookapi.cache.BoundedExpiringMap;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves the last known good result of {@link StaleIfError} methods while
+ * the database is unavailable.
+ * <p>
+ * Every successful call records its result. A call that fails because the
+ * database cannot be reached (including an open circuit) gets the recorded
+ * result instead, and the response is marked with a {@code Warning: 110}
+ * header and an {@code Age} header in seconds. Results served stale are
+ * refreshed in the background as soon as the database circuit closes again.
+ * Runs outside coalescing and the transaction, like
+ * {@link com.udb.letrasvivas.bookapi.coalescing.CoalescingAspect}.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(StaleIfErrorAspect.ORDER)
+public class StaleIfErrorAspect implements DisposableBean {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 10;
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    private final BoundedExpiringMap<InvocationKey, LastGood> lastGood;
+    private final Map<InvocationKey, Object> servedStale = new ConcurrentHashMap<>();
+    private final MetricsRegistry metricsRegistry;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "stale-refresh");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public StaleIfErrorAspect(CircuitBreaker circuitBreaker, MetricsRegistry metricsRegistry,
+            @Value("${bookapi.resilience.stale.maximum-size:1000}") int maximumSize,
+            @Value("${bookapi.resilience.stale.max-age:1h}") Duration maxAge) {
+        this.lastGood = new BoundedExpiringMap<>(maximumSize, maxAge, null);
+        this.metricsRegistry = metricsRegistry;
+        circuitBreaker.onClose(() -> refresher.execute(this::refreshServedStale));
+    }
+
+    @Around("@annotation(com.udb.letrasvivas.bookapi.resilience.StaleIfError)")
+    public Object serveStaleIfError(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        InvocationKey key = new InvocationKey(
+                ((MethodSignature) joinPoint.getSignature()).getMethod(), Arrays.asList(joinPoint.getArgs()));
+        Object result;
+        try {
+            result = joinPoint.proceed();
+        } catch (Throwable ex) {
+            LastGood stale = CircuitBreakerAspect.isDatabaseUnavailable(ex) ? lastGood.get(key) : null;
+            if (stale == null) {
+                throw ex;
+            }
+            servedStale.put(key, joinPoint.getThis());
+            markStale(stale);
+            metricsRegistry.counter("bookapi.stale.served", "method", key.method().getName()).increment();
+            return stale.value();
+        }
+        if (result != null) {
+            lastGood.put(key, new LastGood(result, System.nanoTime()));
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        refresher.shutdownNow();
+    }
+
+    /**
+     * Re-run every call that was answered from stale data, through the bean
+     * proxy, so its next caller gets fresh data
+     */
+    void refreshServedStale() {
+        for (Map.Entry<InvocationKey, Object> entry : servedStale.entrySet()) {
+            InvocationKey key = entry.getKey();
+            servedStale.remove(key, entry.getValue());
+            try {
+                key.method().invoke(entry.getValue(), key.args().toArray());
+            } catch (InvocationTargetException ex) {
+                log.debug("Could not refresh {}: {}", key.method().getName(), ex.getTargetException().getMessage());
+            } catch (IllegalAccessException ex) {
+                log.warn("Could not refresh {}", key.method().getName(), ex);
+            }
+        }
+    }
+
+    int servedStaleCount() {
+        return servedStale.size();
+    }
+
+    private static void markStale(LastGood stale) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                && attributes.getResponse() != null) {
+            long ageSeconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - stale.storedAtNanos());
+            attributes.getResponse().setHeader(HttpHeaders.WARNING, STALE_WARNING);
+            attributes.getResponse().setHeader(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        }
+    }
+
+    record InvocationKey(Method method, List<Object> args) {
+    }
+
+    private record LastGood(Object value, long storedAtNanos) {
+    }
+}
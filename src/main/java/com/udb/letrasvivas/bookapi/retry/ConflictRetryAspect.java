@@ -0,0 +1,107 @@
+package com.udb.letrasvivas.bookapi.retry;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.udb.letrasvivas.bookapi.deadline.Deadline;
+import com.udb.letrasvivas.bookapi.jfr.WriteConflictEvent;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Re-runs {@link RetryOnConflict} methods that fail with an
+ * {@link OptimisticLockingFailureException}, up to
+ * {@code bookapi.retry.max-attempts} attempts in total.
+ * <p>
+ * Runs outside the transaction interceptor, so every attempt is a new
+ * transaction that re-reads the current version. Between attempts it
+ * sleeps a random time up to an exponentially growing, capped backoff
+ * ("full jitter"), which spreads competing writers apart instead of having
+ * them collide again in lockstep. It never sleeps past the request
+ * deadline. Calls made inside an existing transaction are not retried,
+ * because the conflict has already doomed the outer transaction.
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(ConflictRetryAspect.ORDER)
+public class ConflictRetryAspect {
+
+    public static final int ORDER = Ordered.HIGHEST_PRECEDENCE + 30;
+
+    private final MetricsRegistry metricsRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+
+    public ConflictRetryAspect(MetricsRegistry metricsRegistry,
+            @Value("${bookapi.retry.max-attempts:4}") int maxAttempts,
+            @Value("${bookapi.retry.initial-backoff:10ms}") Duration initialBackoff,
+            @Value("${bookapi.retry.max-backoff:200ms}") Duration maxBackoff) {
+        this.metricsRegistry = metricsRegistry;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    @Around("@annotation(com.udb.letrasvivas.bookapi.retry.RetryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        String method = joinPoint.getSignature().getName();
+        metricsRegistry.counter("bookapi.retry.calls", "method", method).increment();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException ex) {
+                metricsRegistry.counter("bookapi.retry.conflicts", "method", method).increment();
+                long backoffNanos = backoffNanos(attempt);
+                if (attempt >= maxAttempts || !fitsDeadline(backoffNanos)) {
+                    WriteConflictEvent.emit(method, attempt, false);
+                    metricsRegistry.counter("bookapi.retry.exhausted", "method", method).increment();
+                    log.warn("Giving up on {} after {} conflicting attempts", method, attempt);
+                    throw ex;
+                }
+                WriteConflictEvent.emit(method, attempt, true);
+                metricsRegistry.counter("bookapi.retry.retries", "method", method).increment();
+                log.debug("Conflict in {} (attempt {}), retrying in {} us", method, attempt,
+                        TimeUnit.NANOSECONDS.toMicros(backoffNanos));
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    /**
+     * Random backoff in {@code [0, min(maxBackoff, initialBackoff * 2^(attempt-1))]}
+     */
+    long backoffNanos(int attempt) {
+        long ceiling = initialBackoffNanos << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxBackoffNanos) {
+            ceiling = maxBackoffNanos;
+        }
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean fitsDeadline(long backoffNanos) {
+        Deadline deadline = Deadline.current();
+        return deadline == null || deadline.remainingNanos() > backoffNanos;
+    }
+}
@@ -0,0 +1,18 @@
+package com.udb.letrasvivas.bookapi.retry;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a transactional method that is safe to run again from the start
+ * when its transaction fails with an optimistic locking conflict: it reads
+ * what it needs inside the transaction and has no side effects outside it.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RetryOnConflict {
+}
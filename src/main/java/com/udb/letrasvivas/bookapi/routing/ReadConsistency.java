@@ -0,0 +1,28 @@
+package com.udb.letrasvivas.bookapi.routing;
+
+/**
+ * Holds the consistency token sent by the client for the current request.
+ * The token is the primary's log position returned on an earlier write;
+ * reads bound to it are only served by replicas that have caught up.
+ */
+public final class ReadConsistency {
+
+    public static final String HEADER = "X-Consistency-Token";
+
+    private static final ThreadLocal<String> REQUIRED_POSITION = new ThreadLocal<>();
+
+    private ReadConsistency() {
+    }
+
+    public static String requiredPosition() {
+        return REQUIRED_POSITION.get();
+    }
+
+    static void require(String position) {
+        REQUIRED_POSITION.set(position);
+    }
+
+    static void clear() {
+        REQUIRED_POSITION.remove();
+    }
+}
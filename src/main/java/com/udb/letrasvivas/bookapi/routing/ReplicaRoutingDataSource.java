@@ -0,0 +1,254 @@
+package com.udb.letrasvivas.bookapi.routing;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends read-only transactions to a healthy replica, round-robin, and
+ * everything else to the primary.
+ * <p>
+ * The routing key is read when the first statement needs a connection, so
+ * this data source must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy};
+ * otherwise the transaction manager fetches the connection before the
+ * read-only flag is bound.
+ * <p>
+ * With read-your-writes enabled, every committed write publishes the
+ * primary's log position as a {@link ReadConsistency#HEADER} response
+ * header. A read carrying that token only goes to a replica that has
+ * replayed at least that far, and falls back to the primary otherwise.
+ * Replay positions are cached: the health check records them, and a replica
+ * that looks behind is asked again at most once per
+ * {@link ConsistencySettings#positionRefresh()}, so reads do not pay for a
+ * position query each.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Duration healthCheckInterval;
+    private final ConsistencySettings consistency;
+    private final MetricsRegistry metricsRegistry;
+    private ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicaDataSources,
+            Duration healthCheckInterval, ConsistencySettings consistency, MetricsRegistry metricsRegistry) {
+        this.primary = primary;
+        this.replicas = IntStream.range(0, replicaDataSources.size())
+                .mapToObj(i -> new Replica("replica-" + i, replicaDataSources.get(i)))
+                .toList();
+        this.healthCheckInterval = healthCheckInterval;
+        this.consistency = consistency;
+        this.metricsRegistry = metricsRegistry;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        replicas.forEach(replica -> targets.put(replica.name, replica.dataSource));
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        metricsRegistry.gauge(this::healthyReplicaCount, "bookapi.routing.replicas.healthy");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (!replicas.isEmpty() && !healthCheckInterval.isZero()) {
+            healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "replica-health-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long intervalMillis = healthCheckInterval.toMillis();
+            healthChecker.scheduleWithFixedDelay(this::checkReplicas, intervalMillis, intervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            publishPositionAfterCommit();
+            return route(PRIMARY);
+        }
+        String requiredPosition = consistency.enabled() ? ReadConsistency.requiredPosition() : null;
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy && (requiredPosition == null || hasReplayed(replica, requiredPosition))) {
+                return route(replica.name);
+            }
+        }
+        return route(PRIMARY);
+    }
+
+    /**
+     * Probe every replica and update its health flag
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(1);
+                if (healthy && consistency.enabled()) {
+                    replica.position = queryPosition(connection, consistency.replicaPositionQuery());
+                    replica.positionReadAt.set(System.nanoTime());
+                }
+            } catch (SQLException ex) {
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public int healthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private String route(String target) {
+        metricsRegistry.counter("bookapi.routing.connections", "target", target.equals(PRIMARY) ? PRIMARY : "replica")
+                .increment();
+        return target;
+    }
+
+    /**
+     * Whether the replica's cached replay position is at least
+     * {@code requiredPosition}; when it is not, one caller per refresh
+     * interval reads the position again
+     */
+    private boolean hasReplayed(Replica replica, String requiredPosition) {
+        try {
+            if (compareLsn(replica.position, requiredPosition) >= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            long readAt = replica.positionReadAt.get();
+            if (now - readAt < consistency.positionRefresh().toNanos()
+                    || !replica.positionReadAt.compareAndSet(readAt, now)) {
+                return false;
+            }
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.position = queryPosition(connection, consistency.replicaPositionQuery());
+            }
+            return compareLsn(replica.position, requiredPosition) >= 0;
+        } catch (SQLException | IllegalArgumentException ex) {
+            log.debug("Could not read replay position of {}: {}", replica.name, ex.getMessage());
+            return false;
+        }
+    }
+
+    private void publishPositionAfterCommit() {
+        if (!consistency.enabled() || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)
+                || attributes.getResponse() == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try (Connection connection = primary.getConnection()) {
+                    String position = queryPosition(connection, consistency.primaryPositionQuery());
+                    attributes.getResponse().setHeader(ReadConsistency.HEADER, position);
+                } catch (SQLException ex) {
+                    log.warn("Could not read primary log position: {}", ex.getMessage());
+                }
+            }
+        });
+    }
+
+    private static String queryPosition(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement();
+                ResultSet resultSet = statement.executeQuery(query)) {
+            return resultSet.next() ? resultSet.getString(1) : null;
+        }
+    }
+
+    /**
+     * Compare two Postgres log sequence numbers written as {@code hi/lo} in
+     * hexadecimal
+     */
+    static int compareLsn(String left, String right) {
+        if (left == null) {
+            return -1;
+        }
+        return Long.compareUnsigned(parseLsn(left), parseLsn(right));
+    }
+
+    private static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Invalid log sequence number: " + lsn);
+        }
+        return (Long.parseLong(lsn.substring(0, slash), 16) << 32) | Long.parseLong(lsn.substring(slash + 1), 16);
+    }
+
+    /**
+     * Read-your-writes settings; the queries must return the position as text,
+     * and {@code positionRefresh} is how often at most a lagging replica's
+     * position is read outside the health check
+     */
+    public record ConsistencySettings(boolean enabled, String primaryPositionQuery, String replicaPositionQuery,
+            Duration positionRefresh) {
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        // Far enough in the past that the first read with a token may refresh
+        private final AtomicLong positionReadAt = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+        private volatile boolean healthy = true;
+        private volatile String position;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package com.udb.letrasvivas.bookapi.snapshot;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * A read-only, memory-mapped copy of the catalog: every book, sorted by ID,
+ * with the time up to which it reflects the database (its watermark).
+ * Opening a snapshot only maps the file, checks its checksum and indexes
+ * the IDs; books are decoded from the mapping when they are read.
+ * <p>
+ * File layout, big-endian: a {@value #HEADER_SIZE}-byte header (magic,
+ * format version, book count, watermark, body length, CRC32C of the body)
+ * followed by one length-prefixed record per book. Files larger than a
+ * single mapping can address are mapped in segments. Snapshots are written
+ * to a temporary file next to the target and renamed over it only once
+ * complete and synced, so a crash leaves either the old or the new file.
+ */
+public final class CatalogSnapshot {
+
+    static final long MAGIC = 0x4C56_534E_4150_0001L;
+    static final int FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 48;
+    static final String TEMP_SUFFIX = ".tmp";
+
+    private static final int NULL = -1;
+
+    /** Largest mapping; files beyond it are mapped in several segments */
+    static final int MAX_SEGMENT_SIZE = 1 << 30;
+
+    private final Path path;
+    private final MappedByteBuffer[] segments;
+    private final long[] segmentStarts;
+    private final LocalDateTime watermark;
+    private final long[] ids;
+    private final long[] offsets;
+
+    private CatalogSnapshot(Path path, MappedByteBuffer[] segments, long[] segmentStarts, LocalDateTime watermark,
+            long[] ids, long[] offsets) {
+        this.path = path;
+        this.segments = segments;
+        this.segmentStarts = segmentStarts;
+        this.watermark = watermark;
+        this.ids = ids;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Map and verify a snapshot file
+     *
+     * @throws IOException if the file cannot be read, is truncated, or its
+     *                     checksum does not match
+     */
+    public static CatalogSnapshot open(Path path) throws IOException {
+        return open(path, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Map the file in segments of at most {@code maxSegmentSize} bytes, each
+     * ending on a record boundary so no record spans two mappings
+     */
+    static CatalogSnapshot open(Path path, int maxSegmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Not a catalog snapshot (size " + size + "): " + path);
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            channel.read(header, 0);
+            if (header.getLong(0) != MAGIC || header.getInt(8) != FORMAT_VERSION) {
+                throw new IOException("Not a catalog snapshot, or an unsupported version: " + path);
+            }
+            int count = header.getInt(12);
+            LocalDateTime watermark = readTimestamp(header, 16);
+            long bodyLength = header.getLong(28);
+            long checksum = header.getLong(36);
+            if (bodyLength != size - HEADER_SIZE || count < 0) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+
+            List<MappedByteBuffer> segments = new ArrayList<>();
+            List<Long> segmentStarts = new ArrayList<>();
+            CRC32C crc = new CRC32C();
+            long[] ids = new long[count];
+            long[] offsets = new long[count];
+            long segmentStart = HEADER_SIZE;
+            MappedByteBuffer segment = null;
+            long offset = HEADER_SIZE;
+            for (int i = 0; i < count; i++) {
+                if (offset + Integer.BYTES + Long.BYTES > size) {
+                    throw new IOException("Truncated catalog snapshot: " + path);
+                }
+                if (segment == null || offset + Integer.BYTES > segmentStart + segment.limit()) {
+                    segment = map(channel, offset, size, maxSegmentSize, segments, segmentStarts);
+                    segmentStart = offset;
+                }
+                int length = segment.getInt((int) (offset - segmentStart));
+                if (length < Long.BYTES || offset + Integer.BYTES + length > size) {
+                    throw new IOException("Truncated catalog snapshot: " + path);
+                }
+                if (offset + Integer.BYTES + length > segmentStart + segment.limit()) {
+                    // The record continues past this mapping; start the next one with it
+                    segment = map(channel, offset, size, maxSegmentSize, segments, segmentStarts);
+                    segmentStart = offset;
+                    if (Integer.BYTES + length > segment.limit()) {
+                        throw new IOException("Record larger than a segment in catalog snapshot: " + path);
+                    }
+                }
+                offsets[i] = offset + Integer.BYTES;
+                ids[i] = segment.getLong((int) (offsets[i] - segmentStart));
+                if (i > 0 && ids[i] <= ids[i - 1]) {
+                    throw new IOException("Catalog snapshot is not sorted by ID: " + path);
+                }
+                offset += Integer.BYTES + length;
+            }
+            if (offset != size) {
+                throw new IOException("Truncated catalog snapshot: " + path);
+            }
+            if (segment != null) {
+                // The last mapping may run past the final record; only checksum the records
+                segments.set(segments.size() - 1, segment.slice(0, (int) (offset - segmentStart)));
+            }
+            segments.forEach(crc::update);
+            if (crc.getValue() != checksum) {
+                throw new IOException("Checksum mismatch in catalog snapshot: " + path);
+            }
+            return new CatalogSnapshot(path, segments.toArray(MappedByteBuffer[]::new),
+                    segmentStarts.stream().mapToLong(Long::longValue).toArray(), watermark, ids, offsets);
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, long position, long size, int maxSegmentSize,
+            List<MappedByteBuffer> segments, List<Long> segmentStarts) throws IOException {
+        if (!segments.isEmpty()) {
+            // Trim the previous mapping to the records it holds, so each byte is checksummed once
+            int last = segments.size() - 1;
+            segments.set(last, segments.get(last).slice(0, (int) (position - segmentStarts.get(last))));
+        }
+        MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                Math.min(maxSegmentSize, size - position));
+        segments.add(segment);
+        segmentStarts.add(position);
+        return segment;
+    }
+
+    /**
+     * Start writing a snapshot to {@code path}; nothing is visible there
+     * until {@link Writer#commit()}
+     */
+    public static Writer write(Path path, LocalDateTime watermark) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, path.getFileName().toString() + ".", TEMP_SUFFIX);
+        return new Writer(path, temp, watermark);
+    }
+
+    /**
+     * The book with this ID as of the watermark, or {@code null} if the
+     * snapshot does not contain it
+     */
+    public Book find(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index >= 0 ? decode(offsets[index]) : null;
+    }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    /**
+     * Visit every book in ID order
+     */
+    public void forEach(Consumer<Book> action) {
+        for (long offset : offsets) {
+            action.accept(decode(offset));
+        }
+    }
+
+    /**
+     * Visit every ID in ascending order
+     */
+    public void forEachId(LongConsumer action) {
+        for (long id : ids) {
+            action.accept(id);
+        }
+    }
+
+    /**
+     * The ID at this position, in ascending order
+     */
+    public long idAt(int index) {
+        return ids[index];
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public LocalDateTime watermark() {
+        return watermark;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    private Book decode(long offset) {
+        int segment = Arrays.binarySearch(segmentStarts, offset);
+        if (segment < 0) {
+            segment = -segment - 2;
+        }
+        ByteBuffer buffer = segments[segment];
+        int position = (int) (offset - segmentStarts[segment]);
+        Book book = new Book();
+        book.setId(buffer.getLong(position));
+        book.setVersion(buffer.getLong(position + 8));
+        book.setPublicationYear(nullable(buffer.getInt(position + 16)));
+        book.setPageCount(nullable(buffer.getInt(position + 20)));
+        byte available = buffer.get(position + 24);
+        book.setIsAvailable(available == NULL ? null : available == 1);
+        book.setCreatedAt(readTimestamp(buffer, position + 25));
+        book.setUpdatedAt(readTimestamp(buffer, position + 37));
+        position += 49;
+        int scale = buffer.get(position);
+        int priceLength = buffer.get(position + 1);
+        position += 2;
+        if (priceLength != NULL) {
+            byte[] unscaled = new byte[priceLength];
+            buffer.get(position, unscaled);
+            book.setPrice(new BigDecimal(new BigInteger(unscaled), scale));
+            position += priceLength;
+        }
+        String[] text = new String[4];
+        for (int i = 0; i < text.length; i++) {
+            int length = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (length != NULL) {
+                byte[] bytes = new byte[length];
+                buffer.get(position, bytes);
+                text[i] = new String(bytes, StandardCharsets.UTF_8);
+                position += length;
+            }
+        }
+        book.setTitle(text[0]);
+        book.setAuthor(text[1]);
+        book.setGenre(text[2]);
+        book.setDescription(text[3]);
+        return book;
+    }
+
+    private static Integer nullable(int value) {
+        return value == Integer.MIN_VALUE ? null : value;
+    }
+
+    private static LocalDateTime readTimestamp(ByteBuffer buffer, int position) {
+        long seconds = buffer.getLong(position);
+        return seconds == Long.MIN_VALUE ? null
+                : LocalDateTime.ofEpochSecond(seconds, buffer.getInt(position + 8), ZoneOffset.UTC);
+    }
+
+    /**
+     * Streams books, in ascending ID order, into a temporary file and
+     * atomically replaces the snapshot with it on {@link #commit()}
+     */
+    public static final class Writer implements AutoCloseable {
+
+        private final Path target;
+        private final Path temp;
+        private final LocalDateTime watermark;
+        private final FileChannel channel;
+        private final CRC32C crc = new CRC32C();
+        private final DataOutputStream out;
+        private final ByteArrayRecord record = new ByteArrayRecord();
+        private int count;
+        private long bodyLength;
+        private long lastId = Long.MIN_VALUE;
+        private boolean committed;
+
+        private Writer(Path target, Path temp, LocalDateTime watermark) throws IOException {
+            this.target = target;
+            this.temp = temp;
+            this.watermark = watermark;
+            this.channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+            channel.position(HEADER_SIZE);
+            OutputStream body = new CheckedOutputStream(Channels.newOutputStream(channel), crc);
+            this.out = new DataOutputStream(new BufferedOutputStream(body, 1 << 16));
+        }
+
+        public void add(Book book) throws IOException {
+            if (book.getId() <= lastId) {
+                throw new IllegalArgumentException("Books must be added in ascending ID order, got "
+                        + book.getId() + " after " + lastId);
+            }
+            lastId = book.getId();
+            record.reset();
+            DataOutputStream fields = record.stream;
+            fields.writeLong(book.getId());
+            fields.writeLong(book.getVersion() != null ? book.getVersion() : 0);
+            fields.writeInt(book.getPublicationYear() != null ? book.getPublicationYear() : Integer.MIN_VALUE);
+            fields.writeInt(book.getPageCount() != null ? book.getPageCount() : Integer.MIN_VALUE);
+            fields.writeByte(book.getIsAvailable() == null ? NULL : book.getIsAvailable() ? 1 : 0);
+            writeTimestamp(fields, book.getCreatedAt());
+            writeTimestamp(fields, book.getUpdatedAt());
+            if (book.getPrice() == null) {
+                fields.writeByte(0);
+                fields.writeByte(NULL);
+            } else {
+                byte[] unscaled = book.getPrice().unscaledValue().toByteArray();
+                fields.writeByte(book.getPrice().scale());
+                fields.writeByte(unscaled.length);
+                fields.write(unscaled);
+            }
+            writeText(fields, book.getTitle());
+            writeText(fields, book.getAuthor());
+            writeText(fields, book.getGenre());
+            writeText(fields, book.getDescription());
+
+            out.writeInt(record.size());
+            record.writeTo(out);
+            bodyLength += Integer.BYTES + record.size();
+            count++;
+        }
+
+        /**
+         * Write the header, sync the file and rename it over the target
+         */
+        public void commit() throws IOException {
+            out.flush();
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putLong(MAGIC).putInt(FORMAT_VERSION).putInt(count);
+            header.putLong(watermark.toEpochSecond(ZoneOffset.UTC)).putInt(watermark.getNano());
+            header.putLong(bodyLength).putLong(crc.getValue());
+            header.flip();
+            channel.write(header, 0);
+            channel.force(true);
+            channel.close();
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            committed = true;
+            syncDirectory(target.toAbsolutePath().getParent());
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /**
+         * Discard the temporary file unless the snapshot was committed
+         */
+        @Override
+        public void close() throws IOException {
+            if (!committed) {
+                channel.close();
+                Files.deleteIfExists(temp);
+            }
+        }
+
+        private static void writeTimestamp(DataOutputStream out, LocalDateTime timestamp) throws IOException {
+            out.writeLong(timestamp == null ? Long.MIN_VALUE : timestamp.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(timestamp == null ? 0 : timestamp.getNano());
+        }
+
+        private static void writeText(DataOutputStream out, String text) throws IOException {
+            if (text == null) {
+                out.writeInt(NULL);
+                return;
+            }
+            byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        /**
+         * Make the rename itself durable; not every platform can open a
+         * directory for this
+         */
+        private static void syncDirectory(Path directory) {
+            try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+                dir.force(true);
+            } catch (IOException ignored) {
+                // Best effort
+            }
+        }
+    }
+
+    /**
+     * Reusable buffer for one record, so its length can be written first
+     */
+    private static final class ByteArrayRecord extends ByteArrayOutputStream {
+
+        private final DataOutputStream stream = new DataOutputStream(this);
+    }
+}
@@ -0,0 +1,425 @@
+package com.udb.letrasvivas.bookapi.snapshot;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookMapper;
+import com.udb.letrasvivas.bookapi.cache.ReadThroughCache;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.workload.WorkloadContext;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves point reads from a {@link CatalogSnapshot} on local disk, so a
+ * restarted instance answers from a warm copy of the catalog right away
+ * instead of loading it from the database.
+ * <p>
+ * On startup the last snapshot is mapped and used immediately (unless it is
+ * older than {@code max-age}). Once the application is ready, rows with an
+ * {@code updated_at} after the snapshot's watermark are read into an overlay
+ * and books deleted since are dropped; from then on the overlay is
+ * refreshed every {@code catch-up-interval}, and deletions made elsewhere
+ * are found by comparing IDs every {@code reconcile-interval}, which bounds
+ * how long a deleted book can be served. Every {@code write-interval},
+ * and on shutdown, snapshot and overlay are merged into a new snapshot
+ * without touching the database. Without a snapshot, the first one is
+ * built with a single scan of the table.
+ * <p>
+ * Local writes invalidate their book through the book cache, so it is read
+ * from the database until the next catch-up brings it back. Books served
+ * from here are not copied into the book cache, so a catch-up or
+ * reconciliation takes effect on the next read.
+ */
+@Slf4j
+public class CatalogSnapshotStore implements ReadThroughCache.Source, DisposableBean {
+
+    static final String COLUMNS = "id, title, author, publication_year, description, genre, page_count, price, "
+            + "is_available, created_at, updated_at, version";
+
+    private final Path path;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration catchUpInterval;
+    private final Duration writeInterval;
+    private final Duration reconcileInterval;
+    private final Duration overlap;
+    private final Duration maxAge;
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    /** Books changed since the snapshot; a {@code null} book means "ask the database" */
+    private final Map<Long, Entry> overlay = new ConcurrentHashMap<>();
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile LocalDateTime caughtUpTo;
+    private volatile boolean caughtUp;
+    private ScheduledExecutorService scheduler;
+
+    public CatalogSnapshotStore(Path path, JdbcTemplate jdbcTemplate, TransactionTemplate readOnlyTransaction,
+            Duration catchUpInterval, Duration writeInterval, Duration reconcileInterval, Duration overlap,
+            Duration maxAge, MetricsRegistry metricsRegistry) {
+        this.path = path;
+        this.jdbcTemplate = jdbcTemplate;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.catchUpInterval = catchUpInterval;
+        this.writeInterval = writeInterval;
+        this.reconcileInterval = reconcileInterval;
+        this.overlap = overlap;
+        this.maxAge = maxAge;
+        this.hits = metricsRegistry.counter("bookapi.snapshot.reads", "result", "hit");
+        this.misses = metricsRegistry.counter("bookapi.snapshot.reads", "result", "miss");
+        metricsRegistry.gauge(() -> snapshot != null ? snapshot.size() : 0, "bookapi.snapshot.books");
+        metricsRegistry.gauge(overlay::size, "bookapi.snapshot.overlay.books");
+        metricsRegistry.gauge(() -> caughtUpTo != null ? Duration.between(caughtUpTo, LocalDateTime.now()).toSeconds() : -1,
+                "bookapi.snapshot.lag.seconds");
+        open();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "catalog-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.execute(this::initialCatchUp);
+        long catchUpMillis = catchUpInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> run("catch up", this::catchUp),
+                catchUpMillis, catchUpMillis, TimeUnit.MILLISECONDS);
+        long reconcileMillis = reconcileInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> run("reconcile", this::dropDeletedBooks),
+                reconcileMillis, reconcileMillis, TimeUnit.MILLISECONDS);
+        long writeMillis = writeInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> run("write", this::writeIfChanged),
+                writeMillis, writeMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        // Merging needs no database, so the next start gets what this instance knew
+        run("write", this::writeIfChanged);
+    }
+
+    @Override
+    public Object lookup(Object key) {
+        if (!(key instanceof Long id)) {
+            return null;
+        }
+        Entry entry = overlay.get(id);
+        CatalogSnapshot current = snapshot;
+        Book book = entry != null ? copyOf(entry.book()) : current != null && isServing() ? current.find(id) : null;
+        (book != null ? hits : misses).increment();
+        return book;
+    }
+
+    @Override
+    public void invalidate(Object key) {
+        if (key instanceof Long id) {
+            overlay.put(id, Entry.invalidated());
+        }
+    }
+
+    /**
+     * Whether reads are answered: after the first catch-up, or before it if
+     * the snapshot is recent enough
+     */
+    public boolean isServing() {
+        LocalDateTime watermark = caughtUpTo;
+        return caughtUp || watermark != null && watermark.isAfter(LocalDateTime.now().minus(maxAge));
+    }
+
+    public int size() {
+        CatalogSnapshot current = snapshot;
+        return current != null ? current.size() : 0;
+    }
+
+    public LocalDateTime watermark() {
+        return caughtUpTo;
+    }
+
+    /**
+     * Map the snapshot left by the previous run, if it is intact
+     */
+    private void open() {
+        deleteTemporaryFiles();
+        if (!Files.exists(path)) {
+            log.info("No catalog snapshot at {}; one is built once the application is ready", path);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            snapshot = CatalogSnapshot.open(path);
+            caughtUpTo = snapshot.watermark();
+            log.info("📦 Mapped catalog snapshot {} in {} ms: {} books as of {}", path,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshot.size(), snapshot.watermark());
+        } catch (IOException ex) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    private void initialCatchUp() {
+        run("initial catch up", () -> {
+            if (snapshot == null) {
+                rebuild();
+            } else {
+                catchUp();
+                dropDeletedBooks();
+            }
+            caughtUp = true;
+        });
+    }
+
+    /**
+     * Read the books changed since the last catch-up into the overlay. The
+     * window reaches back by {@code overlap} to cover clock skew between
+     * instances and transactions that committed late.
+     */
+    void catchUp() {
+        if (caughtUpTo == null) {
+            return;
+        }
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        int[] changed = new int[1];
+        query("SELECT " + COLUMNS + " FROM books WHERE updated_at > ?", rs -> {
+            Book book = mapRow(rs);
+            CatalogSnapshot current = snapshot;
+            overlay.compute(book.getId(), (id, existing) -> {
+                if (existing != null && existing.book() == null && existing.invalidatedAt() > started) {
+                    // Written locally while this ran; the next catch-up reads the committed row
+                    return existing;
+                }
+                if (existing == null && current != null) {
+                    Book known = current.find(id);
+                    if (known != null && book.getVersion().equals(known.getVersion())) {
+                        return null;
+                    }
+                }
+                changed[0]++;
+                return new Entry(book, 0);
+            });
+        }, Timestamp.valueOf(caughtUpTo.minus(overlap)));
+        caughtUpTo = startedAt;
+        if (changed[0] > 0) {
+            log.debug("Catalog snapshot caught up: {} changed books", changed[0]);
+        }
+    }
+
+    /**
+     * Invalidate books, in the snapshot or the overlay, that are no longer in
+     * the database; deletions leave no {@code updated_at} behind. Walks the
+     * table's IDs and the snapshot's side by side, both in ascending order.
+     */
+    void dropDeletedBooks() {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Set<Long> present = new HashSet<>();
+        int[] cursor = new int[1];
+        int[] dropped = new int[1];
+        query("SELECT id FROM books ORDER BY id", rs -> {
+            long id = rs.getLong(1);
+            while (cursor[0] < current.size() && current.idAt(cursor[0]) < id) {
+                dropped[0] += drop(current.idAt(cursor[0]++));
+            }
+            if (cursor[0] < current.size() && current.idAt(cursor[0]) == id) {
+                cursor[0]++;
+            }
+            if (overlay.containsKey(id)) {
+                present.add(id);
+            }
+        });
+        while (cursor[0] < current.size()) {
+            dropped[0] += drop(current.idAt(cursor[0]++));
+        }
+        for (Map.Entry<Long, Entry> entry : overlay.entrySet()) {
+            if (entry.getValue().book() != null && !present.contains(entry.getKey())
+                    && overlay.replace(entry.getKey(), entry.getValue(), Entry.invalidated())) {
+                dropped[0]++;
+            }
+        }
+        if (dropped[0] > 0) {
+            log.info("Catalog snapshot: {} books deleted since it was last checked", dropped[0]);
+        }
+    }
+
+    private int drop(long id) {
+        Entry previous = overlay.put(id, Entry.invalidated());
+        return previous == null || previous.book() != null ? 1 : 0;
+    }
+
+    /**
+     * Build the first snapshot with one scan of the table
+     */
+    void rebuild() throws IOException {
+        long started = System.nanoTime();
+        LocalDateTime startedAt = LocalDateTime.now();
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, startedAt)) {
+            query("SELECT " + COLUMNS + " FROM books ORDER BY id", rs -> {
+                try {
+                    writer.add(mapRow(rs));
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            writer.commit();
+        }
+        snapshot = CatalogSnapshot.open(path);
+        caughtUpTo = startedAt;
+        overlay.values().removeIf(entry -> entry.book() != null || entry.invalidatedAt() < started);
+        log.info("📦 Built catalog snapshot {} in {} ms: {} books", path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshot.size());
+    }
+
+    /**
+     * Merge the overlay into a new snapshot, in ID order, and swap it in
+     */
+    void writeIfChanged() throws IOException {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            if (caughtUp) {
+                rebuild();
+            }
+            return;
+        }
+        if (overlay.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        Map<Long, Entry> merged = Map.copyOf(overlay);
+        NavigableMap<Long, Entry> changes = new TreeMap<>(merged);
+        LocalDateTime watermark = caughtUpTo;
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, watermark)) {
+            current.forEach(book -> {
+                try {
+                    // Changed books with a smaller ID are new since the last snapshot
+                    NavigableMap<Long, Entry> before = changes.headMap(book.getId(), true);
+                    for (Map.Entry<Long, Entry> change : before.entrySet()) {
+                        add(writer, change.getValue());
+                    }
+                    if (!before.containsKey(book.getId())) {
+                        writer.add(book);
+                    }
+                    before.clear();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            for (Entry change : changes.values()) {
+                add(writer, change);
+            }
+            writer.commit();
+        }
+        snapshot = CatalogSnapshot.open(path);
+        // Entries replaced while this ran stay for the next write
+        merged.forEach(overlay::remove);
+        log.info("📦 Wrote catalog snapshot {} in {} ms: {} books, {} changes merged", path,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), snapshot.size(), merged.size());
+    }
+
+    private static void add(CatalogSnapshot.Writer writer, Entry entry) throws IOException {
+        if (entry.book() != null) {
+            writer.add(entry.book());
+        }
+    }
+
+    private static Book copyOf(Book book) {
+        return book != null ? BookMapper.copy(book) : null;
+    }
+
+    private void query(String sql, RowCallbackHandler handler, Object... args) {
+        WorkloadContext.callAs(WorkloadType.SEARCH, () -> readOnlyTransaction.execute(status -> {
+            jdbcTemplate.query(sql, handler, args);
+            return null;
+        }));
+    }
+
+    private void deleteTemporaryFiles() {
+        Path directory = path.toAbsolutePath().getParent();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        String prefix = path.getFileName().toString() + ".";
+        try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory,
+                file -> file.getFileName().toString().startsWith(prefix)
+                        && file.getFileName().toString().endsWith(CatalogSnapshot.TEMP_SUFFIX))) {
+            for (Path leftover : leftovers) {
+                Files.deleteIfExists(leftover);
+            }
+        } catch (IOException ex) {
+            log.debug("Could not clean up temporary snapshot files: {}", ex.getMessage());
+        }
+    }
+
+    private void run(String task, SnapshotTask action) {
+        try {
+            action.run();
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Catalog snapshot {} failed: {}", task, ex.toString());
+        }
+    }
+
+    static Book mapRow(ResultSet rs) throws SQLException {
+        Book book = new Book();
+        book.setId(rs.getLong("id"));
+        book.setTitle(rs.getString("title"));
+        book.setAuthor(rs.getString("author"));
+        book.setPublicationYear(rs.getObject("publication_year", Integer.class));
+        book.setDescription(rs.getString("description"));
+        book.setGenre(rs.getString("genre"));
+        book.setPageCount(rs.getObject("page_count", Integer.class));
+        book.setPrice(rs.getBigDecimal("price"));
+        book.setIsAvailable(rs.getObject("is_available", Boolean.class));
+        book.setCreatedAt(rs.getObject("created_at", LocalDateTime.class));
+        book.setUpdatedAt(rs.getObject("updated_at", LocalDateTime.class));
+        book.setVersion(rs.getLong("version"));
+        return book;
+    }
+
+    @FunctionalInterface
+    private interface SnapshotTask {
+
+        void run() throws IOException;
+    }
+
+    /**
+     * A changed book, or an invalidation at {@code invalidatedAt} (nano time)
+     */
+    private record Entry(Book book, long invalidatedAt) {
+
+        static Entry invalidated() {
+            return new Entry(null, System.nanoTime());
+        }
+    }
+}
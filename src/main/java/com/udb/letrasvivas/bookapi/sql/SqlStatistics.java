@@ -0,0 +1,55 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * SQL statements issued while handling one request: how many, how long they
+ * took in total, and how often each distinct statement ran. Bound to the
+ * request thread, so it needs no synchronization.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int statements;
+    private long nanos;
+
+    /**
+     * Statistics of the request on the current thread, or {@code null}
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void bind(SqlStatistics statistics) {
+        CURRENT.set(statistics);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    void record(String sql, long elapsedNanos) {
+        statements++;
+        nanos += elapsedNanos;
+        executions.merge(sql, 1, Integer::sum);
+    }
+
+    public int statements() {
+        return statements;
+    }
+
+    public long nanos() {
+        return nanos;
+    }
+
+    /**
+     * The statement text executed most often, with its count, or
+     * {@code null} if nothing ran
+     */
+    public Map.Entry<String, Integer> mostRepeated() {
+        return executions.entrySet().stream().max(Map.Entry.comparingByValue()).orElse(null);
+    }
+}
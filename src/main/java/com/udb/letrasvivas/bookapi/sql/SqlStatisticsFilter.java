@@ -0,0 +1,165 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects {@link SqlStatistics} for every request. Per endpoint it counts
+ * requests and statements and times the SQL, warns when one statement ran
+ * {@code bookapi.sql.repeated-statement-threshold} times or more (the usual
+ * sign of an N+1 query), and checks the handler's {@link StatementBudget}.
+ * <p>
+ * With {@code bookapi.sql.response-headers} on (meant for non-production),
+ * the totals are also sent as {@value #STATEMENTS_HEADER} and
+ * {@value #TIME_HEADER} headers, added just before the response commits.
+ * With {@code bookapi.sql.budget.fail-on-exceed} on (meant for tests), a
+ * request over budget fails with {@link StatementBudgetExceededException}.
+ */
+@Slf4j
+@Component
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATEMENTS_HEADER = "X-SQL-Statements";
+    public static final String TIME_HEADER = "X-SQL-Time-Ms";
+
+    /**
+     * Request attribute holding the request's {@link SqlStatistics}, for
+     * filters further out such as the access log
+     */
+    public static final String STATISTICS_ATTRIBUTE = SqlStatistics.class.getName();
+
+    private final ObjectProvider<MetricsRegistry> metricsRegistry;
+    private final boolean responseHeaders;
+    private final boolean failOnExceed;
+    private final int repeatedThreshold;
+
+    public SqlStatisticsFilter(Environment environment, ObjectProvider<MetricsRegistry> metricsRegistry) {
+        this.metricsRegistry = metricsRegistry;
+        this.responseHeaders = environment.getProperty("bookapi.sql.response-headers", Boolean.class, false);
+        this.failOnExceed = environment.getProperty("bookapi.sql.budget.fail-on-exceed", Boolean.class, false);
+        this.repeatedThreshold = environment.getProperty("bookapi.sql.repeated-statement-threshold",
+                Integer.class, 5);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = new SqlStatistics();
+        SqlStatistics.bind(statistics);
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        HttpServletResponse target = responseHeaders ? new HeaderOnCommitResponse(response, statistics) : response;
+        try {
+            chain.doFilter(request, target);
+            if (target instanceof HeaderOnCommitResponse headers) {
+                headers.addHeaders();
+            }
+        } finally {
+            SqlStatistics.clear();
+        }
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern) {
+            report(request, request.getMethod() + " " + pattern, statistics);
+        }
+    }
+
+    private void report(HttpServletRequest request, String endpoint, SqlStatistics statistics) {
+        metricsRegistry.ifAvailable(registry -> {
+            registry.counter("bookapi.sql.requests", "endpoint", endpoint).increment();
+            registry.counter("bookapi.sql.statements", "endpoint", endpoint).add(statistics.statements());
+            registry.timer("bookapi.sql.request.duration", "endpoint", endpoint).record(statistics.nanos());
+        });
+
+        Map.Entry<String, Integer> repeated = statistics.mostRepeated();
+        if (repeated != null && repeated.getValue() >= repeatedThreshold) {
+            metricsRegistry.ifAvailable(registry -> registry
+                    .counter("bookapi.sql.repeated_statements", "endpoint", endpoint).increment());
+            log.warn("Possible N+1 in {}: statement ran {} times: {}", endpoint, repeated.getValue(),
+                    repeated.getKey());
+        }
+
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            StatementBudget budget = handler.getMethodAnnotation(StatementBudget.class);
+            if (budget != null && statistics.statements() > budget.value()) {
+                metricsRegistry.ifAvailable(registry -> registry
+                        .counter("bookapi.sql.budget.exceeded", "endpoint", endpoint).increment());
+                log.warn("{} issued {} SQL statements, budget is {}", endpoint, statistics.statements(),
+                        budget.value());
+                if (failOnExceed) {
+                    throw new StatementBudgetExceededException(endpoint, statistics.statements(), budget.value());
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the statistics headers before the first byte of the body, the
+     * last moment headers can still be set
+     */
+    private static final class HeaderOnCommitResponse extends HttpServletResponseWrapper {
+
+        private final SqlStatistics statistics;
+        private boolean added;
+
+        private HeaderOnCommitResponse(HttpServletResponse response, SqlStatistics statistics) {
+            super(response);
+            this.statistics = statistics;
+        }
+
+        void addHeaders() {
+            if (added || isCommitted()) {
+                return;
+            }
+            added = true;
+            setHeader(STATEMENTS_HEADER, String.valueOf(statistics.statements()));
+            setHeader(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(statistics.nanos())));
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addHeaders();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addHeaders();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addHeaders();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addHeaders();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addHeaders();
+            super.sendError(sc);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+/**
+ * Raised, when enforcement is on, by a request that issued more SQL
+ * statements than its endpoint's {@link StatementBudget}
+ */
+public class StatementBudgetExceededException extends IllegalStateException {
+
+    public StatementBudgetExceededException(String endpoint, int statements, int budget) {
+        super(endpoint + " issued " + statements + " SQL statements, budget is " + budget);
+    }
+}
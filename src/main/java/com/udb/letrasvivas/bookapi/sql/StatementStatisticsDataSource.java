@@ -0,0 +1,186 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.metrics.Timer;
+import com.udb.letrasvivas.bookapi.tracing.Span;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures every JDBC statement execution: adds it to the current request's
+ * {@link SqlStatistics}, records it in the {@code bookapi.sql.duration}
+ * timer by statement type, and logs it with its bound parameters when it
+ * takes longer than the slow-statement threshold. A batch counts as one
+ * statement, since it is one round trip.
+ * <p>
+ * In a traced request each execution also gets a span with the SQL and the
+ * rows affected or read; a query's span lasts until its result set is
+ * closed, so it includes fetching the rows.
+ */
+@Slf4j
+public class StatementStatisticsDataSource extends DelegatingDataSource {
+
+    private final long slowNanos;
+    private final MetricsRegistry metricsRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public StatementStatisticsDataSource(DataSource target, Duration slowThreshold, MetricsRegistry metricsRegistry) {
+        super(target);
+        this.slowNanos = slowThreshold.toNanos();
+        this.metricsRegistry = metricsRegistry;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementStatisticsDataSource.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return track(statement, sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Statement track(Statement statement, String preparedSql) {
+        Map<Integer, Object> parameters = statement instanceof PreparedStatement ? new TreeMap<>() : null;
+        ClassLoader classLoader = StatementStatisticsDataSource.class.getClassLoader();
+        return (Statement) Proxy.newProxyInstance(classLoader,
+                ClassUtils.getAllInterfacesForClass(statement.getClass(), classLoader),
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (!name.startsWith("execute")) {
+                        if (parameters != null && name.startsWith("set") && args != null && args.length >= 2
+                                && args[0] instanceof Integer index) {
+                            parameters.put(index, name.equals("setNull") ? null : args[1]);
+                        } else if (parameters != null && name.equals("clearParameters")) {
+                            parameters.clear();
+                        }
+                        return invoke(statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    Span span = startSpan(sql);
+                    long start = System.nanoTime();
+                    try {
+                        Object result = invoke(statement, method, args);
+                        return span != null ? endSpan(span, result) : result;
+                    } catch (Throwable ex) {
+                        if (span != null) {
+                            span.recordError(ex);
+                            span.end();
+                        }
+                        throw ex;
+                    } finally {
+                        record(sql, parameters, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private static Span startSpan(String sql) {
+        Span span = Span.startDetached("SQL " + statementType(sql).toUpperCase(Locale.ROOT));
+        return span != null ? span.setAttribute("db.statement", sql) : null;
+    }
+
+    /**
+     * End the statement's span, or for a query hand it to the result set,
+     * which ends it on close with the number of rows read
+     */
+    private static Object endSpan(Span span, Object result) {
+        if (result instanceof ResultSet resultSet) {
+            return countRows(resultSet, span);
+        }
+        if (result instanceof Number rows) {
+            span.setAttribute("db.rows_affected", rows.longValue());
+        } else if (result instanceof int[] batch) {
+            span.setAttribute("db.rows_affected", Arrays.stream(batch).filter(rows -> rows > 0).sum());
+        }
+        span.end();
+        return result;
+    }
+
+    private static ResultSet countRows(ResultSet resultSet, Span span) {
+        long[] rows = new long[1];
+        ClassLoader classLoader = StatementStatisticsDataSource.class.getClassLoader();
+        return (ResultSet) Proxy.newProxyInstance(classLoader,
+                ClassUtils.getAllInterfacesForClass(resultSet.getClass(), classLoader),
+                (proxy, method, args) -> {
+                    Object result = invoke(resultSet, method, args);
+                    if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                        rows[0]++;
+                    } else if (method.getName().equals("close")) {
+                        span.setAttribute("db.rows", rows[0]);
+                        span.end();
+                    }
+                    return result;
+                });
+    }
+
+    private void record(String sql, Map<Integer, Object> parameters, long elapsedNanos) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics != null) {
+            statistics.record(sql, elapsedNanos);
+        }
+        timers.computeIfAbsent(statementType(sql),
+                type -> metricsRegistry.timer("bookapi.sql.duration", "type", type)).record(elapsedNanos);
+        if (elapsedNanos >= slowNanos) {
+            metricsRegistry.counter("bookapi.sql.slow").increment();
+            log.warn("Slow SQL ({} ms): {} {}", TimeUnit.NANOSECONDS.toMillis(elapsedNanos), sql,
+                    parameters != null ? parameters.values() : "");
+        }
+    }
+
+    static String statementType(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.udb.letrasvivas.bookapi.startup;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+/**
+ * Where startup time went: how long the context took to start and to
+ * become ready, and the slowest steps recorded by the
+ * {@link BufferingApplicationStartup} installed in {@code main}. Steps nest
+ * (creating a bean includes creating its dependencies), so each step also
+ * reports its self time, without the steps it contains.
+ * <p>
+ * Only available when the application was launched through {@code main};
+ * tests and embedded launches use the no-op {@link ApplicationStartup}.
+ */
+@Component
+public class StartupTimeline {
+
+    private final ApplicationStartup applicationStartup;
+    private volatile Duration timeToStarted;
+    private volatile Duration timeToReady;
+    private volatile Duration jvmUptimeAtReady;
+
+    public StartupTimeline(ApplicationStartup applicationStartup) {
+        this.applicationStartup = applicationStartup;
+    }
+
+    @EventListener
+    public void onStarted(ApplicationStartedEvent event) {
+        timeToStarted = event.getTimeTaken();
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        timeToReady = event.getTimeTaken();
+        jvmUptimeAtReady = Duration.ofMillis(ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    /**
+     * The recorded timeline, with the {@code limit} steps that took the most
+     * self time, or empty when steps are not being recorded
+     */
+    public Optional<StartupReport> report(int limit) {
+        if (!(applicationStartup instanceof BufferingApplicationStartup buffering)) {
+            return Optional.empty();
+        }
+        org.springframework.boot.context.metrics.buffering.StartupTimeline timeline = buffering.getBufferedTimeline();
+        List<TimelineEvent> events = timeline.getEvents();
+
+        Map<Long, Duration> childTime = new HashMap<>();
+        for (TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childTime.merge(parentId, event.getDuration(), Duration::plus);
+            }
+        }
+        Instant origin = timeline.getStartTime();
+        List<Step> steps = events.stream()
+                .map(event -> step(event, origin, childTime.getOrDefault(event.getStartupStep().getId(), Duration.ZERO)))
+                .toList();
+
+        Map<String, StepTotal> totals = steps.stream()
+                .collect(Collectors.groupingBy(Step::name, TreeMap::new, Collectors.collectingAndThen(
+                        Collectors.toList(), group -> new StepTotal(group.get(0).name(), group.size(),
+                                group.stream().mapToDouble(Step::selfMs).sum()))));
+
+        return Optional.of(new StartupReport(
+                millis(timeToStarted),
+                millis(timeToReady),
+                millis(jvmUptimeAtReady),
+                events.size(),
+                steps.stream().sorted(Comparator.comparingDouble(Step::selfMs).reversed()).limit(limit).toList(),
+                totals.values().stream().sorted(Comparator.comparingDouble(StepTotal::selfMs).reversed())
+                        .limit(limit).toList()));
+    }
+
+    private static Step step(TimelineEvent event, Instant origin, Duration children) {
+        StartupStep startupStep = event.getStartupStep();
+        Map<String, String> tags = new TreeMap<>();
+        startupStep.getTags().forEach(tag -> tags.put(tag.getKey(), tag.getValue()));
+        Duration self = event.getDuration().minus(children);
+        return new Step(startupStep.getName(), tags,
+                millis(Duration.between(origin, event.getStartTime())),
+                millis(event.getDuration()),
+                millis(self.isNegative() ? Duration.ZERO : self));
+    }
+
+    private static Double millis(Duration duration) {
+        return duration == null ? null : duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * @param timeToStartedMs  from launch until the context was refreshed and runners were about to run
+     * @param timeToReadyMs    from launch until the application was ready for traffic
+     * @param jvmUptimeAtReadyMs JVM uptime at that point, including JVM boot and class loading before {@code main}
+     * @param recordedSteps    steps in the buffer
+     * @param slowestSteps     steps with the most self time
+     * @param slowestStepTypes step names with the most self time in total
+     */
+    public record StartupReport(Double timeToStartedMs, Double timeToReadyMs, Double jvmUptimeAtReadyMs,
+            int recordedSteps, List<Step> slowestSteps, List<StepTotal> slowestStepTypes) {
+    }
+
+    /**
+     * One recorded step; {@code startMs} is relative to the start of the
+     * timeline
+     */
+    public record Step(String name, Map<String, String> tags, double startMs, double durationMs, double selfMs) {
+    }
+
+    public record StepTotal(String name, int count, double selfMs) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.DisposableBean;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Appends every finished span to a file as one JSON object per line. The
+ * buffer is flushed when a server span ends, so a trace is on disk once its
+ * request has completed.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter, DisposableBean {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileSpanExporter(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public void export(Span span) {
+        try {
+            String line = objectMapper.writeValueAsString(span);
+            synchronized (writer) {
+                writer.write(line);
+                writer.newLine();
+                if (span.isRoot()) {
+                    writer.flush();
+                }
+            }
+        } catch (IOException ex) {
+            log.warn("Could not export span {}: {}", span.getSpanId(), ex.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        synchronized (writer) {
+            writer.close();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent finished spans in memory, overwriting the oldest, so
+ * traces can be inspected through the API without a collector
+ */
+public class RingBufferSpanExporter implements SpanExporter {
+
+    private final AtomicReferenceArray<Span> spans;
+    private final AtomicLong written = new AtomicLong();
+
+    public RingBufferSpanExporter(int capacity) {
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public void export(Span span) {
+        spans.set((int) (written.getAndIncrement() % spans.length()), span);
+    }
+
+    /**
+     * The most recent traces whose server span is still in the buffer, newest
+     * first
+     */
+    public List<TraceSummary> recentTraces(int limit) {
+        Map<String, List<Span>> traces = groupByTrace();
+        return traces.values().stream()
+                .map(TraceSummary::of)
+                .filter(summary -> summary != null)
+                .sorted(Comparator.comparing(TraceSummary::startTime).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * The buffered spans of one trace, in start order
+     */
+    public List<Span> trace(String traceId) {
+        List<Span> trace = groupByTrace().get(traceId);
+        return trace != null ? trace : List.of();
+    }
+
+    private Map<String, List<Span>> groupByTrace() {
+        List<Span> all = new ArrayList<>(spans.length());
+        for (int i = 0; i < spans.length(); i++) {
+            Span span = spans.get(i);
+            if (span != null) {
+                all.add(span);
+            }
+        }
+        all.sort(Comparator.comparing(Span::getStartTime));
+        Map<String, List<Span>> traces = new LinkedHashMap<>();
+        for (Span span : all) {
+            traces.computeIfAbsent(span.getTraceId(), id -> new ArrayList<>()).add(span);
+        }
+        return traces;
+    }
+
+    /**
+     * One line of the trace list: the server span and how many spans it has
+     */
+    public record TraceSummary(String traceId, String name, java.time.Instant startTime, double durationMs,
+            int spanCount, boolean error) {
+
+        static TraceSummary of(List<Span> spans) {
+            return spans.stream()
+                    .filter(Span::isRoot)
+                    .findFirst()
+                    .map(root -> new TraceSummary(root.getTraceId(), root.getName(), root.getStartTime(),
+                            root.getDurationMs(), spans.size(),
+                            spans.stream().anyMatch(span -> span.getError() != null)))
+                    .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * One timed operation in a trace. The span opened by
+ * {@link #start(String)} becomes the thread's current span until it ends,
+ * so spans started inside it become its children; a detached span (see
+ * {@link #startDetached(String)}) is a leaf that may end on another call,
+ * such as a JDBC statement ending when its result set is closed.
+ * <p>
+ * Spans only exist for sampled requests: when there is no current span the
+ * start methods return {@code null} and instrumentation skips the work.
+ */
+public final class Span {
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final String kind;
+    private final Instant startTime = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Map<String, Object> attributes = Collections.synchronizedMap(new LinkedHashMap<>());
+    private final Tracer tracer;
+    private final Span previous;
+    private final boolean bound;
+    private String name;
+    private String error;
+    private volatile long durationNanos = -1;
+
+    private Span(TraceContext context, String parentSpanId, String name, String kind, Tracer tracer,
+            boolean bound) {
+        this.traceId = context.traceId();
+        this.spanId = context.spanId();
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.tracer = tracer;
+        this.bound = bound;
+        this.previous = bound ? CURRENT.get() : null;
+        if (bound) {
+            CURRENT.set(this);
+        }
+    }
+
+    /**
+     * Open the server span of a request and make it current
+     */
+    static Span startServer(TraceContext context, String parentSpanId, String name, Tracer tracer) {
+        return new Span(context, parentSpanId, name, "server", tracer, true);
+    }
+
+    /**
+     * The span of the enclosing operation on this thread, or {@code null}
+     */
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Start a child of the current span and make it current
+     */
+    public static Span start(String name) {
+        Span parent = CURRENT.get();
+        return parent != null ? parent.child(name, "internal", true) : null;
+    }
+
+    /**
+     * Start a child of the current span without making it current
+     */
+    public static Span startDetached(String name) {
+        Span parent = CURRENT.get();
+        return parent != null ? parent.child(name, "client", false) : null;
+    }
+
+    private Span child(String childName, String childKind, boolean bindChild) {
+        return new Span(new TraceContext(traceId, TraceContext.newSpanId(), true), spanId, childName, childKind,
+                tracer, bindChild);
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+        return this;
+    }
+
+    public void recordError(Throwable ex) {
+        error = ex.getClass().getSimpleName() + (ex.getMessage() != null ? ": " + ex.getMessage() : "");
+    }
+
+    void rename(String newName) {
+        name = newName;
+    }
+
+    /**
+     * Stop being the thread's current span without ending, for a span that
+     * ends on another thread
+     */
+    void unbind() {
+        if (bound && CURRENT.get() == this) {
+            restorePrevious();
+        }
+    }
+
+    /**
+     * End the span, restore its parent as current and export it. Ending a
+     * span twice has no effect.
+     */
+    public void end() {
+        synchronized (this) {
+            if (durationNanos >= 0) {
+                return;
+            }
+            durationNanos = System.nanoTime() - startNanos;
+        }
+        if (bound && CURRENT.get() == this) {
+            restorePrevious();
+        }
+        tracer.export(this);
+    }
+
+    private void restorePrevious() {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public Instant getStartTime() {
+        return startTime;
+    }
+
+    public double getDurationMs() {
+        return durationNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return new LinkedHashMap<>(attributes);
+        }
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    @JsonIgnore
+    public boolean isRoot() {
+        return "server".equals(kind);
+    }
+}
@@ -0,0 +1,9 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+/**
+ * Receives every finished span
+ */
+public interface SpanExporter {
+
+    void export(Span span);
+}
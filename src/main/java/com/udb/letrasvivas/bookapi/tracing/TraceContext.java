@@ -0,0 +1,78 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace and span id plus the sampled flag, as carried in a W3C
+ * {@value #TRACEPARENT} header: {@code 00-<32 hex trace id>-<16 hex span id>-<2 hex flags>}.
+ */
+public record TraceContext(String traceId, String spanId, boolean sampled) {
+
+    public static final String TRACEPARENT = "traceparent";
+
+    /**
+     * Response header echoing the server span, so a client can look up the
+     * trace it just caused
+     */
+    public static final String TRACERESPONSE = "traceresponse";
+
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+    private static final String INVALID_SPAN_ID = "0".repeat(16);
+
+    /**
+     * Parse a {@code traceparent} header; returns {@code null} when it is
+     * missing or malformed, in which case a new trace is started
+     */
+    public static TraceContext parse(String traceparent) {
+        if (traceparent == null) {
+            return null;
+        }
+        String[] parts = traceparent.trim().split("-");
+        if (parts.length < 4 || !parts[0].matches("[0-9a-f]{2}") || parts[0].equals("ff")
+                || (parts[0].equals("00") && parts.length != 4)
+                || !parts[1].matches("[0-9a-f]{32}") || parts[1].equals(INVALID_TRACE_ID)
+                || !parts[2].matches("[0-9a-f]{16}") || parts[2].equals(INVALID_SPAN_ID)
+                || !parts[3].matches("[0-9a-f]{2}")) {
+            return null;
+        }
+        boolean sampled = (Integer.parseInt(parts[3], 16) & 0x01) != 0;
+        return new TraceContext(parts[1], parts[2], sampled);
+    }
+
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + "-" + (sampled ? "01" : "00");
+    }
+
+    /**
+     * A context for a new span in this trace
+     */
+    TraceContext child() {
+        return new TraceContext(traceId, newSpanId(), sampled);
+    }
+
+    static TraceContext newTrace(boolean sampled) {
+        return new TraceContext(randomHex(16), newSpanId(), sampled);
+    }
+
+    static String newSpanId() {
+        return randomHex(8);
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] random = new byte[bytes];
+        do {
+            ThreadLocalRandom.current().nextBytes(random);
+        } while (isZero(random));
+        return HexFormat.of().formatHex(random);
+    }
+
+    private static boolean isZero(byte[] bytes) {
+        for (byte b : bytes) {
+            if (b != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Decides whether a request is traced and hands its finished spans to the
+ * exporters. Sampling is parent-based: a request carrying a
+ * {@code traceparent} follows the caller's sampled flag, any other request
+ * is sampled with probability {@code samplingRatio}.
+ */
+public class Tracer {
+
+    private final double samplingRatio;
+    private final List<SpanExporter> exporters;
+
+    public Tracer(double samplingRatio, List<SpanExporter> exporters) {
+        this.samplingRatio = samplingRatio;
+        this.exporters = exporters;
+    }
+
+    /**
+     * The context of this server's span for a request: a child of the
+     * caller's context when there is one, otherwise a new trace
+     */
+    public TraceContext contextFor(TraceContext parent) {
+        if (parent != null) {
+            return parent.child();
+        }
+        return TraceContext.newTrace(ThreadLocalRandom.current().nextDouble() < samplingRatio);
+    }
+
+    /**
+     * Open the server span for a sampled request and make it current
+     */
+    public Span startServerSpan(TraceContext context, TraceContext parent, String name) {
+        return Span.startServer(context, parent != null ? parent.spanId() : null, name, this);
+    }
+
+    void export(Span span) {
+        for (SpanExporter exporter : exporters) {
+            exporter.export(span);
+        }
+    }
+}
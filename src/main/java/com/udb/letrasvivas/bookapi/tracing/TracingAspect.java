@@ -0,0 +1,92 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.time.temporal.Temporal;
+import java.util.Collection;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.udb.letrasvivas.bookapi.jfr.JfrEventAspect;
+
+/**
+ * Opens a span for every {@code BookController} handler, {@code BookService}
+ * method and {@code BookRepository} call of a sampled request. Simple
+ * arguments become {@code criteria.<parameter>} attributes, paging becomes
+ * {@code page.*}, and the number of books returned {@code result.count}.
+ * The JDBC statements below a repository call get their own spans from
+ * {@link com.udb.letrasvivas.bookapi.sql.StatementStatisticsDataSource}.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class TracingAspect {
+
+    private static final int MAX_ATTRIBUTE_LENGTH = 100;
+
+    @Around("within(com.udb.letrasvivas.bookapi.book.controller.BookController)")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "BookController");
+    }
+
+    @Around("within(com.udb.letrasvivas.bookapi.book.service.BookService)")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "BookService");
+    }
+
+    @Around("target(com.udb.letrasvivas.bookapi.book.repository.BookRepository)")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, "BookRepository");
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, String component) throws Throwable {
+        if (Span.current() == null) {
+            return joinPoint.proceed();
+        }
+        Span span = Span.start(component + "." + joinPoint.getSignature().getName());
+        try {
+            addArguments(span, joinPoint);
+            Object result = joinPoint.proceed();
+            Object body = result instanceof ResponseEntity<?> entity ? entity.getBody() : result;
+            if (body != null) {
+                span.setAttribute("result.count", JfrEventAspect.resultCount(body));
+            }
+            return result;
+        } catch (Throwable ex) {
+            span.recordError(ex);
+            throw ex;
+        } finally {
+            span.end();
+        }
+    }
+
+    static void addArguments(Span span, ProceedingJoinPoint joinPoint) {
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            String name = names != null ? names[i] : "arg" + i;
+            if (arg instanceof Pageable pageable && pageable.isPaged()) {
+                span.setAttribute("page.number", pageable.getPageNumber())
+                        .setAttribute("page.size", pageable.getPageSize());
+                if (pageable.getSort().isSorted()) {
+                    span.setAttribute("page.sort", pageable.getSort().toString());
+                }
+            } else if (arg instanceof Collection<?> collection) {
+                span.setAttribute("criteria." + name + ".count", collection.size());
+            } else if (arg instanceof CharSequence || arg instanceof Number || arg instanceof Boolean
+                    || arg instanceof Enum<?> || arg instanceof Temporal) {
+                String value = arg.toString();
+                span.setAttribute("criteria." + name, value.length() > MAX_ATTRIBUTE_LENGTH
+                        ? value.substring(0, MAX_ATTRIBUTE_LENGTH) + "..."
+                        : value);
+            }
+        }
+    }
+}
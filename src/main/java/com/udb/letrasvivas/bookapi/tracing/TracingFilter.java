@@ -0,0 +1,109 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import java.io.IOException;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Joins or starts a trace for every request. The incoming W3C
+ * {@code traceparent} is honoured, the server span's context is returned as
+ * {@code traceresponse} and put in the logging MDC as {@code traceId} /
+ * {@code spanId}, sampled or not. For sampled requests the server span
+ * covers the whole request, argument validation and response serialization
+ * included, and is named after the matched route; for asynchronous
+ * handlers it ends when the async request completes.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class TracingFilter extends OncePerRequestFilter {
+
+    private final ObjectProvider<Tracer> tracer;
+
+    public TracingFilter(ObjectProvider<Tracer> tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Tracer active = tracer.getIfAvailable();
+        if (active == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        TraceContext parent = TraceContext.parse(request.getHeader(TraceContext.TRACEPARENT));
+        TraceContext context = active.contextFor(parent);
+        response.setHeader(TraceContext.TRACERESPONSE, context.traceparent());
+        MDC.put("traceId", context.traceId());
+        MDC.put("spanId", context.spanId());
+        Span span = context.sampled()
+                ? active.startServerSpan(context, parent, request.getMethod() + " " + request.getRequestURI())
+                : null;
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = span != null && request.isAsyncStarted();
+        } catch (IOException | ServletException | RuntimeException ex) {
+            if (span != null) {
+                span.recordError(ex);
+            }
+            throw ex;
+        } finally {
+            MDC.remove("traceId");
+            MDC.remove("spanId");
+            if (async) {
+                // Ends on the thread that completes the request; this one moves on
+                span.unbind();
+                request.getAsyncContext().addListener(new AsyncListener() {
+                    @Override
+                    public void onComplete(AsyncEvent event) {
+                        end(span, request, response);
+                    }
+
+                    @Override
+                    public void onTimeout(AsyncEvent event) {
+                    }
+
+                    @Override
+                    public void onError(AsyncEvent event) {
+                        if (event.getThrowable() != null) {
+                            span.recordError(event.getThrowable());
+                        }
+                    }
+
+                    @Override
+                    public void onStartAsync(AsyncEvent event) {
+                        event.getAsyncContext().addListener(this);
+                    }
+                });
+            } else if (span != null) {
+                end(span, request, response);
+            }
+        }
+    }
+
+    private static void end(Span span, HttpServletRequest request, HttpServletResponse response) {
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String route) {
+            span.rename(request.getMethod() + " " + route);
+        }
+        span.setAttribute("http.method", request.getMethod())
+                .setAttribute("http.target", request.getQueryString() != null
+                        ? request.getRequestURI() + "?" + request.getQueryString()
+                        : request.getRequestURI())
+                .setAttribute("http.status_code", response.getStatus());
+        span.end();
+    }
+}
@@ -0,0 +1,275 @@
+package com.udb.letrasvivas.bookapi.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.config.DataSeeder;
+import com.udb.letrasvivas.bookapi.workload.WorkloadContext;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Warms the instance up once it has started and the catalog has been seeded
+ * (seeding may still be running in the background when the application is
+ * ready): opens the pool connections,
+ * loads the first books of the default listing into the book cache, then
+ * replays a read-only request mix through {@link BookService} and the JSON
+ * and validation path until the JIT has compiled it and the statements have
+ * been prepared on every connection. The instance reports ready when this
+ * finishes, or when {@code bookapi.warmup.max-duration} has passed.
+ */
+@Component
+@Slf4j
+public class Warmup {
+
+    /** Sort of the default {@code GET /api/books} listing */
+    private static final Sort DEFAULT_SORT = Sort.by("title").ascending();
+
+    public enum Phase {
+        PENDING, RUNNING, COMPLETED, TIMED_OUT, FAILED, DISABLED
+    }
+
+    private final BookService bookService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final DataSource dataSource;
+    private final ApplicationStartup applicationStartup;
+    private final DataSeeder dataSeeder;
+    private final boolean enabled;
+    private final int iterations;
+    private final int hotBooks;
+    private final Duration maxDuration;
+
+    private volatile Phase phase;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile int completedIterations;
+    private volatile int openedConnections;
+    private volatile int cachedBooks;
+
+    public Warmup(BookService bookService, ObjectMapper objectMapper, Validator validator, DataSource dataSource,
+            ApplicationStartup applicationStartup, DataSeeder dataSeeder,
+            @Value("${bookapi.warmup.enabled:true}") boolean enabled,
+            @Value("${bookapi.warmup.iterations:2000}") int iterations,
+            @Value("${bookapi.warmup.hot-books:1000}") int hotBooks,
+            @Value("${bookapi.warmup.max-duration:60s}") Duration maxDuration) {
+        this.bookService = bookService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.dataSource = dataSource;
+        this.applicationStartup = applicationStartup;
+        this.dataSeeder = dataSeeder;
+        this.enabled = enabled;
+        this.iterations = iterations;
+        this.hotBooks = hotBooks;
+        this.maxDuration = maxDuration;
+        this.phase = enabled ? Phase.PENDING : Phase.DISABLED;
+    }
+
+    /**
+     * Start warming up once seeding is over; until then the instance stays
+     * not ready
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        dataSeeder.completion().whenComplete((ignored, ex) -> launch());
+    }
+
+    private void launch() {
+        startedAt = Instant.now();
+        phase = Phase.RUNNING;
+        Thread warmup = new Thread(this::run, "warmup");
+        warmup.setDaemon(true);
+        warmup.start();
+    }
+
+    /**
+     * Whether the instance should receive traffic: warm-up is over, was
+     * disabled, or has run out of time
+     */
+    public boolean isReady() {
+        Phase current = phase;
+        if (current == Phase.PENDING) {
+            return false;
+        }
+        return current != Phase.RUNNING || Instant.now().isAfter(deadline());
+    }
+
+    public Status status() {
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        Double durationMs = startedAt != null ? Duration.between(startedAt, end).toNanos() / 1e6 : null;
+        Phase current = phase == Phase.RUNNING && isReady() ? Phase.TIMED_OUT : phase;
+        return new Status(current, isReady(), startedAt, durationMs, completedIterations, iterations,
+                openedConnections, cachedBooks);
+    }
+
+    private void run() {
+        StartupStep step = applicationStartup.start("bookapi.warmup");
+        Phase outcome = Phase.COMPLETED;
+        try {
+            openedConnections = fillPools(dataSource);
+            List<Book> hot = WorkloadContext.callAs(WorkloadType.SEARCH,
+                    () -> bookService.getAllBooks(PageRequest.of(0, Math.max(hotBooks, 1), DEFAULT_SORT)).getContent());
+            for (Book book : hot) {
+                if (expired()) {
+                    break;
+                }
+                WorkloadContext.callAs(WorkloadType.POINT_READ, () -> bookService.getBookById(book.getId()));
+                cachedBooks++;
+            }
+            for (int i = 0; i < iterations && !expired(); i++) {
+                replay(i, hot);
+                completedIterations = i + 1;
+            }
+            if (expired()) {
+                outcome = Phase.TIMED_OUT;
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Warm-up failed after {} iterations: {}", completedIterations, ex.toString());
+            outcome = Phase.FAILED;
+        } finally {
+            finishedAt = Instant.now();
+            phase = outcome;
+            step.tag("outcome", outcome.name()).tag("iterations", String.valueOf(completedIterations)).end();
+        }
+        log.info("🔥 Warm-up {} in {} ms: {} iterations, {} pooled connections, {} books cached",
+                outcome.name().toLowerCase(), Duration.between(startedAt, finishedAt).toMillis(),
+                completedIterations, openedConnections, cachedBooks);
+    }
+
+    /**
+     * One round of the synthetic mix; mirrors what the busiest endpoints do
+     * with a request, minus the HTTP layer
+     */
+    private void replay(int iteration, List<Book> hot) {
+        Pageable page = PageRequest.of(iteration % 5, 10, DEFAULT_SORT);
+        serialize(WorkloadType.SEARCH, () -> bookService.getAllBooks(page));
+        if (hot.isEmpty()) {
+            serialize(WorkloadType.SEARCH, bookService::getBookStatistics);
+            return;
+        }
+        Book book = hot.get(iteration % hot.size());
+        serialize(WorkloadType.POINT_READ, () -> bookService.getBookById(book.getId()));
+        String word = firstWord(book.getTitle());
+        switch (iteration % 5) {
+            case 0 -> serialize(WorkloadType.SEARCH, () -> bookService.searchBooksByTitle(word, page));
+            case 1 -> serialize(WorkloadType.SEARCH, () -> bookService.searchBooksByAuthor(book.getAuthor(), page));
+            case 2 -> serialize(WorkloadType.SEARCH, () -> bookService.searchBooksAdvanced(word, null,
+                    book.getGenre(), null, null, null, null, true, page));
+            case 3 -> serialize(WorkloadType.SEARCH, () -> bookService.searchBooksByGenre(book.getGenre(), page));
+            default -> serialize(WorkloadType.SEARCH, bookService::getBookStatistics);
+        }
+        try {
+            // Request side: the body of a create or update, bound and validated
+            BookDto dto = objectMapper.readValue(objectMapper.writeValueAsBytes(book), BookDto.class);
+            validator.validate(dto);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void serialize(WorkloadType workload, Supplier<?> call) {
+        Object result = WorkloadContext.callAs(workload, call);
+        try {
+            objectMapper.writeValueAsBytes(result);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Have every pool open its idle connections now rather than on the first
+     * requests. Hikari fills up to {@code minimumIdle} in the background once
+     * started, so this only starts each pool and waits for that, without
+     * holding connections other threads may need; returns the connections
+     * open afterwards
+     */
+    private int fillPools(DataSource dataSource) {
+        List<HikariDataSource> pools = new ArrayList<>();
+        collectPools(dataSource, pools);
+        for (HikariDataSource pool : pools) {
+            try (Connection ignored = pool.getConnection()) {
+                // Starts the pool
+            } catch (SQLException ex) {
+                log.warn("Could not open pool {}: {}", pool.getPoolName(), ex.getMessage());
+            }
+        }
+        int opened = 0;
+        for (HikariDataSource pool : pools) {
+            HikariPoolMXBean stats = pool.getHikariPoolMXBean();
+            if (stats == null) {
+                continue;
+            }
+            int target = Math.min(pool.getMinimumIdle(), pool.getMaximumPoolSize());
+            while (stats.getTotalConnections() < target && !expired()) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10));
+            }
+            opened += stats.getTotalConnections();
+        }
+        return opened;
+    }
+
+    private static void collectPools(DataSource dataSource, List<HikariDataSource> pools) {
+        if (dataSource instanceof HikariDataSource pool) {
+            pools.add(pool);
+        } else if (dataSource instanceof DelegatingDataSource delegating && delegating.getTargetDataSource() != null) {
+            collectPools(delegating.getTargetDataSource(), pools);
+        } else if (dataSource instanceof AbstractRoutingDataSource routing) {
+            routing.getResolvedDataSources().values().forEach(target -> collectPools(target, pools));
+        }
+    }
+
+    private static String firstWord(String title) {
+        int space = title.indexOf(' ');
+        return space > 0 ? title.substring(0, space) : title;
+    }
+
+    private boolean expired() {
+        return Instant.now().isAfter(deadline());
+    }
+
+    private Instant deadline() {
+        return startedAt.plus(maxDuration);
+    }
+
+    /**
+     * Progress of the warm-up phase
+     *
+     * @param connections pool connections open once the pools were filled
+     * @param cachedBooks books loaded into the book cache
+     */
+    public record Status(Phase phase, boolean ready, Instant startedAt, Double durationMs, int iterations,
+            int plannedIterations, int connections, int cachedBooks) {
+    }
+}
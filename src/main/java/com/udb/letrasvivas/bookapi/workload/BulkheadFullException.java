@@ -0,0 +1,19 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+    private final WorkloadType workload;
+
+    public BulkheadFullException(WorkloadType workload) {
+        super("Too many concurrent " + workload.key() + " requests");
+        this.workload = workload;
+    }
+
+    public WorkloadType getWorkload() {
+        return workload;
+    }
+}
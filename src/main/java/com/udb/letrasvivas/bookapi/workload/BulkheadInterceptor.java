@@ -0,0 +1,68 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Admits {@link Workload}-annotated requests through their workload's
+ * {@link Bulkhead} and binds the workload for the data source router.
+ * Limits come from {@code bookapi.workload.<workload>.max-concurrent},
+ * {@code .max-queue} and {@code .max-wait}.
+ */
+@Component
+public class BulkheadInterceptor implements HandlerInterceptor {
+
+    private static final String ACQUIRED = BulkheadInterceptor.class.getName() + ".ACQUIRED";
+
+    private final Map<WorkloadType, Bulkhead> bulkheads = new EnumMap<>(WorkloadType.class);
+
+    public BulkheadInterceptor(Environment environment) {
+        for (WorkloadType workload : WorkloadType.values()) {
+            String prefix = "bookapi.workload." + workload.key() + ".";
+            bulkheads.put(workload, new Bulkhead(workload,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, 20),
+                    environment.getProperty(prefix + "max-queue", Integer.class, 50),
+                    environment.getProperty(prefix + "max-wait", Duration.class, Duration.ofSeconds(1))));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod) || request.getAttribute(ACQUIRED) != null) {
+            return true;
+        }
+        Workload workload = handlerMethod.getMethodAnnotation(Workload.class);
+        if (workload == null) {
+            return true;
+        }
+        Bulkhead bulkhead = bulkheads.get(workload.value());
+        bulkhead.acquire();
+        request.setAttribute(ACQUIRED, bulkhead);
+        WorkloadContext.bind(workload.value());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(ACQUIRED) instanceof Bulkhead bulkhead) {
+            request.removeAttribute(ACQUIRED);
+            bulkhead.release();
+            WorkloadContext.clear();
+        }
+    }
+
+    public Collection<Bulkhead> bulkheads() {
+        return bulkheads.values();
+    }
+}
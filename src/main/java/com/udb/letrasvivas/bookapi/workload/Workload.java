@@ -0,0 +1,20 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Assigns a controller method to a workload: the request is admitted through
+ * that workload's bulkhead and its queries use that workload's pool.
+ * Unannotated handlers are not limited.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Workload {
+
+    WorkloadType value();
+}
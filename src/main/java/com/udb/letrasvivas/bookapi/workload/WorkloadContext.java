@@ -0,0 +1,44 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import java.util.function.Supplier;
+
+/**
+ * Workload of the request being handled on the current thread
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static WorkloadType current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Run work outside a request as if it came from an endpoint of the given
+     * workload, so it uses that workload's pool
+     */
+    public static <T> T callAs(WorkloadType workload, Supplier<T> work) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    static void bind(WorkloadType workload) {
+        CURRENT.set(workload);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
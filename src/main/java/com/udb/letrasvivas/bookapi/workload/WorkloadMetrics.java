@@ -0,0 +1,46 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import java.util.function.ToIntFunction;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * Saturation gauges for every bulkhead and workload connection pool
+ */
+@Component
+public class WorkloadMetrics {
+
+    public WorkloadMetrics(MetricsRegistry metricsRegistry, BulkheadInterceptor bulkheadInterceptor,
+            ObjectProvider<WorkloadRoutingDataSource> workloadRoutingDataSource) {
+        for (Bulkhead bulkhead : bulkheadInterceptor.bulkheads()) {
+            String workload = bulkhead.workload().key();
+            metricsRegistry.gauge(bulkhead::inUse, "bookapi.workload.requests.active", "workload", workload);
+            metricsRegistry.gauge(bulkhead::queued, "bookapi.workload.requests.queued", "workload", workload);
+            metricsRegistry.gauge(bulkhead::rejectedCount, "bookapi.workload.requests.rejected", "workload", workload);
+        }
+        workloadRoutingDataSource.ifAvailable(router -> {
+            for (WorkloadType workload : WorkloadType.values()) {
+                if (router.pool(workload) instanceof HikariDataSource pool) {
+                    poolGauge(metricsRegistry, pool, "active", HikariPoolMXBean::getActiveConnections);
+                    poolGauge(metricsRegistry, pool, "idle", HikariPoolMXBean::getIdleConnections);
+                    poolGauge(metricsRegistry, pool, "pending", HikariPoolMXBean::getThreadsAwaitingConnection);
+                    metricsRegistry.gauge(pool::getMaximumPoolSize, "bookapi.pool.connections.max",
+                            "pool", pool.getPoolName());
+                }
+            }
+        });
+    }
+
+    private static void poolGauge(MetricsRegistry metricsRegistry, HikariDataSource pool, String state,
+            ToIntFunction<HikariPoolMXBean> value) {
+        metricsRegistry.gauge(() -> {
+            HikariPoolMXBean bean = pool.getHikariPoolMXBean();
+            return bean != null ? value.applyAsInt(bean) : 0;
+        }, "bookapi.pool.connections." + state, "pool", pool.getPoolName());
+    }
+}
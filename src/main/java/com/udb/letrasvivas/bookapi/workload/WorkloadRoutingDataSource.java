@@ -0,0 +1,53 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Picks the connection pool for the current {@link WorkloadContext}.
+ * Anything that is not a read-only transaction uses the write pool, so a
+ * write issued from a search endpoint still cannot exhaust the read pools
+ * and reads can never starve writes. Work outside a request (seeding,
+ * schema setup) falls back to the point-read or write pool.
+ * <p>
+ * Like the replica router, this must sit behind a lazy connection proxy so
+ * that the read-only flag is known when the pool is chosen.
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    private final Map<WorkloadType, DataSource> pools;
+
+    public WorkloadRoutingDataSource(Map<WorkloadType, DataSource> pools) {
+        this.pools = pools;
+        setTargetDataSources(new HashMap<>(pools));
+        setDefaultTargetDataSource(pools.get(WorkloadType.WRITE));
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return WorkloadType.WRITE;
+        }
+        WorkloadType workload = WorkloadContext.current();
+        return workload == null || workload == WorkloadType.WRITE ? WorkloadType.POINT_READ : workload;
+    }
+
+    public DataSource pool(WorkloadType workload) {
+        return pools.get(workload);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (DataSource pool : pools.values()) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
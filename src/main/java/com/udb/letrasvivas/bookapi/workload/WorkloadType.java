@@ -0,0 +1,22 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+/**
+ * Classes of traffic that get their own connection pool and bulkhead, so a
+ * burst in one cannot starve the others
+ */
+public enum WorkloadType {
+
+    /** Lookups by primary key */
+    POINT_READ,
+
+    /** Listings, LIKE searches, statistics and other scans */
+    SEARCH,
+
+    /** Inserts, updates and deletes */
+    WRITE;
+
+    /** Lower-case name used in property keys, pool names and metric tags */
+    public String key() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
@@ -0,0 +1,113 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void release_WhenLatencyRises_ShouldShrinkLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = perSample(20, 4, 100);
+        limiter.tryAcquire(Priority.HIGH);
+        limiter.release("search", 10 * MILLI, false);
+
+        // When
+        limiter.tryAcquire(Priority.HIGH);
+        limiter.release("search", 50 * MILLI, false);
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(10.0);
+    }
+
+    @Test
+    void release_WhenLatencyIsSteadyAndLimitIsUsed_ShouldGrowLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = perSample(4, 1, 100);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire(Priority.HIGH);
+        }
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            limiter.release("read", 10 * MILLI, false);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isGreaterThan(4.0);
+    }
+
+    @Test
+    void release_ShouldKeepSeparateBaselinePerEndpoint() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = perSample(20, 4, 100);
+        limiter.tryAcquire(Priority.HIGH);
+        limiter.release("cached-read", MILLI / 10, false);
+
+        // When
+        limiter.tryAcquire(Priority.HIGH);
+        limiter.release("search", 30 * MILLI, false);
+
+        // Then
+        assertThat(limiter.limit()).isGreaterThanOrEqualTo(20.0);
+    }
+
+    @Test
+    void release_WithMixedCacheHitsAndMisses_ShouldNotShrinkLimit() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 2.0, 0.5, 0, 10);
+
+        // When: one read in five misses the cache and takes 5 ms instead of 50 µs
+        for (int i = 0; i < 500; i++) {
+            limiter.tryAcquire(Priority.HIGH);
+            limiter.release("read", i % 5 == 0 ? 5 * MILLI : MILLI / 20, false);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(20.0);
+    }
+
+    @Test
+    void release_ShouldShrinkAtMostOncePerWindow() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 100, 2.0, 0.5, 0, 10);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(Priority.HIGH);
+            limiter.release("search", 10 * MILLI, false);
+        }
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(Priority.HIGH);
+            limiter.release("search", 50 * MILLI, false);
+        }
+
+        // Then
+        assertThat(limiter.limit()).isEqualTo(10.0);
+    }
+
+    @Test
+    void tryAcquire_ShouldShedLowPriorityFirst() {
+        // Given
+        AdaptiveConcurrencyLimiter limiter = perSample(10, 1, 10);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire(Priority.LOW)).isFalse();
+        assertThat(limiter.tryAcquire(Priority.NORMAL)).isTrue();
+        assertThat(limiter.tryAcquire(Priority.HIGH)).isTrue();
+        assertThat(limiter.inFlight()).isEqualTo(7);
+    }
+
+    /**
+     * A limiter whose every sample closes a window
+     */
+    private static AdaptiveConcurrencyLimiter perSample(int initialLimit, int minLimit, int maxLimit) {
+        return new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit, 2.0, 0.5, 0, 1);
+    }
+}
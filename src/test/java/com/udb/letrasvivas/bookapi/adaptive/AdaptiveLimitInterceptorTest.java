@@ -0,0 +1,100 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import java.sql.SQLTransientConnectionException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import com.udb.letrasvivas.bookapi.deadline.DeadlineExceededException;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AdaptiveLimitInterceptorTest {
+
+    private final AdaptiveLimitInterceptor interceptor = new AdaptiveLimitInterceptor(environment(),
+            new StaticListableBeanFactory().getBeanProvider(MetricsRegistry.class));
+
+    @Test
+    void afterCompletion_WithClientCausedServerErrors_ShouldKeepLimit() throws Exception {
+        // When: e.g. an unknown sortBy property, which surfaces as a 500
+        for (int i = 0; i < 50; i++) {
+            complete(500, new IllegalArgumentException("No property 'nope' found for type 'Book'"));
+        }
+
+        // Then
+        assertThat(interceptor.limiter().limit()).isEqualTo(20.0);
+    }
+
+    @Test
+    void afterCompletion_WithGatewayTimeout_ShouldShrinkLimit() throws Exception {
+        // When
+        complete(504, new DeadlineExceededException("search"));
+
+        // Then
+        assertThat(interceptor.limiter().limit()).isEqualTo(10.0);
+    }
+
+    @Test
+    void afterCompletion_WithPoolTimeoutBehindAnotherException_ShouldShrinkLimit() throws Exception {
+        // When
+        complete(500, new CannotCreateTransactionException("Could not open JPA EntityManager",
+                new SQLTransientConnectionException("Connection is not available, request timed out")));
+
+        // Then
+        assertThat(interceptor.limiter().limit()).isEqualTo(10.0);
+    }
+
+    @Test
+    void isOverload_ShouldIgnoreConflictsAndClientErrors() {
+        assertThat(AdaptiveLimitInterceptor.isOverload(409, new CannotAcquireLockException("locked"))).isFalse();
+        assertThat(AdaptiveLimitInterceptor.isOverload(400, null)).isFalse();
+        assertThat(AdaptiveLimitInterceptor.isOverload(503, null)).isTrue();
+    }
+
+    /**
+     * Run one request through the interceptor whose handler failed with
+     * {@code ex}, which the exception handler turned into {@code status}
+     */
+    private void complete(int status, Exception ex) throws Exception {
+        HandlerMethod handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("search"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/search");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request, response, handler)).isTrue();
+        request.setAttribute(DispatcherServlet.EXCEPTION_ATTRIBUTE, ex);
+        response.setStatus(status);
+        interceptor.afterCompletion(request, response, handler, null);
+    }
+
+    /**
+     * Every sample closes a window, and latency never counts as queueing
+     */
+    private static MockEnvironment environment() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bookapi.adaptive.initial-limit", "20")
+                .withProperty("bookapi.adaptive.min-limit", "2")
+                .withProperty("bookapi.adaptive.backoff-ratio", "0.5")
+                .withProperty("bookapi.adaptive.tolerance", "1000000")
+                .withProperty("bookapi.adaptive.window", "0ms")
+                .withProperty("bookapi.adaptive.min-samples", "1");
+        environment.setConversionService(new ApplicationConversionService());
+        return environment;
+    }
+
+    static class Endpoints {
+
+        @Workload(WorkloadType.SEARCH)
+        public void search() {
+        }
+    }
+}
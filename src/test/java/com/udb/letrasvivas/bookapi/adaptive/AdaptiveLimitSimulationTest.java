@@ -0,0 +1,152 @@
+package com.udb.letrasvivas.bookapi.adaptive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Drives an {@link AdaptiveConcurrencyLimiter} with many simulated clients
+ * against a simulated database that can only run a few transactions at a
+ * time, and checks that the limit backs off to roughly that capacity and
+ * sheds low-priority work first. Time is simulated too, so the outcome does
+ * not depend on how busy the machine running the tests is.
+ */
+class AdaptiveLimitSimulationTest {
+
+    private static final int DATABASE_CAPACITY = 4;
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void slowDatabase_ShouldShrinkLimitAndShedLowPriorityFirst() {
+        // Given
+        Simulation simulation = new Simulation();
+        AdaptiveConcurrencyLimiter limiter = simulation.limiter;
+        Map<Priority, long[]> admitted = counters();
+        Map<Priority, long[]> shed = counters();
+        // A few clients establish the normal latency
+        simulation.runClients(3, 1500 * MILLI, counters(), counters());
+
+        // When
+        simulation.runClients(24, 2000 * MILLI, admitted, shed);
+
+        // Then
+        assertThat(limiter.limit()).isLessThan(DATABASE_CAPACITY * 3);
+        assertThat(shed.get(Priority.LOW)[0]).isGreaterThan(shed.get(Priority.HIGH)[0]);
+        assertThat(admitted.get(Priority.HIGH)[0]).isGreaterThan(admitted.get(Priority.LOW)[0]);
+        assertThat(limiter.inFlight()).isZero();
+    }
+
+    @Test
+    void fewClients_ShouldKeepLimit() {
+        // Given
+        Simulation simulation = new Simulation();
+
+        // When
+        simulation.runClients(3, 2000 * MILLI, counters(), counters());
+
+        // Then
+        assertThat(simulation.limiter.limit()).isEqualTo(32.0);
+    }
+
+    private static Map<Priority, long[]> counters() {
+        Map<Priority, long[]> counters = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            counters.put(priority, new long[1]);
+        }
+        return counters;
+    }
+
+    /**
+     * Clients that send their next request as soon as the last one returns,
+     * or 1 ms after it was shed, to a database that runs
+     * {@link #DATABASE_CAPACITY} transactions at once and queues the rest
+     */
+    private static final class Simulation {
+
+        private final PriorityQueue<Event> events = new PriorityQueue<>(
+                Comparator.comparingLong(Event::time).thenComparingLong(Event::sequence));
+        private final Queue<Transaction> waiting = new ArrayDeque<>();
+        private final AdaptiveConcurrencyLimiter limiter;
+        private long now;
+        private long sequence;
+        private int running;
+
+        Simulation() {
+            this.limiter = new AdaptiveConcurrencyLimiter(32, 2, 64, 2.0, 0.8, 50 * MILLI, 10, () -> now);
+        }
+
+        void runClients(int count, long nanos, Map<Priority, long[]> admitted, Map<Priority, long[]> shed) {
+            long end = now + nanos;
+            for (int c = 0; c < count; c++) {
+                Priority priority = Priority.values()[c % Priority.values().length];
+                schedule(now, () -> send(priority, end, admitted, shed));
+            }
+            while (!events.isEmpty()) {
+                Event event = events.poll();
+                now = event.time();
+                event.action().run();
+            }
+        }
+
+        private void send(Priority priority, long end, Map<Priority, long[]> admitted, Map<Priority, long[]> shed) {
+            if (now >= end) {
+                return;
+            }
+            if (!limiter.tryAcquire(priority)) {
+                shed.get(priority)[0]++;
+                schedule(now + MILLI, () -> send(priority, end, admitted, shed));
+                return;
+            }
+            admitted.get(priority)[0]++;
+            Transaction transaction = new Transaction(priority, now, () -> send(priority, end, admitted, shed));
+            if (running < DATABASE_CAPACITY) {
+                start(transaction);
+            } else {
+                waiting.add(transaction);
+            }
+        }
+
+        private void start(Transaction transaction) {
+            running++;
+            schedule(now + serviceNanos(transaction.priority()), () -> {
+                running--;
+                limiter.release(transaction.priority(), now - transaction.sent(), false);
+                Transaction next = waiting.poll();
+                if (next != null) {
+                    start(next);
+                }
+                transaction.then().run();
+            });
+        }
+
+        private void schedule(long time, Runnable action) {
+            events.add(new Event(time, sequence++, action));
+        }
+
+        /**
+         * A point read (high priority), an advanced search (normal) or an
+         * unpaginated title search (low)
+         */
+        private static long serviceNanos(Priority priority) {
+            return switch (priority) {
+                case HIGH -> 2 * MILLI;
+                case NORMAL -> 5 * MILLI;
+                case LOW -> 10 * MILLI;
+            };
+        }
+    }
+
+    private record Event(long time, long sequence, Runnable action) {
+    }
+
+    private record Transaction(Priority priority, long sent, Runnable then) {
+    }
+}
@@ -1,23 +1,34 @@
 package com.udb.letrasvivas.bookapi.book.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchRequest;
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
 import com.udb.letrasvivas.bookapi.book.dto.BookDto;
 import com.udb.letrasvivas.bookapi.book.exception.BookNotFoundException;
 import com.udb.letrasvivas.bookapi.book.exception.DuplicateBookException;
 import com.udb.letrasvivas.bookapi.book.model.Book;
 import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.ratelimit.EndpointGroup;
+import com.udb.letrasvivas.bookapi.ratelimit.RateLimitExceededException;
+import com.udb.letrasvivas.bookapi.resilience.CircuitOpenException;
+import com.udb.letrasvivas.bookapi.workload.BulkheadFullException;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
@@ -29,6 +40,8 @@ import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+// @MockBean replaces beans at refresh time, which an AOT-processed context cannot do
+@DisabledInAotMode
 @WebMvcTest(BookController.class)
 class BookControllerTest {
 
@@ -96,6 +109,105 @@ class BookControllerTest {
                 .andExpect(jsonPath("$.message").value("Book with id 1 not found"));
     }
 
+    @Test
+    void getBooksByIds_ShouldReturnBooksAndMissingIds() throws Exception {
+        // Given
+        BookBatchResponse response = BookBatchResponse.builder()
+                .books(List.of(createTestBook(2L, "Test Book 2", "Author 2", 2021),
+                        createTestBook(1L, "Test Book 1", "Author 1", 2020)))
+                .missingIds(List.of(99L))
+                .build();
+        when(bookService.getBooksByIds(List.of(2L, 1L, 99L))).thenReturn(response);
+
+        // When & Then
+        mockMvc.perform(get("/api/books").param("ids", "2,1,99"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.books.length()").value(2))
+                .andExpect(jsonPath("$.books[0].id").value(2))
+                .andExpect(jsonPath("$.books[1].id").value(1))
+                .andExpect(jsonPath("$.missingIds[0]").value(99));
+    }
+
+    @Test
+    void getBooksByIdsBatch_WithEmptyIds_ShouldReturnBadRequest() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/books/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new BookBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Error"));
+    }
+
+    @Test
+    void getBookById_WhenRateLimited_ShouldReturnTooManyRequests() throws Exception {
+        // Given
+        when(bookService.getBookById(1L))
+                .thenThrow(new RateLimitExceededException(EndpointGroup.READS, Duration.ofMillis(1500)));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "2"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.error").value("Too Many Requests"));
+    }
+
+    @Test
+    void toggleBookAvailability_WhenConflictsPersist_ShouldReturnConflict() throws Exception {
+        // Given
+        when(bookService.toggleBookAvailability(1L))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Book.class, 1L));
+
+        // When & Then
+        mockMvc.perform(patch("/api/books/1/availability"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409))
+                .andExpect(jsonPath("$.error").value("Conflict"));
+    }
+
+    @Test
+    void createBook_WhenDatabaseCircuitIsOpen_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        BookDto bookDto = new BookDto("Rayuela", "Julio Cortazar", 1963,
+                "A novel", "Fiction", 300, 29.99);
+        when(bookService.createBook(any(BookDto.class))).thenThrow(new CircuitOpenException(7));
+
+        // When & Then
+        mockMvc.perform(post("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(bookDto)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "7"))
+                .andExpect(jsonPath("$.status").value(503))
+                .andExpect(jsonPath("$.error").value("Service Unavailable"));
+    }
+
+    @Test
+    void searchBooksAdvanced_WhenQueryTimesOut_ShouldReturnGatewayTimeout() throws Exception {
+        // Given
+        when(bookService.searchBooksAdvanced(any(), any(), any(), any(), any(), any(), any(), any(),
+                any(Pageable.class))).thenThrow(new QueryTimeoutException("canceling statement"));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/search").header("X-Request-Timeout", "100").param("title", "a"))
+                .andExpect(status().isGatewayTimeout())
+                .andExpect(jsonPath("$.status").value(504))
+                .andExpect(jsonPath("$.error").value("Gateway Timeout"));
+    }
+
+    @Test
+    void searchBooksAdvanced_WhenBulkheadIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        // Given
+        when(bookService.searchBooksAdvanced(any(), any(), any(), any(), any(), any(), any(), any(),
+                any(Pageable.class))).thenThrow(new BulkheadFullException(WorkloadType.SEARCH));
+
+        // When & Then
+        mockMvc.perform(get("/api/books/search"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.status").value(503));
+    }
+
     @Test
     void searchBooksAdvanced_WithMultipleCriteria_ShouldReturnFilteredResults() throws Exception {
         // Given
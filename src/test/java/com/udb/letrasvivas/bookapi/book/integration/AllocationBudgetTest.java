@@ -0,0 +1,252 @@
+package com.udb.letrasvivas.bookapi.book.integration;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import com.udb.letrasvivas.bookapi.config.CacheConfig;
+import com.udb.letrasvivas.bookapi.workload.Workload;
+import com.udb.letrasvivas.bookapi.workload.WorkloadType;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.Assumptions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Bytes allocated on the request thread per request for the hot endpoints,
+ * measured with {@link com.sun.management.ThreadMXBean} around MockMvc
+ * calls once the path has been JIT-compiled, minus what an empty request
+ * through the same filters and interceptors allocates. The empty request
+ * has a budget of its own, with rate limiting and the other production
+ * interceptors switched on, so garbage added to the shared pipeline is
+ * caught too. Each budget is a few hundred bytes to a few KB over what is
+ * allocated today, so new garbage on these paths (boxing, eager log
+ * arguments, per-request builders, extra hydration) fails the test.
+ * <p>
+ * The numbers include, since H2 runs embedded on the calling thread, the
+ * database engine; they are only meaningful relative to themselves.
+ * Measured values are written to {@code target/allocation-budgets.txt}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:allocationdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        // Many requests from one client: the limiter runs as in production but never refuses
+        "bookapi.ratelimit.reads.rate=1000000",
+        "bookapi.ratelimit.reads.burst=1000000",
+        "bookapi.ratelimit.searches.rate=1000000",
+        "bookapi.ratelimit.searches.burst=1000000",
+        "bookapi.ratelimit.writes.rate=1000000",
+        "bookapi.ratelimit.writes.burst=1000000",
+        // The production path: unsampled requests are neither traced nor access-logged
+        "bookapi.tracing.sampling-ratio=0",
+        "bookapi.access-log.success-sample-rate=0"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(AllocationBudgetTest.BaselineConfig.class)
+class AllocationBudgetTest {
+
+    private static final int WARMUP_REQUESTS = Integer.getInteger("allocation.warmup", 1_000);
+    private static final int MEASURED_REQUESTS = Integer.getInteger("allocation.requests", 200);
+    private static final Path REPORT = Path.of("target/allocation-budgets.txt");
+    private static final Map<String, Long> MEASURED = new TreeMap<>();
+    private static final String BASELINE = "emptyRequest";
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Long id;
+
+    @BeforeAll
+    static void requireAllocationCounting() {
+        assumeThat(THREADS.isThreadAllocatedMemorySupported()).isTrue();
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @BeforeEach
+    void setUp() {
+        Book book = new Book();
+        book.setTitle("Allocation Book");
+        book.setAuthor("Allocation Author");
+        book.setGenre("Fiction");
+        book.setPublicationYear(2001);
+        book.setPrice(new BigDecimal("12.50"));
+        book.setIsAvailable(true);
+        id = bookRepository.save(book).getId();
+    }
+
+    @AfterAll
+    static void writeReport() throws IOException {
+        Files.createDirectories(REPORT.getParent());
+        StringBuilder report = new StringBuilder();
+        MEASURED.forEach((endpoint, bytes) -> report.append(String.format(Locale.ROOT, "%-14s %,10d B/request%n",
+                endpoint, bytes)));
+        Files.writeString(REPORT, report);
+    }
+
+    @Test
+    void emptyRequest_ShouldStayWithinAllocationBudget() throws Exception {
+        // What every request pays: filters, rate limiting, adaptive limit, deadline and bulkhead
+        long budgetBytes = 60_000;
+        long allocated = baseline();
+        assertThat(allocated)
+                .as("an empty request allocates %,d bytes (budget %,d)", allocated, budgetBytes)
+                .isLessThanOrEqualTo(budgetBytes);
+    }
+
+    @Test
+    void getBookById_ShouldStayWithinAllocationBudget() throws Exception {
+        assertWithinBudget("getBookById", 20_000, i -> get("/api/books/{id}", id));
+    }
+
+    @Test
+    void getBookByIdCacheMiss_ShouldStayWithinAllocationBudget() throws Exception {
+        // Evicted after every request, so each one loads and hydrates the entity
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        assertWithinBudget("getBookByIdMiss", 48_000, i -> get("/api/books/{id}", id), () -> books.evict(id));
+    }
+
+    @Test
+    void listPage_ShouldStayWithinAllocationBudget() throws Exception {
+        assertWithinBudget("listPage", 168_000, i -> get("/api/books")
+                .param("page", String.valueOf(i % 3)).param("size", "10").param("sortBy", "title"));
+    }
+
+    @Test
+    void search_ShouldStayWithinAllocationBudget() throws Exception {
+        assertWithinBudget("search", 190_000, i -> get("/api/books/search")
+                .param("title", "Allocation").param("genre", "Fiction").param("minPrice", "5.00")
+                .param("isAvailable", "true").param("size", "10"));
+    }
+
+    @Test
+    void createBook_ShouldStayWithinAllocationBudget() throws Exception {
+        // The duplicate check reads more as the table grows, so each created book is removed again
+        assertWithinBudget("createBook", 142_000, i -> post("/api/books")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Created Book " + i + "\", \"author\": \"Allocation Author\","
+                        + " \"publicationYear\": 2001, \"genre\": \"Fiction\", \"price\": 12.5}"),
+                () -> jdbcTemplate.update("DELETE FROM books WHERE title LIKE 'Created Book%'"));
+    }
+
+    /**
+     * Issue the request until the path is compiled, then compare the median
+     * allocation of the next requests with the budget
+     */
+    private void assertWithinBudget(String endpoint, long budgetBytes, IntFunction<RequestBuilder> request)
+            throws Exception {
+        assertWithinBudget(endpoint, budgetBytes, request, () -> { });
+    }
+
+    private void assertWithinBudget(String endpoint, long budgetBytes, IntFunction<RequestBuilder> request,
+            Runnable cleanUp) throws Exception {
+        long baseline = baseline();
+        long allocated = median(request, cleanUp) - baseline;
+        MEASURED.put(endpoint, allocated);
+        assertThat(allocated)
+                .as("%s allocates %,d bytes per request over an empty request (budget %,d)",
+                        endpoint, allocated, budgetBytes)
+                .isLessThanOrEqualTo(budgetBytes);
+    }
+
+    /**
+     * What MockMvc, the filters and the interceptors allocate for a request
+     * whose handler does nothing
+     */
+    private long baseline() throws Exception {
+        Long baseline = MEASURED.get(BASELINE);
+        if (baseline == null) {
+            baseline = median(i -> get(BaselineController.PATH), () -> { });
+            MEASURED.put(BASELINE, baseline);
+        }
+        return baseline;
+    }
+
+    /**
+     * Median allocation of the request once its path is compiled; every
+     * response must be a success, checked outside the measured window
+     */
+    private long median(IntFunction<RequestBuilder> request, Runnable cleanUp) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            mockMvc.perform(request.apply(i)).andExpect(status().is2xxSuccessful());
+            cleanUp.run();
+        }
+        long[] allocated = new long[MEASURED_REQUESTS];
+        for (int i = 0; i < MEASURED_REQUESTS; i++) {
+            RequestBuilder builder = request.apply(WARMUP_REQUESTS + i);
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            ResultActions result = mockMvc.perform(builder);
+            allocated[i] = THREADS.getCurrentThreadAllocatedBytes() - before;
+            result.andExpect(status().is2xxSuccessful());
+            cleanUp.run();
+        }
+        Arrays.sort(allocated);
+        return allocated[allocated.length / 2];
+    }
+
+    @TestConfiguration
+    static class BaselineConfig {
+
+        @Bean
+        BaselineController allocationBaselineController() {
+            return new BaselineController();
+        }
+    }
+
+    /**
+     * A point-read endpoint that does nothing, so it passes through every
+     * interceptor a real one does
+     */
+    @RestController
+    static class BaselineController {
+
+        static final String PATH = "/api/allocation-baseline";
+
+        @GetMapping(PATH)
+        @Workload(WorkloadType.POINT_READ)
+        ResponseEntity<Void> empty() {
+            return ResponseEntity.noContent().build();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.udb.letrasvivas.bookapi.book.integration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import com.udb.letrasvivas.bookapi.logging.AccessLogFilter;
+import com.udb.letrasvivas.bookapi.tracing.RingBufferSpanExporter;
+import com.udb.letrasvivas.bookapi.tracing.Span;
+import com.udb.letrasvivas.bookapi.tracing.TraceContext;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ReactiveBookIntegrationTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private RingBufferSpanExporter ringBufferSpanExporter;
+
+    @Test
+    void getAllBooks_ShouldReturnSameTotalAsJpa() {
+        long total = bookRepository.count();
+
+        webTestClient.get()
+                .uri("/api/reactive/books?page=0&size=5&sortBy=title&sortDir=asc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(5)
+                .jsonPath("$.totalElements").isEqualTo(total);
+    }
+
+    @Test
+    void getBookById_WhenBookExists_ShouldReturnBook() {
+        Book book = bookRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0);
+
+        webTestClient.get()
+                .uri("/api/reactive/books/{id}", book.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(book.getId())
+                .jsonPath("$.title").isEqualTo(book.getTitle())
+                .jsonPath("$.author").isEqualTo(book.getAuthor());
+    }
+
+    @Test
+    void getBookById_WhenBookDoesNotExist_ShouldReturnNotFound() {
+        webTestClient.get()
+                .uri("/api/reactive/books/{id}", 999999)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("Book with id 999999 not found");
+    }
+
+    @Test
+    void searchBooksAdvanced_ShouldMatchJpaSemantics() {
+        Book book = bookRepository.findAll(PageRequest.of(0, 1, Sort.by("id"))).getContent().get(0);
+        long expected = bookRepository.findBooksWithAdvancedSearch(
+                null, book.getAuthor().toUpperCase(), null, null, null, null, null, null,
+                PageRequest.of(0, 10)).getTotalElements();
+
+        webTestClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/reactive/books/search")
+                        .queryParam("author", book.getAuthor().toUpperCase())
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.totalElements").isEqualTo(expected)
+                .jsonPath("$.content[0].author").isEqualTo(book.getAuthor());
+    }
+
+    @Test
+    void getBookById_WhenBookDoesNotExist_ShouldLogAndTraceTheFinalStatus() throws Exception {
+        // Given
+        String traceId = "5af92f3577b34da6a3ce929d0e0e4736";
+        Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER);
+        ListAppender<ILoggingEvent> lines = new ListAppender<>();
+        lines.start();
+        accessLogger.addAppender(lines);
+
+        try {
+            // When
+            webTestClient.get()
+                    .uri("/api/reactive/books/{id}", 999998)
+                    .header(TraceContext.TRACEPARENT, "00-" + traceId + "-00f067aa0ba902b7-01")
+                    .exchange()
+                    .expectStatus().isNotFound();
+
+            // Then: both are finished when the async request completes, just after the response
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while ((lines.list.isEmpty() || ringBufferSpanExporter.trace(traceId).isEmpty())
+                    && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            JsonNode line = new ObjectMapper().readTree(lines.list.get(0).getFormattedMessage());
+            assertThat(line.get("route").asText()).isEqualTo("/api/reactive/books/{id}");
+            assertThat(line.get("status").asInt()).isEqualTo(404);
+            assertThat(line.get("traceId").asText()).isEqualTo(traceId);
+            List<Span> spans = ringBufferSpanExporter.trace(traceId);
+            Span server = spans.stream().filter(Span::isRoot).findFirst().orElseThrow();
+            assertThat(server.getName()).isEqualTo("GET /api/reactive/books/{id}");
+            assertThat(server.getAttributes()).containsEntry("http.status_code", 404);
+        } finally {
+            accessLogger.detachAppender(lines);
+        }
+    }
+}
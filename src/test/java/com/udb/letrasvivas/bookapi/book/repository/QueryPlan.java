@@ -0,0 +1,115 @@
+package com.udb.letrasvivas.bookapi.book.repository;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Execution plan of one statement on the {@code books} table, as reported
+ * by {@code EXPLAIN ANALYZE} on H2 or {@code EXPLAIN (ANALYZE, BUFFERS)} on
+ * PostgreSQL, reduced to what the plan tests assert on: whether the table
+ * is read in full, which indexes are used, and a cost. The cost is
+ * engine-specific (rows scanned on H2, estimated total cost on PostgreSQL),
+ * so it is only compared with the cost of a full scan on the same engine.
+ *
+ * @param text     the plan as printed by the database
+ * @param fullScan whether every row of {@code books} is read
+ * @param indexes  indexes the plan reads, lower case
+ * @param cost     rows scanned (H2) or estimated total cost (PostgreSQL)
+ */
+record QueryPlan(String text, boolean fullScan, Set<String> indexes, double cost) {
+
+    enum Engine {
+        H2("EXPLAIN ANALYZE "),
+        POSTGRESQL("EXPLAIN (ANALYZE, BUFFERS) ");
+
+        private final String explain;
+
+        Engine(String explain) {
+            this.explain = explain;
+        }
+
+        static Engine of(Connection connection) throws SQLException {
+            String product = connection.getMetaData().getDatabaseProductName();
+            return product.toLowerCase().contains("postgres") ? POSTGRESQL : H2;
+        }
+    }
+
+    // H2: "/* PUBLIC.IDX_BOOK_GENRE: GENRE = ?1 */" is an index lookup, a bare
+    // "/* PUBLIC.IDX_BOOK_GENRE */" walks the whole index
+    private static final Pattern H2_ACCESS = Pattern.compile("/\\* PUBLIC\\.(\\w+)(\\.tableScan|:)?");
+    private static final Pattern H2_SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final Pattern PG_INDEX = Pattern.compile("(?:Index Scan|Index Only Scan|Bitmap Index Scan)"
+            + "(?: Backward)? (?:using|on) (\\w+)");
+    private static final Pattern PG_COST = Pattern.compile("cost=[\\d.]+\\.\\.([\\d.]+)");
+
+    static QueryPlan explain(Connection connection, String sql, List<Object> parameters) throws SQLException {
+        Engine engine = Engine.of(connection);
+        StringBuilder text = new StringBuilder();
+        try (PreparedStatement statement = connection.prepareStatement(engine.explain + sql)) {
+            for (int i = 0; i < parameters.size(); i++) {
+                statement.setObject(i + 1, parameters.get(i));
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    text.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return engine == Engine.H2 ? h2(text.toString()) : postgresql(text.toString());
+    }
+
+    private static QueryPlan h2(String text) {
+        Set<String> indexes = new TreeSet<>();
+        boolean fullScan = false;
+        Matcher access = H2_ACCESS.matcher(text);
+        while (access.find()) {
+            if (".tableScan".equals(access.group(2))) {
+                fullScan = true;
+            } else {
+                indexes.add(access.group(1).toLowerCase());
+                fullScan |= access.group(2) == null && !text.contains("direct lookup");
+            }
+        }
+        double cost = 0;
+        Matcher scanCount = H2_SCAN_COUNT.matcher(text);
+        while (scanCount.find()) {
+            cost += Long.parseLong(scanCount.group(1));
+        }
+        return new QueryPlan(text, fullScan, indexes, cost);
+    }
+
+    private static QueryPlan postgresql(String text) {
+        Set<String> indexes = new TreeSet<>();
+        Matcher index = PG_INDEX.matcher(text);
+        while (index.find()) {
+            indexes.add(index.group(1).toLowerCase());
+        }
+        Matcher cost = PG_COST.matcher(text);
+        return new QueryPlan(text, text.contains("Seq Scan on books"), indexes,
+                cost.find() ? Double.parseDouble(cost.group(1)) : 0);
+    }
+
+    /**
+     * The plan without figures that change from run to run (timings, row
+     * and buffer counts, costs) or with the entity's columns, for comparison
+     * with the stored baseline
+     */
+    String normalized() {
+        return text.replaceAll("SELECT\\n(    [^\\n]+,\\n)+    [^\\n]+\\nFROM", "SELECT ...\nFROM")
+                .replaceAll("scanCount: \\d+", "scanCount: n")
+                .replaceAll(" \\(cost=[^)]*\\)", "")
+                .replaceAll(" \\(actual [^)]*\\)", "")
+                .replaceAll("(?m)^\\s*(Buffers|Planning|Execution|Planning Time|Execution Time|Heap Fetches"
+                        + "|Rows Removed by \\w+|Memory Usage|Sort Method|Worker|Workers Planned|Workers Launched)"
+                        + ".*\\n", "")
+                .replaceAll("(?m)[ \\t]+$", "")
+                .strip();
+    }
+}
@@ -0,0 +1,382 @@
+package com.udb.letrasvivas.bookapi.book.repository;
+
+import com.udb.letrasvivas.bookapi.catalog.CatalogLoader;
+import com.udb.letrasvivas.bookapi.catalog.CatalogSpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.assertj.core.api.Assumptions.*;
+
+/**
+ * Runs every {@link BookRepository} query shape against a seeded catalog and
+ * checks its execution plan: shapes that should use an index must not read
+ * the whole {@code books} table, and no shape may cost more than a bounded
+ * multiple of a full scan. The normalized plans are compared with the
+ * baseline in {@code src/test/resources/query-plans/<engine>.txt}, so a
+ * change to a query or an index shows up as a plan diff in review.
+ * <p>
+ * Runs on H2 by default. Pass {@code -Dplans.datasource.url=jdbc:postgresql://...}
+ * (plus {@code .username} / {@code .password}) to run against a scratch
+ * PostgreSQL database; its {@code books} table is recreated. Regenerate the
+ * baseline with {@code -Dplans.update=true}.
+ */
+@DataJpaTest(showSql = false)
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class QueryPlanRegressionTest {
+
+    private static final int ROWS = Integer.getInteger("plans.rows", 20_000);
+    private static final int MIN_ROWS = Integer.getInteger("plans.min-rows", 10_000);
+    private static final Path BASELINE_DIRECTORY = Path.of("src/test/resources/query-plans");
+    private static final Path ACTUAL_DIRECTORY = Path.of("target/query-plans");
+
+    /**
+     * Indexed shapes must read at most this share of what a full scan reads
+     */
+    private static final double INDEXED_COST_RATIO = 0.1;
+
+    /**
+     * No shape may cost more than this many full scans
+     */
+    private static final double MAX_COST_RATIO = 2.0;
+
+    private static final List<RecordedStatement> RECORDED = new ArrayList<>();
+    private static Map<String, QueryPlan> plans;
+    private static QueryPlan fullScan;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        String url = System.getProperty("plans.datasource.url");
+        if (url == null) {
+            registry.add("spring.datasource.url", () -> "jdbc:h2:mem:plandb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE");
+            return;
+        }
+        registry.add("spring.datasource.url", () -> url);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.username", () -> System.getProperty("plans.datasource.username", "postgres"));
+        registry.add("spring.datasource.password", () -> System.getProperty("plans.datasource.password", "postgres"));
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    static Stream<Shape> shapes() {
+        PageRequest page = PageRequest.of(0, 20);
+        PageRequest byTitle = PageRequest.of(0, 20, Sort.by("title"));
+        return Stream.of(
+                indexed("findById", repository -> repository.findById(42L)),
+                indexed("findByIdIn", repository -> repository.findByIdIn(List.of(1L, 2L, 3L, 5L, 8L))),
+                indexed("findByPublicationYear", repository -> repository.findByPublicationYear(1850)),
+                indexed("findByPublicationYear(page)", repository -> repository.findByPublicationYear(1850, page)),
+                indexed("findByPublicationYearBetween",
+                        repository -> repository.findByPublicationYearBetween(1850, 1855)),
+                indexed("findByPublicationYearBetween(page)",
+                        repository -> repository.findByPublicationYearBetween(1850, 1855, page)),
+                indexed("getOldestPublicationYear", BookRepository::getOldestPublicationYear),
+                indexed("getNewestPublicationYear", BookRepository::getNewestPublicationYear),
+                scanning("findAll(page)", "unfiltered page", repository -> repository.findAll(byTitle)),
+                scanning("findByTitleContainingIgnoreCase", "leading-wildcard LIKE cannot use a B-tree index",
+                        repository -> repository.findByTitleContainingIgnoreCase("river")),
+                scanning("findByTitleContainingIgnoreCase(page)", "leading-wildcard LIKE cannot use a B-tree index",
+                        repository -> repository.findByTitleContainingIgnoreCase("river", page)),
+                scanning("findByAuthorContainingIgnoreCase", "leading-wildcard LIKE cannot use a B-tree index",
+                        repository -> repository.findByAuthorContainingIgnoreCase("garcia")),
+                scanning("findByAuthorContainingIgnoreCase(page)", "leading-wildcard LIKE cannot use a B-tree index",
+                        repository -> repository.findByAuthorContainingIgnoreCase("garcia", page)),
+                scanning("findByGenreIgnoreCase", "LOWER(genre) does not match idx_book_genre",
+                        repository -> repository.findByGenreIgnoreCase("mystery")),
+                scanning("findByGenreIgnoreCase(page)", "LOWER(genre) does not match idx_book_genre",
+                        repository -> repository.findByGenreIgnoreCase("mystery", page)),
+                scanning("findByIsAvailable(page)", "no index; most books are available",
+                        repository -> repository.findByIsAvailable(true, page)),
+                scanning("findByPriceBetween(page)", "price is not indexed",
+                        repository -> repository.findByPriceBetween(new BigDecimal("10.00"),
+                                new BigDecimal("12.00"), page)),
+                scanning("findByPageCountBetween(page)", "page_count is not indexed",
+                        repository -> repository.findByPageCountBetween(200, 220, page)),
+                scanning("findBooksWithAdvancedSearch", "optional (:param IS NULL OR ...) predicates",
+                        repository -> repository.findBooksWithAdvancedSearch(null, "garcia", "Fiction", 1950, null,
+                                null, new BigDecimal("30.00"), true, page)),
+                scanning("existsByTitleAndAuthorIgnoreCase", "LOWER() on title and author defeats their indexes",
+                        repository -> repository.existsByTitleAndAuthorIgnoreCase("The Unwritten Book", "Ana Garcia")),
+                scanning("findByTitleAndAuthorIgnoreCase", "LOWER() on title and author defeats their indexes",
+                        repository -> repository.findByTitleAndAuthorIgnoreCase("The Unwritten Book", "Ana Garcia")),
+                scanning("countAllBooks", "counts every row", BookRepository::countAllBooks),
+                scanning("countAvailableBooks", "no index; most books are available",
+                        BookRepository::countAvailableBooks),
+                scanning("getAveragePrice", "aggregates every row", BookRepository::getAveragePrice));
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        if (plans != null) {
+            return;
+        }
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM books", Long.class) == 0) {
+            new CatalogLoader(dataSource).load(catalog());
+            jdbcTemplate.execute("ANALYZE");
+        }
+
+        Map<String, QueryPlan> explained = new LinkedHashMap<>();
+        try (Connection connection = target(dataSource).getConnection()) {
+            fullScan = QueryPlan.explain(connection, "SELECT * FROM books", List.of());
+            for (Shape shape : shapes().toList()) {
+                List<RecordedStatement> statements = record(shape);
+                for (int i = 0; i < statements.size(); i++) {
+                    String label = statements.size() == 1 ? shape.name() : shape.name() + " #" + (i + 1);
+                    RecordedStatement statement = statements.get(i);
+                    explained.put(label, QueryPlan.explain(connection, statement.sql(), statement.parameters()));
+                }
+            }
+        }
+        plans = explained;
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("shapes")
+    void queryShape_ShouldHaveBoundedPlan(Shape shape) {
+        // Given
+        Map<String, QueryPlan> shapePlans = new TreeMap<>(plans);
+        shapePlans.keySet().removeIf(label -> !label.equals(shape.name()) && !label.startsWith(shape.name() + " #"));
+
+        // Then
+        assertThat(shapePlans).as("statements of %s", shape.name()).isNotEmpty();
+        shapePlans.forEach((label, plan) -> {
+            assertThat(plan.cost())
+                    .as("cost of %s, against %s for a full scan:%n%s", label, fullScan.cost(), plan.text())
+                    .isLessThanOrEqualTo(fullScan.cost() * MAX_COST_RATIO);
+            if (shape.indexed()) {
+                assumeThat(ROWS).as("table large enough for plans to prefer indexes").isGreaterThanOrEqualTo(MIN_ROWS);
+                assertThat(plan.fullScan()).as("%s reads all of books:%n%s", label, plan.text()).isFalse();
+                assertThat(plan.cost())
+                        .as("cost of %s, against %s for a full scan:%n%s", label, fullScan.cost(), plan.text())
+                        .isLessThanOrEqualTo(fullScan.cost() * INDEXED_COST_RATIO);
+            }
+        });
+    }
+
+    @Test
+    void plans_ShouldMatchBaseline() throws IOException {
+        // Given
+        String engine = plans.values().iterator().next().text().contains("/*") ? "h2" : "postgresql";
+        String actual = render(plans);
+        Files.createDirectories(ACTUAL_DIRECTORY);
+        Files.writeString(ACTUAL_DIRECTORY.resolve(engine + ".txt"), actual);
+        Path baseline = BASELINE_DIRECTORY.resolve(engine + ".txt");
+
+        // When
+        if (Boolean.getBoolean("plans.update")) {
+            Files.createDirectories(BASELINE_DIRECTORY);
+            Files.writeString(baseline, actual);
+        }
+        assumeThat(baseline).as("baseline for %s; create it with -Dplans.update=true", engine).exists();
+        Map<String, String> expected = parse(Files.readString(baseline));
+
+        // Then
+        List<String> changed = new ArrayList<>();
+        Map<String, String> current = parse(actual);
+        for (String label : union(expected, current)) {
+            if (!String.valueOf(expected.get(label)).equals(String.valueOf(current.get(label)))) {
+                changed.add("### " + label + "\n--- baseline\n" + expected.get(label) + "\n+++ actual\n"
+                        + current.get(label));
+            }
+        }
+        assertThat(changed)
+                .as("plans differ from %s (full output in %s; accept with -Dplans.update=true)", baseline,
+                        ACTUAL_DIRECTORY.resolve(engine + ".txt"))
+                .isEmpty();
+    }
+
+    private List<RecordedStatement> record(Shape shape) {
+        synchronized (RECORDED) {
+            RECORDED.clear();
+        }
+        shape.query().accept(bookRepository);
+        synchronized (RECORDED) {
+            return List.copyOf(RECORDED);
+        }
+    }
+
+    private static CatalogSpec catalog() {
+        return new Binder(new MapConfigurationPropertySource(Map.of(
+                "bookapi.catalog.rows", String.valueOf(ROWS))))
+                .bindOrCreate("bookapi.catalog", CatalogSpec.class);
+    }
+
+    private static String render(Map<String, QueryPlan> plans) {
+        StringBuilder text = new StringBuilder();
+        plans.forEach((label, plan) -> text.append("### ").append(label).append('\n')
+                .append(plan.normalized()).append("\n\n"));
+        return text.toString();
+    }
+
+    private static Map<String, String> parse(String rendered) {
+        Map<String, String> plans = new LinkedHashMap<>();
+        for (String block : rendered.split("(?m)^### ")) {
+            if (!block.isBlank()) {
+                int newline = block.indexOf('\n');
+                plans.put(block.substring(0, newline), block.substring(newline + 1).strip());
+            }
+        }
+        return plans;
+    }
+
+    private static List<String> union(Map<String, String> left, Map<String, String> right) {
+        List<String> labels = new ArrayList<>(left.keySet());
+        right.keySet().stream().filter(label -> !left.containsKey(label)).forEach(labels::add);
+        return labels;
+    }
+
+    private static DataSource target(DataSource dataSource) {
+        return dataSource instanceof DelegatingDataSource delegating ? delegating.getTargetDataSource() : dataSource;
+    }
+
+    private static Shape indexed(String name, Consumer<BookRepository> query) {
+        return new Shape(name, true, null, query);
+    }
+
+    private static Shape scanning(String name, String reason, Consumer<BookRepository> query) {
+        return new Shape(name, false, reason, query);
+    }
+
+    /**
+     * One repository call; {@code reason} says why a full scan is accepted
+     */
+    record Shape(String name, boolean indexed, String reason, Consumer<BookRepository> query) {
+
+        @Override
+        public String toString() {
+            return indexed ? name : name + " (scan: " + reason + ")";
+        }
+    }
+
+    record RecordedStatement(String sql, List<Object> parameters) {
+    }
+
+    /**
+     * Wraps the data source so the SQL Hibernate issues for a repository
+     * call, with its bound parameters, can be explained afterwards
+     */
+    @TestConfiguration
+    @ImportRuntimeHints(RecordingConfig.RecordingHints.class)
+    static class RecordingConfig {
+
+        /** For {@code -PnativeTest}: the recording proxies and the JDBC methods they forward */
+        static class RecordingHints implements RuntimeHintsRegistrar {
+
+            @Override
+            public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+                hints.proxies().registerJdkProxy(Connection.class).registerJdkProxy(PreparedStatement.class);
+                hints.reflection().registerTypes(List.of(TypeReference.of(Connection.class),
+                        TypeReference.of(PreparedStatement.class)), hint -> hint.withMembers(MemberCategory.INVOKE_PUBLIC_METHODS));
+            }
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof RecordingDataSource)
+                            ? new RecordingDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    static class RecordingDataSource extends DelegatingDataSource {
+
+        RecordingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        Object result = invoke(connection, method, args);
+                        if (result instanceof PreparedStatement statement && method.getName().equals("prepareStatement")
+                                && ((String) args[0]).stripLeading().toLowerCase().startsWith("select")) {
+                            return recording(statement, (String) args[0]);
+                        }
+                        return result;
+                    });
+        }
+
+        private static PreparedStatement recording(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new TreeMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(RecordingDataSource.class.getClassLoader(),
+                    new Class<?>[] {PreparedStatement.class}, (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                            parameters.put(index, args[1]);
+                        } else if (name.startsWith("execute")) {
+                            synchronized (RECORDED) {
+                                RECORDED.add(new RecordedStatement(sql, new ArrayList<>(parameters.values())));
+                            }
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, java.lang.reflect.Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.udb.letrasvivas.bookapi.book.service;
 
+import com.udb.letrasvivas.bookapi.book.dto.BookBatchResponse;
 import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.exception.BatchSizeExceededException;
 import com.udb.letrasvivas.bookapi.book.exception.BookNotFoundException;
 import com.udb.letrasvivas.bookapi.book.exception.DuplicateBookException;
 import com.udb.letrasvivas.bookapi.book.model.Book;
 import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,12 +31,17 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
+// Mockito generates mock classes at runtime, which a native image cannot load
+@DisabledInNativeImage
 @ExtendWith(MockitoExtension.class)
 class BookServiceTest {
 
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private BookService bookService;
 
@@ -435,6 +445,37 @@ class BookServiceTest {
         verify(bookRepository).findByIsAvailable(true, PageRequest.of(0, 10));
     }
 
+    @Test
+    void getBooksByIds_ShouldServeCachedBooksAndFetchTheRestInRequestOrder() {
+        // Given
+        ConcurrentMapCache cache = new ConcurrentMapCache("books");
+        Book cachedBook = createTestBook(2L, "Cached Book", "Test Author", 2019);
+        cache.put(2L, cachedBook);
+        Book otherBook = createTestBook(3L, "Other Book", "Test Author", 2021);
+        when(cacheManager.getCache("books")).thenReturn(cache);
+        when(bookRepository.findByIdIn(List.of(3L, 1L, 99L))).thenReturn(List.of(testBook, otherBook));
+
+        // When
+        BookBatchResponse result = bookService.getBooksByIds(List.of(3L, 2L, 1L, 99L, 3L));
+
+        // Then
+        assertThat(result.getBooks()).extracting(Book::getId).containsExactly(3L, 2L, 1L);
+        assertThat(result.getMissingIds()).containsExactly(99L);
+        assertThat(cache.get(1L, Book.class)).isSameAs(testBook);
+        verify(bookRepository).findByIdIn(List.of(3L, 1L, 99L));
+    }
+
+    @Test
+    void getBooksByIds_WithTooManyIds_ShouldThrowException() {
+        // Given
+        List<Long> ids = java.util.stream.LongStream.rangeClosed(1, 501).boxed().toList();
+
+        // When & Then
+        assertThatThrownBy(() -> bookService.getBooksByIds(ids))
+                .isInstanceOf(BatchSizeExceededException.class);
+        verify(bookRepository, never()).findByIdIn(any());
+    }
+
     private Book createTestBook(Long id, String title, String author, Integer publicationYear) {
         Book book = new Book();
         book.setId(id);
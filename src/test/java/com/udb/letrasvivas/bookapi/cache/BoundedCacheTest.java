@@ -0,0 +1,55 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    private final BoundedCache cache = new BoundedCache("books", 10, Duration.ofMinutes(10),
+            value -> value instanceof Book book ? BookMapper.copy(book) : value);
+
+    @Test
+    void get_ShouldHandEveryCallerItsOwnCopy() {
+        // Given
+        Book book = book();
+        cache.put(1L, book);
+
+        // When
+        Book first = cache.get(1L, Book.class);
+        first.setIsAvailable(false);
+        book.setTitle("Changed by the writer");
+        Book second = cache.get(1L, Book.class);
+
+        // Then
+        assertThat(first).isNotSameAs(second).isNotSameAs(book);
+        assertThat(second.getIsAvailable()).isTrue();
+        assertThat(second.getTitle()).isEqualTo("Rayuela");
+    }
+
+    @Test
+    void get_WithLoader_ShouldNotShareTheLoadedValue() {
+        // Given
+        Book loaded = book();
+
+        // When
+        Book first = cache.get(1L, () -> loaded);
+        first.setIsAvailable(false);
+
+        // Then
+        assertThat(cache.get(1L, () -> book()).getIsAvailable()).isTrue();
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    private static Book book() {
+        Book book = new Book();
+        book.setId(1L);
+        book.setTitle("Rayuela");
+        book.setIsAvailable(true);
+        return book;
+    }
+}
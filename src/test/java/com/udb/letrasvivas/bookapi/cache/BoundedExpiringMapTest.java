@@ -0,0 +1,75 @@
+package com.udb.letrasvivas.bookapi.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BoundedExpiringMapTest {
+
+    @Test
+    void put_BeyondMaximumSize_ShouldEvictLeastRecentlyUsedEntries() throws Exception {
+        // Given
+        BoundedExpiringMap<Integer, String> map = new BoundedExpiringMap<>(10, null, null);
+        for (int i = 0; i < 10; i++) {
+            map.put(i, "value-" + i);
+            Thread.sleep(1);
+        }
+        map.get(0);
+
+        // When
+        map.put(10, "value-10");
+
+        // Then
+        assertThat(map.size()).isEqualTo(9);
+        assertThat(map.get(0)).isEqualTo("value-0");
+        assertThat(map.get(10)).isEqualTo("value-10");
+        assertThat(map.get(1)).isNull();
+    }
+
+    @Test
+    void get_AfterTimeToLive_ShouldReturnNull() throws Exception {
+        // Given
+        BoundedExpiringMap<String, String> map = new BoundedExpiringMap<>(10, Duration.ofMillis(20), null);
+        map.put("key", "value");
+
+        // When
+        Thread.sleep(40);
+
+        // Then
+        assertThat(map.get("key")).isNull();
+        assertThat(map.size()).isZero();
+    }
+
+    @Test
+    void cleanUp_ShouldDropIdleEntriesOnly() throws Exception {
+        // Given
+        BoundedExpiringMap<String, String> map = new BoundedExpiringMap<>(10, null, Duration.ofMillis(50));
+        map.put("idle", "value");
+        map.put("active", "value");
+
+        // When
+        Thread.sleep(30);
+        map.get("active");
+        Thread.sleep(30);
+        map.cleanUp();
+
+        // Then
+        assertThat(map.get("idle")).isNull();
+        assertThat(map.get("active")).isEqualTo("value");
+    }
+
+    @Test
+    void computeIfAbsent_WhenPresent_ShouldNotRecompute() {
+        // Given
+        BoundedExpiringMap<String, String> map = new BoundedExpiringMap<>(10, null, null);
+        map.put("key", "original");
+
+        // When
+        String result = map.computeIfAbsent("key", k -> "recomputed");
+
+        // Then
+        assertThat(result).isEqualTo("original");
+    }
+}
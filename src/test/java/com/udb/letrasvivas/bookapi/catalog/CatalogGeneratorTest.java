@@ -0,0 +1,98 @@
+package com.udb.letrasvivas.bookapi.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogGeneratorTest {
+
+    @Test
+    void next_WithSameSeed_ShouldProduceSameRows() {
+        // Given
+        CatalogGenerator first = new CatalogGenerator(spec(Map.of("seed", "7")));
+        CatalogGenerator second = new CatalogGenerator(spec(Map.of("seed", "7")));
+        CatalogGenerator other = new CatalogGenerator(spec(Map.of("seed", "8")));
+
+        // When
+        List<CatalogGenerator.BookRow> rows = rows(first, 3, 500);
+
+        // Then
+        assertThat(rows).isEqualTo(rows(second, 3, 500));
+        assertThat(rows).isNotEqualTo(rows(other, 3, 500));
+    }
+
+    @Test
+    void next_ShouldStayWithinConfiguredRanges() {
+        // Given
+        CatalogSpec spec = spec(Map.of());
+        CatalogGenerator generator = new CatalogGenerator(spec);
+
+        // When
+        List<CatalogGenerator.BookRow> rows = rows(generator, 0, 10_000);
+
+        // Then
+        assertThat(rows).allSatisfy(row -> {
+            assertThat(row.title()).isNotBlank();
+            assertThat(row.author()).isNotBlank();
+            assertThat(row.publicationYear()).isBetween(1800, 2024);
+            assertThat(row.pageCount()).isBetween(100, 1000);
+            assertThat(row.price()).isBetween(new BigDecimal("5.99"), new BigDecimal("51.00"));
+            assertThat(row.price().scale()).isEqualTo(2);
+            assertThat(row.description()).hasSizeLessThanOrEqualTo(1000);
+            assertThat(row.createdAt()).isBefore(spec.referenceTime());
+            assertThat(row.updatedAt()).isAfterOrEqualTo(row.createdAt()).isBeforeOrEqualTo(spec.referenceTime());
+        });
+    }
+
+    @Test
+    void next_ShouldSkewAuthorsAndGenresTowardsTheMostPopular() {
+        // Given
+        CatalogGenerator generator = new CatalogGenerator(spec(Map.of()));
+
+        // When
+        List<CatalogGenerator.BookRow> rows = rows(generator, 0, 10_000);
+        Map<String, Long> byAuthor = rows.stream()
+                .collect(Collectors.groupingBy(CatalogGenerator.BookRow::author, Collectors.counting()));
+        Map<String, Long> byGenre = rows.stream()
+                .collect(Collectors.groupingBy(CatalogGenerator.BookRow::genre, Collectors.counting()));
+
+        // Then
+        assertThat(byAuthor.get(CatalogGenerator.authorName(0))).isGreaterThan(10 * byAuthor.getOrDefault(
+                CatalogGenerator.authorName(99), 1L));
+        assertThat(byGenre.get("Fiction")).isGreaterThan(byGenre.getOrDefault("Law", 0L) * 5);
+        assertThat(byAuthor).hasSizeGreaterThan(500);
+    }
+
+    @Test
+    void authorName_ShouldBeDistinctPerRank() {
+        assertThat(java.util.stream.IntStream.range(0, 20_000).mapToObj(CatalogGenerator::authorName)
+                .collect(Collectors.toMap(Function.identity(), name -> 1, Integer::sum)))
+                .hasSize(20_000);
+    }
+
+    private static List<CatalogGenerator.BookRow> rows(CatalogGenerator generator, long chunk, int count) {
+        SplittableRandom random = generator.random(chunk);
+        List<CatalogGenerator.BookRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(generator.next(random));
+        }
+        return rows;
+    }
+
+    static CatalogSpec spec(Map<String, String> properties) {
+        Map<String, String> prefixed = properties.entrySet().stream()
+                .collect(Collectors.toMap(entry -> "bookapi.catalog." + entry.getKey(), Map.Entry::getValue));
+        return new Binder(new MapConfigurationPropertySource(prefixed))
+                .bindOrCreate("bookapi.catalog", CatalogSpec.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.udb.letrasvivas.bookapi.catalog;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogLoaderTest {
+
+    @Test
+    void load_WithSeveralThreads_ShouldInsertEveryRowOnce() {
+        // Given
+        JdbcTemplate first = jdbcTemplate("catalog-loader-1");
+        JdbcTemplate second = jdbcTemplate("catalog-loader-2");
+        CatalogSpec parallel = CatalogGeneratorTest.spec(Map.of("rows", "25000", "threads", "4", "batch-size", "500"));
+        CatalogSpec serial = CatalogGeneratorTest.spec(Map.of("rows", "25000", "threads", "1"));
+
+        // When
+        long inserted = new CatalogLoader(first.getDataSource()).load(parallel);
+        new CatalogLoader(second.getDataSource()).load(serial);
+
+        // Then
+        assertThat(inserted).isEqualTo(25_000);
+        assertThat(first.queryForObject("SELECT COUNT(*) FROM books", Long.class)).isEqualTo(25_000);
+        assertThat(contents(first)).isEqualTo(contents(second));
+    }
+
+    private static List<String> contents(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.queryForList("SELECT title || '|' || author || '|' || publication_year || '|' || price "
+                + "|| '|' || created_at FROM books ORDER BY 1", String.class);
+    }
+
+    private static JdbcTemplate jdbcTemplate(String database) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS books");
+        jdbcTemplate.execute("CREATE TABLE books (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                + "title VARCHAR(255) NOT NULL, author VARCHAR(255) NOT NULL, publication_year INT, "
+                + "description VARCHAR(1000), genre VARCHAR(50), page_count INT, price NUMERIC(10, 2), "
+                + "is_available BOOLEAN, created_at TIMESTAMP, updated_at TIMESTAMP, version BIGINT)");
+        return jdbcTemplate;
+    }
+}
@@ -0,0 +1,101 @@
+package com.udb.letrasvivas.bookapi.coalescing;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import com.udb.letrasvivas.bookapi.routing.ConsistencyTokenFilter;
+import com.udb.letrasvivas.bookapi.routing.ReadConsistency;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CoalescingAspectTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void copyResult_WithPageOfBooks_ShouldCopyEveryBook() {
+        // Given
+        Book book = new Book(1L, "Don Quixote", "Miguel de Cervantes", 1605, "A classic Spanish novel",
+                "Fiction", 863, new BigDecimal("24.99"), true, LocalDateTime.of(2024, 1, 1, 0, 0),
+                LocalDateTime.of(2024, 2, 1, 0, 0), 3L);
+        Page<Book> page = new PageImpl<>(List.of(book), PageRequest.of(2, 1), 10);
+
+        // When
+        Page<Book> copy = (Page<Book>) CoalescingAspect.copyResult(page);
+
+        // Then
+        assertThat(copy).isNotSameAs(page);
+        assertThat(copy.getPageable()).isEqualTo(page.getPageable());
+        assertThat(copy.getTotalElements()).isEqualTo(10);
+        assertThat(copy.getContent()).containsExactly(book);
+        assertThat(copy.getContent().get(0)).isNotSameAs(book);
+        copy.getContent().get(0).setIsAvailable(false);
+        assertThat(book.getIsAvailable()).isTrue();
+    }
+
+    @Test
+    void copyResult_WithOptionalBookOrImmutableValue_ShouldCopyOnlyTheBook() {
+        // Given
+        Book book = new Book();
+        book.setId(7L);
+        book.setTitle("Rayuela");
+
+        // When
+        Optional<?> copy = (Optional<?>) CoalescingAspect.copyResult(Optional.of(book));
+
+        // Then
+        assertThat(copy).get().isNotSameAs(book).isEqualTo(book);
+        assertThat(CoalescingAspect.copyResult(Boolean.TRUE)).isSameAs(Boolean.TRUE);
+        assertThat(CoalescingAspect.copyResult(null)).isNull();
+    }
+
+    @Test
+    void coalesce_WithConsistencyToken_ShouldProceedWithoutCoalescing() throws Throwable {
+        // Given
+        MetricsRegistry metricsRegistry = new MetricsRegistry();
+        CoalescingAspect aspect = new CoalescingAspect(metricsRegistry, true, Duration.ofSeconds(5));
+        ProceedingJoinPoint joinPoint = joinPoint("getBookById", 7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/7");
+        request.addHeader(ReadConsistency.HEADER, "0/16B3748");
+        Object[] result = new Object[1];
+
+        // When
+        new ConsistencyTokenFilter().doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            try {
+                result[0] = aspect.coalesce(joinPoint);
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        // Then
+        assertThat(result[0]).isEqualTo("proceeded");
+        verify(joinPoint).proceed();
+        assertThat(metricsRegistry.snapshot().keySet()).noneMatch(name -> name.startsWith("bookapi.coalescing.calls"));
+    }
+
+    private static ProceedingJoinPoint joinPoint(String method, Object... args) throws Throwable {
+        MethodSignature signature = mock(MethodSignature.class);
+        when(signature.getMethod()).thenReturn(
+                BookService.class.getMethod(method, Long.class));
+        ProceedingJoinPoint joinPoint = mock(ProceedingJoinPoint.class);
+        when(joinPoint.getSignature()).thenReturn(signature);
+        when(joinPoint.getArgs()).thenReturn(args);
+        when(joinPoint.proceed()).thenReturn("proceeded");
+        return joinPoint;
+    }
+}
@@ -0,0 +1,180 @@
+package com.udb.letrasvivas.bookapi.coalescing;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private final Map<SingleFlight.Role, AtomicInteger> roles = new ConcurrentHashMap<>();
+
+    private SingleFlight singleFlight(Duration maxWait) {
+        return new SingleFlight(maxWait,
+                (key, role) -> roles.computeIfAbsent(role, r -> new AtomicInteger()).incrementAndGet());
+    }
+
+    @Test
+    void execute_ConcurrentCallsWithSameKey_ShouldShareOneExecution() throws Exception {
+        // Given
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        int callers = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // When
+        List<Future<Object>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    return singleFlight.execute("book-1", () -> {
+                        executions.incrementAndGet();
+                        leaderStarted.countDown();
+                        release.await();
+                        return "Don Quixote";
+                    });
+                } catch (Throwable ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }));
+        }
+        // Give every follower time to join the leader's flight
+        leaderStarted.await();
+        Thread.sleep(300);
+        release.countDown();
+
+        // Then
+        for (Future<Object> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("Don Quixote");
+        }
+        executor.shutdown();
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(roles.get(SingleFlight.Role.LEADER).get()).isEqualTo(1);
+        assertThat(roles.get(SingleFlight.Role.FOLLOWER).get()).isEqualTo(callers - 1);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_ConcurrentCallsWithSameKey_ShouldGiveFollowersTheirOwnCopy() throws Exception {
+        // Given
+        SingleFlight singleFlight = new SingleFlight(Duration.ofSeconds(5),
+                result -> new ArrayList<>((List<?>) result), (key, role) -> { });
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> leaderResult = new ArrayList<>(List.of("Don Quixote"));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Object> leader = executor.submit(() -> {
+            try {
+                return singleFlight.execute("books", () -> {
+                    leaderStarted.countDown();
+                    release.await();
+                    return leaderResult;
+                });
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        leaderStarted.await();
+        Future<Object> follower = executor.submit(() -> {
+            try {
+                return singleFlight.execute("books", () -> List.of("should not run"));
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        Thread.sleep(300);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(leaderResult);
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isNotSameAs(leaderResult).isEqualTo(leaderResult);
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_WhenLeaderFails_ShouldPropagateErrorToFollowers() throws Exception {
+        // Given
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<Throwable> leader = executor.submit(() -> catchThrowable(() -> singleFlight.execute("key", () -> {
+            leaderStarted.countDown();
+            release.await();
+            throw new IllegalArgumentException("boom");
+        })));
+        leaderStarted.await();
+        Future<Throwable> follower = executor.submit(() -> catchThrowable(
+                () -> singleFlight.execute("key", () -> "should not run")));
+        Thread.sleep(300);
+        release.countDown();
+
+        // Then
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+        assertThat(follower.get(5, TimeUnit.SECONDS)).isInstanceOf(IllegalArgumentException.class).hasMessage("boom");
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_WhenLeaderExceedsMaxWait_ShouldLetFollowerRunItself() throws Throwable {
+        // Given
+        SingleFlight singleFlight = singleFlight(Duration.ofMillis(50));
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<Object> leader = executor.submit(() -> {
+            try {
+                return singleFlight.execute("slow", () -> {
+                    leaderStarted.countDown();
+                    release.await();
+                    return "leader";
+                });
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        leaderStarted.await();
+
+        // When
+        Object result = singleFlight.execute("slow", () -> "follower");
+
+        // Then
+        assertThat(result).isEqualTo("follower");
+        assertThat(roles.get(SingleFlight.Role.TIMEOUT).get()).isEqualTo(1);
+        release.countDown();
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("leader");
+        executor.shutdown();
+    }
+
+    @Test
+    void execute_WithDifferentKeys_ShouldNotCoalesce() throws Throwable {
+        // Given
+        SingleFlight singleFlight = singleFlight(Duration.ofSeconds(5));
+
+        // When
+        Object first = singleFlight.execute(1L, () -> "one");
+        Object second = singleFlight.execute(2L, () -> "two");
+
+        // Then
+        assertThat(first).isEqualTo("one");
+        assertThat(second).isEqualTo("two");
+        assertThat(roles.get(SingleFlight.Role.LEADER).get()).isEqualTo(2);
+    }
+}
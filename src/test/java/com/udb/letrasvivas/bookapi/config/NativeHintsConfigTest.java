@@ -0,0 +1,33 @@
+package com.udb.letrasvivas.bookapi.config;
+
+import com.udb.letrasvivas.bookapi.book.exception.ErrorResponse;
+import com.udb.letrasvivas.bookapi.catalog.CatalogSpec;
+import com.udb.letrasvivas.bookapi.tracing.Span;
+import com.zaxxer.hikari.pool.HikariProxyPreparedStatement;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.util.ClassUtils;
+
+import java.sql.Connection;
+
+import static org.assertj.core.api.Assertions.*;
+
+class NativeHintsConfigTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    @Test
+    void registerHints_ShouldCoverJdbcProxiesBoundTypesAndJsonTypes() {
+        // When
+        new NativeHintsConfig.BookApiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        // Then
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(Connection.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(
+                ClassUtils.getAllInterfacesForClass(HikariProxyPreparedStatement.class))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(CatalogSpec.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(Span.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(ErrorResponse.class)).accepts(hints);
+    }
+}
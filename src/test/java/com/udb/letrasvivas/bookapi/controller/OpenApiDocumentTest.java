@@ -0,0 +1,126 @@
+package com.udb.letrasvivas.bookapi.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Generates the OpenAPI document from the controller annotations with the
+ * springdoc scanner and checks it against the copy served at runtime, so an
+ * annotation change without a regenerated document fails the build. Run with
+ * {@code -Dopenapi.update=true} to rewrite the document.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:openapidb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "springdoc.api-docs.enabled=true",
+        // The document lists the default port, whatever the test environment uses
+        "server.port=8081"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OpenApiDocumentTest {
+
+    private static final Path DOCUMENT = Path.of("src/main/resources/openapi/openapi.json");
+    private static final Path ACTUAL = Path.of("target/openapi/openapi.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void staticDocument_ShouldMatchControllerAnnotations() throws Exception {
+        // Given
+        JsonNode generated = objectMapper.readTree(mockMvc.perform(get("/v3/api-docs"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray());
+        String rendered = objectMapper.writeValueAsString(generated) + System.lineSeparator();
+
+        // When
+        if (Boolean.getBoolean("openapi.update")) {
+            Files.createDirectories(DOCUMENT.getParent());
+            Files.writeString(DOCUMENT, rendered);
+        }
+        JsonNode committed = objectMapper.readTree(DOCUMENT.toFile());
+
+        // Then
+        if (!generated.equals(committed)) {
+            Files.createDirectories(ACTUAL.getParent());
+            Files.writeString(ACTUAL, rendered);
+        }
+        assertThat(generated)
+                .as("%s is out of date (generated copy in %s); rerun with -Dopenapi.update=true", DOCUMENT, ACTUAL)
+                .isEqualTo(committed);
+    }
+
+    @Test
+    void getDocument_ShouldServeGzippedDocument_AndRevalidateWithETag() throws Exception {
+        // When
+        MvcResult result = mockMvc.perform(get("/api-docs").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andReturn();
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        byte[] body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            body = in.readAllBytes();
+        }
+
+        // Then
+        assertThat(etag).isNotBlank();
+        assertThat(body).isEqualTo(new ClassPathResource("openapi/openapi.json").getContentAsByteArray());
+        mockMvc.perform(get("/api-docs").header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // The identity representation is a different variant, with its own validator
+        String identityEtag = mockMvc.perform(get("/api-docs").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(identityEtag).isNotEqualTo(etag);
+        mockMvc.perform(get("/api-docs").header(HttpHeaders.IF_NONE_MATCH, identityEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getDocument_WhenGzipIsRefused_ShouldServeIdentity() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api-docs").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+        mockMvc.perform(get("/api-docs").header(HttpHeaders.ACCEPT_ENCODING, "*;q=0.5"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        assertThat(OpenApiDocumentController.acceptsGzip("deflate, GZIP ; q=0.8")).isTrue();
+        assertThat(OpenApiDocumentController.acceptsGzip("*, gzip;q=0")).isFalse();
+        assertThat(OpenApiDocumentController.acceptsGzip("identity")).isFalse();
+    }
+
+    @Test
+    void apiInfo_WithoutSwaggerUi_ShouldLinkTheStaticDocument() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/api/info"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.documentation").value("/api-docs"))
+                .andExpect(jsonPath("$.endpoints.swagger-ui").doesNotExist())
+                .andExpect(jsonPath("$.endpoints.openapi-json").value("/api-docs"));
+    }
+}
@@ -0,0 +1,102 @@
+package com.udb.letrasvivas.bookapi.deadline;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementTimeoutDataSourceTest {
+
+    private static final String SLOW_QUERY = "SELECT SUM(X) FROM SYSTEM_RANGE(1, 100000000000)";
+
+    private final DataSource dataSource = new StatementTimeoutDataSource(h2());
+
+    @AfterEach
+    void tearDown() {
+        Deadline.clear();
+    }
+
+    @Test
+    void prepareStatement_ShouldUseRemainingBudgetAsQueryTimeout() throws Exception {
+        // Given
+        Deadline.bind(new Deadline("search", Duration.ofMillis(2500).toNanos()));
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+
+            // Then
+            assertThat(statement.getQueryTimeout()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void createStatement_WithoutDeadline_ShouldNotSetTimeout() throws Exception {
+        // When
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+
+            // Then
+            assertThat(statement.getQueryTimeout()).isZero();
+        }
+    }
+
+    @Test
+    void createStatement_WhenBudgetIsSpent_ShouldFailFast() throws Exception {
+        // Given
+        Deadline deadline = new Deadline("search", Duration.ofSeconds(5).toNanos());
+        deadline.expire();
+        Deadline.bind(deadline);
+
+        // When & Then
+        try (Connection connection = dataSource.getConnection()) {
+            assertThatThrownBy(connection::createStatement)
+                    .isInstanceOf(DeadlineExceededException.class)
+                    .hasMessage("Time budget exhausted for search");
+        }
+    }
+
+    @Test
+    void expire_ShouldCancelRunningStatement() throws Exception {
+        // Given
+        Deadline deadline = new Deadline("search", Duration.ofSeconds(30).toNanos());
+        CompletableFuture<Throwable> query = CompletableFuture.supplyAsync(() -> {
+            Deadline.bind(deadline);
+            try (Connection connection = dataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.executeQuery(SLOW_QUERY);
+                return null;
+            } catch (SQLException ex) {
+                return ex;
+            } finally {
+                Deadline.clear();
+            }
+        });
+        Thread.sleep(300);
+
+        // When
+        long start = System.nanoTime();
+        deadline.expire();
+        Throwable failure = query.get(10, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(failure).isInstanceOf(SQLException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+    }
+
+    private static DataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:deadline;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
@@ -0,0 +1,117 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import com.udb.letrasvivas.bookapi.book.exception.BookNotFoundException;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JfrEventAspectTest {
+
+    private static final String BOOK_OPERATION = "com.udb.letrasvivas.BookOperation";
+    private static final String REPOSITORY_CALL = "com.udb.letrasvivas.RepositoryCall";
+
+    @Autowired
+    private BookService bookService;
+
+    @Test
+    void bookServiceCall_ShouldEmitOperationAndRepositoryEvents() throws IOException {
+        // Given
+        List<RecordedEvent> events;
+        Page<?> page;
+
+        // When
+        try (Recording recording = recording()) {
+            page = bookService.searchBooksByGenre("Fiction", PageRequest.of(0, 5));
+            recording.stop();
+            events = events(recording);
+        }
+
+        // Then
+        assertThat(page.getNumberOfElements()).isPositive();
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(BOOK_OPERATION))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("operation")).isEqualTo("searchBooksByGenre");
+                    assertThat(event.getString("criteria")).isEqualTo("genre");
+                    assertThat(event.getInt("resultCount")).isEqualTo(page.getNumberOfElements());
+                    assertThat(event.getBoolean("failed")).isFalse();
+                });
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(REPOSITORY_CALL))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("method")).isEqualTo("findByGenreIgnoreCase");
+                    assertThat(event.getBoolean("failed")).isFalse();
+                });
+    }
+
+    @Test
+    void failingBookServiceCall_ShouldEmitFailedOperationEvent() throws IOException {
+        // Given
+        List<RecordedEvent> events;
+
+        // When
+        try (Recording recording = recording()) {
+            assertThatThrownBy(() -> bookService.getBookById(-1L)).isInstanceOf(BookNotFoundException.class);
+            recording.stop();
+            events = events(recording);
+        }
+
+        // Then
+        assertThat(events)
+                .filteredOn(event -> event.getEventType().getName().equals(BOOK_OPERATION))
+                .singleElement()
+                .satisfies(event -> {
+                    assertThat(event.getString("operation")).isEqualTo("getBookById");
+                    assertThat(event.getString("criteria")).isEqualTo("id");
+                    assertThat(event.getInt("resultCount")).isZero();
+                    assertThat(event.getBoolean("failed")).isTrue();
+                });
+    }
+
+    @Test
+    void resultCount_ShouldCountPagesCollectionsAndOptionals() {
+        assertThat(JfrEventAspect.resultCount(new PageImpl<>(List.of("a", "b", "c")))).isEqualTo(3);
+        assertThat(JfrEventAspect.resultCount(List.of("a", "b"))).isEqualTo(2);
+        assertThat(JfrEventAspect.resultCount(Optional.empty())).isZero();
+        assertThat(JfrEventAspect.resultCount(Optional.of("a"))).isEqualTo(1);
+        assertThat(JfrEventAspect.resultCount(null)).isZero();
+    }
+
+    private static Recording recording() {
+        Recording recording = new Recording();
+        recording.enable(BookOperationEvent.class);
+        recording.enable(RepositoryCallEvent.class);
+        recording.start();
+        return recording;
+    }
+
+    private static List<RecordedEvent> events(Recording recording) throws IOException {
+        Path file = Files.createTempFile("jfr-event-aspect-", ".jfr");
+        try {
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.assertj.core.api.Assertions.*;
+
+class JfrRuntimeStatisticsTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final JfrRuntimeStatistics statistics = new JfrRuntimeStatistics(metricsRegistry, Duration.ofMillis(5));
+
+    @AfterEach
+    void tearDown() {
+        statistics.stop();
+    }
+
+    @Test
+    void start_ShouldFeedGcPauseAndLockContentionTimers() throws InterruptedException {
+        // Given
+        statistics.start();
+        assertThat(statistics.isRunning()).isTrue();
+
+        // When
+        System.gc();
+        contendLock();
+        contendMonitor();
+
+        // Then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(15);
+        while (!allRecorded() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+        assertThat(metricsRegistry.timer("jvm.gc.pause").count()).isPositive();
+        assertThat(metricsRegistry.timer("jvm.lock.contention", "type", "park").count()).isPositive();
+        assertThat(metricsRegistry.timer("jvm.lock.contention", "type", "monitor").count()).isPositive();
+    }
+
+    @Test
+    void isLock_ShouldCountLockWaitsButNotConditionOrQueueWaits() {
+        assertThat(JfrRuntimeStatistics.isLock("java.util.concurrent.locks.ReentrantLock$NonfairSync")).isTrue();
+        assertThat(JfrRuntimeStatistics.isLock("java.util.concurrent.locks.ReentrantReadWriteLock$FairSync"))
+                .isTrue();
+        assertThat(JfrRuntimeStatistics.isLock(
+                "java.util.concurrent.locks.AbstractQueuedSynchronizer$ConditionObject")).isFalse();
+        assertThat(JfrRuntimeStatistics.isLock("java.util.concurrent.SynchronousQueue$TransferStack")).isFalse();
+        assertThat(JfrRuntimeStatistics.isLock("java.util.concurrent.CountDownLatch$Sync")).isFalse();
+    }
+
+    @Test
+    void stop_ShouldCloseTheStream() {
+        // Given
+        statistics.start();
+
+        // When
+        statistics.stop();
+
+        // Then
+        assertThat(statistics.isRunning()).isFalse();
+    }
+
+    private boolean allRecorded() {
+        return metricsRegistry.timer("jvm.gc.pause").count() > 0
+                && metricsRegistry.timer("jvm.lock.contention", "type", "park").count() > 0
+                && metricsRegistry.timer("jvm.lock.contention", "type", "monitor").count() > 0;
+    }
+
+    /**
+     * Holds a lock until this thread has been parked on it for 50 ms
+     */
+    private static void contendLock() throws InterruptedException {
+        ReentrantLock lock = new ReentrantLock();
+        Thread waiter = Thread.currentThread();
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                held.countDown();
+                while (!lock.hasQueuedThread(waiter)) {
+                    Thread.sleep(1);
+                }
+                Thread.sleep(50);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        held.await();
+        long waitStart = System.nanoTime();
+        lock.lock();
+        long waitedNanos = System.nanoTime() - waitStart;
+        lock.unlock();
+        holder.join();
+        assertThat(waitedNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    /**
+     * Holds a monitor until this thread has been blocked on it for 50 ms
+     */
+    private static void contendMonitor() throws InterruptedException {
+        Object monitor = new Object();
+        Thread waiter = Thread.currentThread();
+        CountDownLatch held = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            synchronized (monitor) {
+                held.countDown();
+                try {
+                    while (waiter.getState() != Thread.State.BLOCKED) {
+                        Thread.sleep(1);
+                    }
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        holder.start();
+        held.await();
+        long waitStart = System.nanoTime();
+        long waitedNanos;
+        synchronized (monitor) {
+            waitedNanos = System.nanoTime() - waitStart;
+        }
+        holder.join();
+        assertThat(waitedNanos).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+}
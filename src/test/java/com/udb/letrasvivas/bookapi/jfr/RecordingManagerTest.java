@@ -0,0 +1,78 @@
+package com.udb.letrasvivas.bookapi.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RecordingManagerTest {
+
+    private final RecordingManager recordingManager = new RecordingManager(Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        recordingManager.destroy();
+    }
+
+    @Test
+    void stop_ShouldDumpRecordingWithDomainEvents() throws Exception {
+        // Given
+        recordingManager.start("default");
+        CacheAccessEvent.emit("books", true);
+        WriteConflictEvent.emit("toggleAvailability", 1, true);
+
+        // When
+        Path file = recordingManager.stop();
+
+        // Then
+        try {
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertThat(events)
+                    .filteredOn(event -> event.getEventType().getName().equals("com.udb.letrasvivas.CacheAccess"))
+                    .singleElement()
+                    .satisfies(event -> {
+                        assertThat(event.getString("cache")).isEqualTo("books");
+                        assertThat(event.getBoolean("hit")).isTrue();
+                    });
+            assertThat(events).anyMatch(event ->
+                    event.getEventType().getName().equals("com.udb.letrasvivas.WriteConflict"));
+            assertThat(recordingManager.status().state()).isEqualTo("NONE");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void start_WhileRunning_ShouldFail() throws Exception {
+        // Given
+        recordingManager.start("default");
+
+        // When / Then
+        assertThat(recordingManager.status().state()).isEqualTo("RUNNING");
+        assertThatThrownBy(() -> recordingManager.start("profile"))
+                .isInstanceOf(RecordingStateException.class);
+    }
+
+    @Test
+    void start_WithUnknownSettings_ShouldFailWithoutRecording() {
+        // When / Then
+        assertThatThrownBy(() -> recordingManager.start("verbose"))
+                .isInstanceOf(UnknownRecordingSettingsException.class)
+                .hasMessage("Unknown recording settings 'verbose'");
+        assertThat(recordingManager.status().state()).isEqualTo("NONE");
+    }
+
+    @Test
+    void stop_WithoutRecording_ShouldFail() {
+        assertThatThrownBy(recordingManager::stop)
+                .isInstanceOf(RecordingStateException.class)
+                .hasMessage("No recording to stop");
+    }
+}
@@ -0,0 +1,84 @@
+package com.udb.letrasvivas.bookapi.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.assertj.core.api.Assertions.*;
+
+class AccessLogFilterTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final Logger accessLogger = (Logger) LoggerFactory.getLogger(AccessLogFilter.LOGGER);
+    private final ListAppender<ILoggingEvent> lines = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        lines.start();
+        accessLogger.addAppender(lines);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accessLogger.detachAppender(lines);
+    }
+
+    @Test
+    void failedRequest_ShouldAlwaysBeLoggedAsJson() throws Exception {
+        // Given
+        AccessLogFilter filter = filter(0.0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(),
+                (req, res) -> ((MockHttpServletResponse) res).setStatus(404));
+
+        // Then
+        assertThat(lines.list).hasSize(1);
+        JsonNode line = new ObjectMapper().readTree(lines.list.get(0).getFormattedMessage());
+        assertThat(line.get("route").asText()).isEqualTo("/api/books/{id}");
+        assertThat(line.get("status").asInt()).isEqualTo(404);
+        assertThat(line.get("durationMs").isNumber()).isTrue();
+    }
+
+    @Test
+    void successfulRequest_ShouldBeSampled() throws Exception {
+        // Given
+        AccessLogFilter filter = filter(0.0);
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/books"), new MockHttpServletResponse(),
+                    (req, res) -> { });
+        }
+
+        // Then
+        assertThat(lines.list).isEmpty();
+        assertThat(metricsRegistry.counter("bookapi.access_log.requests", "outcome", "sampled_out").sum())
+                .isEqualTo(10);
+    }
+
+    private AccessLogFilter filter(double successSampleRate) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bookapi.access-log.success-sample-rate", String.valueOf(successSampleRate))
+                .withProperty("bookapi.access-log.slow-threshold", "10s");
+        environment.setConversionService(new ApplicationConversionService());
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("metricsRegistry", metricsRegistry);
+        return new AccessLogFilter(environment, beanFactory.getBeanProvider(MetricsRegistry.class));
+    }
+}
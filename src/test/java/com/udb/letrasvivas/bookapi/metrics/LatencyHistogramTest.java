@@ -0,0 +1,64 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentile_ShouldBeWithinBucketPrecision() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongStream.rangeClosed(1, 100_000).forEach(micros -> histogram.record(micros * 1_000));
+
+        // When
+        long p50 = histogram.percentile(0.5);
+        long p99 = histogram.percentile(0.99);
+
+        // Then
+        assertThat(p50).isCloseTo(50_000_000L, withinPercentage(3.2));
+        assertThat(p99).isCloseTo(99_000_000L, withinPercentage(3.2));
+        assertThat(histogram.max()).isEqualTo(100_000_000L);
+        assertThat(histogram.count()).isEqualTo(100_000);
+    }
+
+    @Test
+    void bucketIndex_ShouldBeMonotonicAndContainValue() {
+        long previous = -1;
+        for (int i = 0; i < 100_000; i++) {
+            long value = ThreadLocalRandom.current().nextLong(1L << 40);
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat(LatencyHistogram.bucketUpperBound(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.bucketUpperBound(index - 1)).isLessThan(value);
+            }
+        }
+        for (long value = 0; value < 5_000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertThat((long) index).isGreaterThanOrEqualTo(previous);
+            previous = index;
+        }
+    }
+
+    @Test
+    void percentile_WhenEmpty_ShouldBeZero() {
+        assertThat(new LatencyHistogram().percentile(0.99)).isZero();
+    }
+
+    @Test
+    void record_BeyondTrackableRange_ShouldKeepExactMaximum() {
+        // Given
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // When
+        histogram.record(Long.MAX_VALUE / 2);
+
+        // Then
+        assertThat(histogram.max()).isEqualTo(Long.MAX_VALUE / 2);
+        assertThat(histogram.percentile(1.0)).isPositive();
+    }
+}
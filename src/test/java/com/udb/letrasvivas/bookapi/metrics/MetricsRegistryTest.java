@@ -0,0 +1,55 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class MetricsRegistryTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Test
+    void scrape_ShouldRenderPrometheusTextFormat() {
+        // Given
+        metricsRegistry.counter("bookapi.retry.conflicts", "method", "updateBook").add(3);
+        metricsRegistry.gauge(() -> 7, "bookapi.adaptive.limit");
+        Timer timer = metricsRegistry.timer("bookapi.service.duration", "method", "getBookById");
+        timer.record(TimeUnit.MILLISECONDS.toNanos(2));
+        timer.record(TimeUnit.MILLISECONDS.toNanos(4));
+
+        // When
+        String text = metricsRegistry.scrape();
+
+        // Then
+        assertThat(text)
+                .contains("# TYPE bookapi_retry_conflicts_total counter\n"
+                        + "bookapi_retry_conflicts_total{method=\"updateBook\"} 3\n")
+                .contains("# TYPE bookapi_adaptive_limit gauge\nbookapi_adaptive_limit 7\n")
+                .contains("# TYPE bookapi_service_duration_seconds summary\n")
+                .contains("bookapi_service_duration_seconds_count{method=\"getBookById\"} 2\n")
+                .contains("bookapi_service_duration_seconds_sum{method=\"getBookById\"} 0.006\n")
+                .contains("bookapi_service_duration_seconds{method=\"getBookById\",quantile=\"0.99\"} ")
+                .contains("bookapi_service_duration_max_seconds{method=\"getBookById\"} 0.004\n");
+    }
+
+    @Test
+    void snapshot_ShouldIncludeTimerStatistics() {
+        // Given
+        metricsRegistry.timer("bookapi.repository.duration", "method", "findById")
+                .record(TimeUnit.MILLISECONDS.toNanos(1));
+
+        // When & Then
+        assertThat(metricsRegistry.snapshot())
+                .containsEntry("bookapi.repository.duration.count{method=\"findById\"}", 1L)
+                .containsEntry("bookapi.repository.duration.max{method=\"findById\"}", 0.001)
+                .containsKey("bookapi.repository.duration{method=\"findById\",quantile=\"0.5\"}");
+    }
+
+    @Test
+    void timer_ShouldReturnSameInstanceForSameTags() {
+        assertThat(metricsRegistry.timer("t", "method", "a")).isSameAs(metricsRegistry.timer("t", "method", "a"));
+        assertThat(metricsRegistry.timer("t", "method", "a")).isNotSameAs(metricsRegistry.timer("t", "method", "b"));
+    }
+}
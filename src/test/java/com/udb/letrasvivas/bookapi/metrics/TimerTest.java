@@ -0,0 +1,64 @@
+package com.udb.letrasvivas.bookapi.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TimerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong();
+    private final Timer timer = new Timer(Duration.ofSeconds(60), 3, now::get);
+
+    @Test
+    void percentileSeconds_ShouldForgetSamplesOlderThanTheWindow() {
+        // Given: a slow startup
+        for (int i = 0; i < 100; i++) {
+            timer.record(SECOND);
+        }
+
+        // When
+        now.addAndGet(61 * SECOND);
+        for (int i = 0; i < 100; i++) {
+            timer.record(SECOND / 1000);
+        }
+
+        // Then
+        assertThat(timer.percentileSeconds(0.99)).isCloseTo(0.001, withinPercentage(3.2));
+        assertThat(timer.maxSeconds()).isEqualTo(0.001);
+        assertThat(timer.count()).isEqualTo(200);
+        assertThat(timer.totalSeconds()).isCloseTo(100.1, within(1e-9));
+    }
+
+    @Test
+    void percentileSeconds_WithinTheWindow_ShouldKeepOlderSamples() {
+        // Given
+        timer.record(SECOND);
+
+        // When
+        now.addAndGet(30 * SECOND);
+        timer.record(SECOND / 1000);
+
+        // Then
+        assertThat(timer.maxSeconds()).isEqualTo(1.0);
+        assertThat(timer.percentileSeconds(0.99)).isEqualTo(1.0);
+    }
+
+    @Test
+    void percentileSeconds_WhenIdleForAWindow_ShouldBeZero() {
+        // Given
+        timer.record(SECOND);
+
+        // When
+        now.addAndGet(60 * SECOND);
+
+        // Then
+        assertThat(timer.percentileSeconds(0.5)).isZero();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+}
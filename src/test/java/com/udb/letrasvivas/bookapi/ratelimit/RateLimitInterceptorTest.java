@@ -0,0 +1,119 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+
+import static org.assertj.core.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private final RateLimitInterceptor interceptor = new RateLimitInterceptor(
+            new MockEnvironment()
+                    .withProperty("bookapi.ratelimit.api-keys", "partner-key, other-key")
+                    .withProperty("bookapi.ratelimit.bulk.rate", "1")
+                    .withProperty("bookapi.ratelimit.bulk.burst", "2")
+                    .withProperty("bookapi.ratelimit.writes.rate", "1")
+                    .withProperty("bookapi.ratelimit.writes.burst", "1"),
+            new StaticListableBeanFactory().getBeanProvider(MetricsRegistry.class));
+
+    @Test
+    void preHandle_OverLimit_ShouldThrowWithRetryAfter() throws Exception {
+        // Given
+        HandlerMethod handler = handler("bulk");
+        interceptor.preHandle(request("10.0.0.1", null), new MockHttpServletResponse(), handler);
+        interceptor.preHandle(request("10.0.0.1", null), new MockHttpServletResponse(), handler);
+
+        // When
+        Throwable thrown = catchThrowable(() ->
+                interceptor.preHandle(request("10.0.0.1", null), new MockHttpServletResponse(), handler));
+
+        // Then
+        assertThat(thrown).isInstanceOf(RateLimitExceededException.class);
+        RateLimitExceededException ex = (RateLimitExceededException) thrown;
+        assertThat(ex.getGroup()).isEqualTo(EndpointGroup.BULK);
+        assertThat(ex.getRetryAfterSeconds()).isEqualTo(1);
+    }
+
+    @Test
+    void preHandle_ShouldLimitApiKeysSeparatelyFromTheirIp() throws Exception {
+        // Given
+        HandlerMethod handler = handler("bulk");
+        interceptor.preHandle(request("10.0.0.2", null), new MockHttpServletResponse(), handler);
+        interceptor.preHandle(request("10.0.0.2", null), new MockHttpServletResponse(), handler);
+
+        // When & Then
+        assertThat(interceptor.preHandle(request("10.0.0.2", "partner-key"), new MockHttpServletResponse(), handler))
+                .isTrue();
+        assertThatThrownBy(() -> interceptor.preHandle(request("10.0.0.2", null), new MockHttpServletResponse(),
+                handler)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void preHandle_WithUnknownApiKey_ShouldChargeTheIp() throws Exception {
+        // Given
+        HandlerMethod handler = handler("bulk");
+        interceptor.preHandle(request("10.0.0.4", "made-up-1"), new MockHttpServletResponse(), handler);
+        interceptor.preHandle(request("10.0.0.4", "made-up-2"), new MockHttpServletResponse(), handler);
+
+        // When & Then
+        assertThatThrownBy(() -> interceptor.preHandle(request("10.0.0.4", "made-up-3"),
+                new MockHttpServletResponse(), handler)).isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    void preHandle_UnannotatedHandler_ShouldResolveGroupPerHttpMethod() throws Exception {
+        // Given
+        HandlerMethod handler = handler("read");
+        MockHttpServletRequest post = request("10.0.0.5", null);
+        post.setMethod("POST");
+        interceptor.preHandle(request("10.0.0.5", null), new MockHttpServletResponse(), handler);
+        interceptor.preHandle(post, new MockHttpServletResponse(), handler);
+
+        // When
+        Throwable thrown = catchThrowable(() -> interceptor.preHandle(post, new MockHttpServletResponse(), handler));
+
+        // Then
+        assertThat(thrown).isInstanceOf(RateLimitExceededException.class);
+        assertThat(((RateLimitExceededException) thrown).getGroup()).isEqualTo(EndpointGroup.WRITES);
+    }
+
+    @Test
+    void preHandle_ShouldKeepGroupsSeparate() throws Exception {
+        // Given
+        interceptor.preHandle(request("10.0.0.3", null), new MockHttpServletResponse(), handler("bulk"));
+        interceptor.preHandle(request("10.0.0.3", null), new MockHttpServletResponse(), handler("bulk"));
+
+        // When & Then
+        assertThat(interceptor.preHandle(request("10.0.0.3", null), new MockHttpServletResponse(), handler("read")))
+                .isTrue();
+    }
+
+    private static MockHttpServletRequest request(String ip, String apiKey) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+        request.setRemoteAddr(ip);
+        if (apiKey != null) {
+            request.addHeader(RateLimitInterceptor.API_KEY_HEADER, apiKey);
+        }
+        return request;
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        return new HandlerMethod(new Endpoints(), Endpoints.class.getMethod(method));
+    }
+
+    static class Endpoints {
+
+        @RateLimitGroup(EndpointGroup.BULK)
+        public void bulk() {
+        }
+
+        public void read() {
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.udb.letrasvivas.bookapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(1000, Duration.ofMinutes(1));
+    private final TokenBucketLimiter.Limit tenPerSecond = new TokenBucketLimiter.Limit(10, 5);
+
+    @Test
+    void tryAcquire_ShouldAllowBurstThenReject() {
+        // Given
+        long now = 0;
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("client", tenPerSecond, now)).isZero();
+        }
+
+        // When
+        long wait = limiter.tryAcquire("client", tenPerSecond, now);
+
+        // Then
+        assertThat(wait).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    void tryAcquire_ShouldRefillAtConfiguredRate() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("client", tenPerSecond, 0);
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire("client", tenPerSecond, SECOND / 10)).isZero();
+        assertThat(limiter.tryAcquire("client", tenPerSecond, SECOND / 10)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_ShouldKeepClientsIndependent() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("noisy", tenPerSecond, 0);
+        }
+
+        // When & Then
+        assertThat(limiter.tryAcquire("noisy", tenPerSecond, 0)).isPositive();
+        assertThat(limiter.tryAcquire("quiet", tenPerSecond, 0)).isZero();
+    }
+
+    @Test
+    void tryAcquire_UnderContention_ShouldNeverExceedBurst() throws Exception {
+        // Given
+        TokenBucketLimiter.Limit limit = new TokenBucketLimiter.Limit(1, 50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            tasks.add(() -> {
+                int allowed = 0;
+                for (int i = 0; i < 1000; i++) {
+                    if (limiter.tryAcquire("shared", limit, 0) == 0) {
+                        allowed++;
+                    }
+                }
+                return allowed;
+            });
+        }
+
+        // When
+        int allowed = 0;
+        for (Future<Integer> result : executor.invokeAll(tasks)) {
+            allowed += result.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(allowed).isEqualTo(50);
+    }
+}
@@ -0,0 +1,88 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(3, Duration.ofSeconds(10));
+
+    @Test
+    void recordFailure_AtThreshold_ShouldOpenCircuit() {
+        // Given
+        circuitBreaker.recordFailure(0);
+        circuitBreaker.recordFailure(0);
+        assertThat(circuitBreaker.tryAcquire(0)).isTrue();
+
+        // When
+        circuitBreaker.recordFailure(0);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquire(SECOND)).isFalse();
+        assertThat(circuitBreaker.retryAfterSeconds(SECOND)).isEqualTo(9);
+    }
+
+    @Test
+    void recordSuccess_ShouldResetConsecutiveFailures() {
+        // Given
+        circuitBreaker.recordFailure(0);
+        circuitBreaker.recordFailure(0);
+
+        // When
+        circuitBreaker.recordSuccess();
+        circuitBreaker.recordFailure(0);
+        circuitBreaker.recordFailure(0);
+
+        // Then
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void tryAcquire_AfterOpenDuration_ShouldAdmitSingleTrialCall() {
+        // Given
+        openCircuit();
+
+        // When
+        boolean trial = circuitBreaker.tryAcquire(11 * SECOND);
+        boolean concurrent = circuitBreaker.tryAcquire(11 * SECOND);
+
+        // Then
+        assertThat(trial).isTrue();
+        assertThat(concurrent).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void trialCall_ShouldCloseOrReopenCircuit() {
+        // Given
+        AtomicInteger closed = new AtomicInteger();
+        circuitBreaker.onClose(closed::incrementAndGet);
+        openCircuit();
+
+        // When
+        circuitBreaker.tryAcquire(11 * SECOND);
+        circuitBreaker.recordFailure(11 * SECOND);
+        boolean admittedAfterFailedTrial = circuitBreaker.tryAcquire(12 * SECOND);
+        circuitBreaker.tryAcquire(21 * SECOND);
+        circuitBreaker.recordSuccess();
+
+        // Then
+        assertThat(admittedAfterFailedTrial).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquire(21 * SECOND)).isTrue();
+        assertThat(closed).hasValue(1);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.recordFailure(0);
+        }
+    }
+}
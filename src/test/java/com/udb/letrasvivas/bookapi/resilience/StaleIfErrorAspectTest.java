@@ -0,0 +1,131 @@
+package com.udb.letrasvivas.bookapi.resilience;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StaleIfErrorAspectTest {
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ZERO);
+    private final StaleIfErrorAspect aspect =
+            new StaleIfErrorAspect(circuitBreaker, new MetricsRegistry(), 100, Duration.ofMinutes(5));
+    private final TitleSource target = new TitleSource();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+    private TitleSource proxy;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+        RequestContextHolder.setRequestAttributes(
+                new ServletRequestAttributes(new MockHttpServletRequest(), response));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        aspect.destroy();
+    }
+
+    @Test
+    void call_WhenDatabaseIsUnavailable_ShouldServeLastGoodResult() {
+        // Given
+        target.title.set("Cien años de soledad");
+        proxy.title(1L);
+        target.failure.set(new DataAccessResourceFailureException("Connection refused"));
+
+        // When
+        String title = proxy.title(1L);
+
+        // Then
+        assertThat(title).isEqualTo("Cien años de soledad");
+        assertThat(response.getHeader(HttpHeaders.WARNING)).isEqualTo(StaleIfErrorAspect.STALE_WARNING);
+        assertThat(response.getHeader(HttpHeaders.AGE)).isEqualTo("0");
+    }
+
+    @Test
+    void call_WithoutLastGoodResult_ShouldRethrow() {
+        // Given
+        target.failure.set(new CircuitOpenException(5));
+
+        // When & Then
+        assertThatThrownBy(() -> proxy.title(2L)).isInstanceOf(CircuitOpenException.class);
+    }
+
+    @Test
+    void call_WhenFailureIsNotAvailability_ShouldRethrow() {
+        // Given
+        target.title.set("Rayuela");
+        proxy.title(1L);
+        target.failure.set(new DataIntegrityViolationException("constraint"));
+
+        // When & Then
+        assertThatThrownBy(() -> proxy.title(1L)).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(response.getHeader(HttpHeaders.WARNING)).isNull();
+    }
+
+    @Test
+    void circuitClose_ShouldRefreshResultsServedStale() {
+        // Given
+        target.title.set("Pedro Páramo");
+        proxy.title(1L);
+        target.failure.set(new CircuitOpenException(5));
+        proxy.title(1L);
+        target.failure.set(null);
+        target.title.set("Pedro Páramo (2nd edition)");
+        int callsBeforeRefresh = target.calls.get();
+
+        // When
+        circuitBreaker.recordFailure(0);
+        circuitBreaker.tryAcquire(0);
+        circuitBreaker.recordSuccess();
+
+        // Then
+        await(() -> aspect.servedStaleCount() == 0 && target.calls.get() > callsBeforeRefresh);
+        target.failure.set(new CircuitOpenException(5));
+        assertThat(proxy.title(1L)).isEqualTo("Pedro Páramo (2nd edition)");
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    static class TitleSource {
+
+        final AtomicReference<String> title = new AtomicReference<>();
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final AtomicInteger calls = new AtomicInteger();
+
+        @StaleIfError
+        public String title(Long id) {
+            calls.incrementAndGet();
+            RuntimeException ex = failure.get();
+            if (ex != null) {
+                throw ex;
+            }
+            return title.get();
+        }
+    }
+}
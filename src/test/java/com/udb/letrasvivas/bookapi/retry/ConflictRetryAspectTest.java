@@ -0,0 +1,99 @@
+package com.udb.letrasvivas.bookapi.retry;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ConflictRetryAspectTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final ConflictRetryAspect aspect =
+            new ConflictRetryAspect(metricsRegistry, 3, Duration.ofMillis(1), Duration.ofMillis(4));
+    private final PriceUpdater target = new PriceUpdater();
+    private PriceUpdater proxy;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @Test
+    void call_WithTransientConflicts_ShouldRetryUntilSuccess() {
+        // Given
+        target.conflictsLeft.set(2);
+
+        // When
+        String result = proxy.updatePrice();
+
+        // Then
+        assertThat(result).isEqualTo("updated");
+        assertThat(target.attempts).hasValue(3);
+        assertThat(count("bookapi.retry.conflicts")).isEqualTo(2);
+        assertThat(count("bookapi.retry.retries")).isEqualTo(2);
+        assertThat(count("bookapi.retry.exhausted")).isZero();
+    }
+
+    @Test
+    void call_WhenConflictsPersist_ShouldGiveUpAfterMaxAttempts() {
+        // Given
+        target.conflictsLeft.set(Integer.MAX_VALUE);
+
+        // When & Then
+        assertThatThrownBy(proxy::updatePrice).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(target.attempts).hasValue(3);
+        assertThat(count("bookapi.retry.exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void call_WithOtherFailure_ShouldNotRetry() {
+        // Given
+        target.otherFailure = true;
+
+        // When & Then
+        assertThatThrownBy(proxy::updatePrice).isInstanceOf(DataIntegrityViolationException.class);
+        assertThat(target.attempts).hasValue(1);
+    }
+
+    @Test
+    void backoffNanos_ShouldStayWithinCappedExponentialBound() {
+        for (int attempt = 1; attempt <= 40; attempt++) {
+            long ceiling = Math.min(Duration.ofMillis(1).toNanos() << Math.min(attempt - 1, 30),
+                    Duration.ofMillis(4).toNanos());
+            assertThat(aspect.backoffNanos(attempt)).isBetween(0L, ceiling);
+        }
+    }
+
+    private long count(String name) {
+        return metricsRegistry.counter(name, "method", "updatePrice").sum();
+    }
+
+    static class PriceUpdater {
+
+        final AtomicInteger conflictsLeft = new AtomicInteger();
+        final AtomicInteger attempts = new AtomicInteger();
+        volatile boolean otherFailure;
+
+        @RetryOnConflict
+        public String updatePrice() {
+            attempts.incrementAndGet();
+            if (otherFailure) {
+                throw new DataIntegrityViolationException("constraint");
+            }
+            if (conflictsLeft.getAndDecrement() > 0) {
+                throw new OptimisticLockingFailureException("Row was updated by another transaction");
+            }
+            return "updated";
+        }
+    }
+}
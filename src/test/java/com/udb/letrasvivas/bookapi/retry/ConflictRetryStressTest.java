@@ -0,0 +1,83 @@
+package com.udb.letrasvivas.bookapi.retry;
+
+import com.udb.letrasvivas.bookapi.book.dto.BookDto;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Many writers toggling the same book at once. Every toggle must land
+ * exactly once, whatever the interleaving.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:retrydb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "bookapi.retry.max-attempts=100",
+    "bookapi.retry.max-backoff=20ms"
+})
+@ActiveProfiles("test")
+class ConflictRetryStressTest {
+
+    private static final int WRITERS = 8;
+    private static final int TOGGLES_PER_WRITER = 20;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    void toggleBookAvailability_UnderContention_ShouldApplyEveryToggleOnce() throws Exception {
+        // Given
+        Book book = bookService.createBook(new BookDto("Contended Book", "Stress Author", 2020,
+                "Toggled by many writers", "Fiction", 100, 10.0));
+        long initialVersion = book.getVersion();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+
+        // When
+        List<Future<?>> results = new ArrayList<>();
+        for (int i = 0; i < WRITERS; i++) {
+            results.add(writers.submit(() -> {
+                start.await();
+                for (int j = 0; j < TOGGLES_PER_WRITER; j++) {
+                    bookService.toggleBookAvailability(book.getId());
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> result : results) {
+            result.get();
+        }
+        writers.shutdown();
+
+        // Then
+        Book updated = bookRepository.findById(book.getId()).orElseThrow();
+        assertThat(updated.getVersion()).isEqualTo(initialVersion + WRITERS * TOGGLES_PER_WRITER);
+        assertThat(updated.getIsAvailable()).isTrue();
+        assertThat(count("bookapi.retry.conflicts")).isPositive();
+        assertThat(count("bookapi.retry.exhausted")).isZero();
+    }
+
+    private long count(String name) {
+        return metricsRegistry.counter(name, "method", "toggleBookAvailability").sum();
+    }
+}
@@ -0,0 +1,160 @@
+package com.udb.letrasvivas.bookapi.routing;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.*;
+
+class ReplicaRoutingDataSourceTest {
+
+    private static final String WHO_AM_I = "SELECT name FROM node";
+
+    private final DataSource primary = h2("routing-primary", "primary");
+    private final DataSource replica = h2("routing-replica", "replica");
+
+    private ReplicaRoutingDataSource routingDataSource;
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (routingDataSource != null) {
+            routingDataSource.destroy();
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldGoToReplica_AndWritesToPrimary() {
+        // Given
+        JdbcTemplate jdbcTemplate = jdbcTemplate(List.of(replica), false);
+
+        // When
+        String readTarget = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+        String writeTarget = inTransaction(false, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+
+        // Then
+        assertThat(readTarget).isEqualTo("replica");
+        assertThat(writeTarget).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldRoundRobinAcrossReplicas() {
+        // Given
+        DataSource secondReplica = h2("routing-replica-2", "replica-2");
+        JdbcTemplate jdbcTemplate = jdbcTemplate(List.of(replica, secondReplica), false);
+
+        // When
+        String first = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+        String second = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+
+        // Then
+        assertThat(List.of(first, second)).containsExactlyInAnyOrder("replica", "replica-2");
+    }
+
+    @Test
+    void readOnlyTransactions_WhenReplicaIsDown_ShouldFallBackToPrimary() {
+        // Given
+        DataSource deadReplica = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/nowhere");
+        JdbcTemplate jdbcTemplate = jdbcTemplate(List.of(deadReplica), false);
+
+        // When
+        routingDataSource.checkReplicas();
+        String readTarget = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+
+        // Then
+        assertThat(routingDataSource.healthyReplicaCount()).isZero();
+        assertThat(readTarget).isEqualTo("primary");
+    }
+
+    @Test
+    void readOnlyTransactions_WithConsistencyToken_ShouldWaitForReplicaToCatchUp() {
+        // Given
+        JdbcTemplate jdbcTemplate = jdbcTemplate(List.of(replica), true);
+        new JdbcTemplate(replica).update("UPDATE node SET position = '0/10'");
+
+        try {
+            // When
+            ReadConsistency.require("0/20");
+            String behind = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+            new JdbcTemplate(replica).update("UPDATE node SET position = '0/30'");
+            String caughtUp = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+
+            // Then
+            assertThat(behind).isEqualTo("primary");
+            assertThat(caughtUp).isEqualTo("replica");
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+
+    @Test
+    void readOnlyTransactions_WithConsistencyToken_ShouldUseReplayPositionFromHealthCheck() {
+        // Given
+        JdbcTemplate jdbcTemplate = jdbcTemplate(List.of(replica), true, Duration.ofHours(1));
+        routingDataSource.checkReplicas();
+        // Only a fresh position query would see this
+        new JdbcTemplate(replica).update("UPDATE node SET position = '0/10'");
+
+        try {
+            // When
+            ReadConsistency.require("0/20");
+            String replayed = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+            ReadConsistency.require("0/30");
+            String ahead = inTransaction(true, () -> jdbcTemplate.queryForObject(WHO_AM_I, String.class));
+
+            // Then
+            assertThat(replayed).isEqualTo("replica");
+            assertThat(ahead).isEqualTo("primary");
+        } finally {
+            ReadConsistency.clear();
+        }
+    }
+
+    @Test
+    void compareLsn_ShouldCompareBothHalves() {
+        assertThat(ReplicaRoutingDataSource.compareLsn("1/0", "0/FFFFFFFF")).isPositive();
+        assertThat(ReplicaRoutingDataSource.compareLsn("16/B374D848", "16/B374D848")).isZero();
+        assertThat(ReplicaRoutingDataSource.compareLsn(null, "0/1")).isNegative();
+    }
+
+    private JdbcTemplate jdbcTemplate(List<DataSource> replicas, boolean consistency) {
+        return jdbcTemplate(replicas, consistency, Duration.ZERO);
+    }
+
+    private JdbcTemplate jdbcTemplate(List<DataSource> replicas, boolean consistency, Duration positionRefresh) {
+        routingDataSource = new ReplicaRoutingDataSource(primary, replicas, Duration.ZERO,
+                new ReplicaRoutingDataSource.ConsistencySettings(consistency,
+                        "SELECT position FROM node", "SELECT position FROM node", positionRefresh),
+                new MetricsRegistry());
+        routingDataSource.afterPropertiesSet();
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        return new JdbcTemplate(dataSource);
+    }
+
+    private <T> T inTransaction(boolean readOnly, Supplier<T> work) {
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> work.get());
+    }
+
+    private static DataSource h2(String database, String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + database + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), position VARCHAR(20))");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, '0/20')", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,47 @@
+package com.udb.letrasvivas.bookapi.routing;
+
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+/**
+ * Boots the application with routing enabled. The "replica" is the same
+ * in-memory database as the primary, so the schema and seed data are there.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "bookapi.routing.enabled=true",
+    "bookapi.routing.replica-urls=jdbc:h2:mem:routingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+    "bookapi.routing.replica-username=sa",
+    "bookapi.routing.replica-password=",
+    "bookapi.routing.health-check-interval=0s"
+})
+@ActiveProfiles("test")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private MetricsRegistry metricsRegistry;
+
+    @Test
+    void readOnlyServiceCalls_ShouldBeRoutedToReplica() {
+        // Given
+        Number before = metricsRegistry.snapshot().getOrDefault("bookapi.routing.connections{target=\"replica\"}", 0);
+
+        // When
+        long total = bookService.getAllBooks(PageRequest.of(0, 5)).getTotalElements();
+
+        // Then
+        Number after = metricsRegistry.snapshot().get("bookapi.routing.connections{target=\"replica\"}");
+        assertThat(total).isEqualTo(100);
+        assertThat(after.longValue()).isGreaterThan(before.longValue());
+    }
+}
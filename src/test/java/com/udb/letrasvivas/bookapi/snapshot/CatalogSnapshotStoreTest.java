@@ -0,0 +1,172 @@
+package com.udb.letrasvivas.bookapi.snapshot;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:snapshotdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "bookapi.snapshot.enabled=true",
+        // The test drives catch-up and writes itself
+        "bookapi.snapshot.catch-up-interval=1h",
+        "bookapi.snapshot.write-interval=1h",
+        "bookapi.snapshot.reconcile-interval=1h"})
+@ActiveProfiles("test")
+class CatalogSnapshotStoreTest {
+
+    private static final Path PATH = temporaryDirectory().resolve("catalog.snapshot");
+
+    @Autowired
+    private CatalogSnapshotStore store;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache cache;
+
+    @DynamicPropertySource
+    static void snapshotPath(DynamicPropertyRegistry registry) {
+        registry.add("bookapi.snapshot.path", PATH::toString);
+    }
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while ((store.watermark() == null || !store.isServing()) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        cache = cacheManager.getCache(CacheConfig.BOOKS_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    void bookCache_OnMiss_ShouldBeAnsweredFromSnapshot() throws IOException {
+        // Given
+        Long id = firstId();
+        Book stored = bookService.getBookByIdOptional(id).orElseThrow();
+
+        // When
+        Book cached = cache.get(id, Book.class);
+
+        // Then
+        assertThat(Files.exists(PATH)).isTrue();
+        assertThat(store.size()).isEqualTo(CatalogSnapshot.open(PATH).size()).isPositive();
+        assertThat(cached).isNotNull();
+        assertThat(cached.getTitle()).isEqualTo(stored.getTitle());
+        assertThat(cached.getVersion()).isEqualTo(stored.getVersion());
+    }
+
+    @Test
+    void update_ShouldInvalidateUntilCaughtUp_ThenBeWrittenToNextSnapshot() throws IOException {
+        // Given
+        Long id = firstId();
+        boolean available = bookService.getBookById(id).getIsAvailable();
+
+        // When
+        bookService.toggleBookAvailability(id);
+        Object afterUpdate = store.lookup(id);
+        store.catchUp();
+        Book afterCatchUp = (Book) store.lookup(id);
+        store.writeIfChanged();
+
+        // Then
+        assertThat(afterUpdate).isNull();
+        assertThat(afterCatchUp.getIsAvailable()).isEqualTo(!available);
+        assertThat(CatalogSnapshot.open(PATH).find(id).getIsAvailable()).isEqualTo(!available);
+        assertThat(cache.get(id, Book.class).getIsAvailable()).isEqualTo(!available);
+    }
+
+    @Test
+    void dropDeletedBooks_ShouldStopServingRowsDeletedBehindItsBack() throws IOException {
+        // Given
+        Long id = jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Long.class);
+        assertThat(store.lookup(id)).isNotNull();
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", id);
+
+        // When
+        store.dropDeletedBooks();
+        Object afterReconcile = store.lookup(id);
+        store.writeIfChanged();
+
+        // Then
+        assertThat(afterReconcile).isNull();
+        assertThat(CatalogSnapshot.open(PATH).contains(id)).isFalse();
+    }
+
+    @Test
+    void dropDeletedBooks_ShouldAlsoDropBooksOnlyInTheOverlay() {
+        // Given
+        jdbcTemplate.update("INSERT INTO books (title, author, publication_year, genre, is_available,"
+                + " created_at, updated_at, version) VALUES ('Overlay Book', 'Overlay Author', 2020, 'Fiction', TRUE,"
+                + " CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, 0)");
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM books WHERE title = 'Overlay Book'", Long.class);
+        store.catchUp();
+        assertThat(store.lookup(id)).isNotNull();
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", id);
+
+        // When
+        store.dropDeletedBooks();
+
+        // Then
+        assertThat(store.lookup(id)).isNull();
+    }
+
+    @Test
+    void bookCache_AfterCatchUpOrReconcile_ShouldNotServeEarlierSnapshotHit() {
+        // Given
+        Long updatedId = firstId();
+        Long deletedId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM books", Long.class);
+        String title = cache.get(updatedId, Book.class).getTitle();
+        assertThat(cache.get(deletedId, Book.class)).isNotNull();
+        jdbcTemplate.update("UPDATE books SET title = 'Changed Elsewhere', version = version + 1,"
+                + " updated_at = CURRENT_TIMESTAMP WHERE id = ?", updatedId);
+        jdbcTemplate.update("DELETE FROM books WHERE id = ?", deletedId);
+
+        // When
+        store.catchUp();
+        store.dropDeletedBooks();
+
+        // Then
+        assertThat(title).isNotEqualTo("Changed Elsewhere");
+        assertThat(cache.get(updatedId, Book.class).getTitle()).isEqualTo("Changed Elsewhere");
+        assertThat(cache.get(deletedId)).isNull();
+    }
+
+    private Long firstId() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM books", Long.class);
+    }
+
+    private static Path temporaryDirectory() {
+        try {
+            Path directory = Files.createTempDirectory("catalog-snapshot");
+            directory.toFile().deleteOnExit();
+            return directory;
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.udb.letrasvivas.bookapi.snapshot;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private static final LocalDateTime WATERMARK = LocalDateTime.of(2025, 3, 14, 15, 9, 26, 535_897_000);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void open_AfterCommit_ShouldReturnEveryFieldIncludingNulls() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        Book full = book(3L, "Cien años de soledad", "Gabriel García Márquez");
+        full.setDescription("Macondo ✨");
+        full.setPrice(new BigDecimal("19.99"));
+        full.setPageCount(417);
+        full.setCreatedAt(LocalDateTime.of(2024, 1, 2, 3, 4, 5, 6_000));
+        Book sparse = new Book();
+        sparse.setId(7L);
+        sparse.setVersion(0L);
+        sparse.setIsAvailable(null);
+
+        // When
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK)) {
+            writer.add(full);
+            writer.add(sparse);
+            writer.commit();
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+
+        // Then
+        assertThat(snapshot.size()).isEqualTo(2);
+        assertThat(snapshot.watermark()).isEqualTo(WATERMARK);
+        assertThat(snapshot.find(3L)).isEqualTo(full);
+        assertThat(snapshot.find(3L).getCreatedAt()).isEqualTo(full.getCreatedAt());
+        assertThat(snapshot.find(7L)).isEqualTo(sparse);
+        assertThat(snapshot.find(5L)).isNull();
+        List<Long> ids = new ArrayList<>();
+        snapshot.forEachId(ids::add);
+        assertThat(ids).containsExactly(3L, 7L);
+    }
+
+    @Test
+    void open_WithSmallSegments_ShouldMapRecordsAcrossSeveralSegments() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        List<Book> books = new ArrayList<>();
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK)) {
+            for (long id = 1; id <= 50; id++) {
+                Book book = book(id, "Title " + id, "Author " + "x".repeat((int) id));
+                writer.add(book);
+                books.add(book);
+            }
+            writer.commit();
+        }
+
+        // When
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path, 512);
+
+        // Then
+        assertThat(Files.size(path)).isGreaterThan(512L * 4);
+        assertThat(snapshot.size()).isEqualTo(50);
+        for (Book book : books) {
+            assertThat(snapshot.find(book.getId())).isEqualTo(book);
+        }
+        assertThatThrownBy(() -> CatalogSnapshot.open(path, 64))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("larger than a segment");
+    }
+
+    @Test
+    void write_WithoutCommit_ShouldLeaveExistingSnapshotAndNoTemporaryFile() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK)) {
+            writer.add(book(1L, "Rayuela", "Julio Cortázar"));
+            writer.commit();
+        }
+
+        // When
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK.plusHours(1))) {
+            writer.add(book(2L, "Ficciones", "Jorge Luis Borges"));
+        }
+
+        // Then
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+        CatalogSnapshot snapshot = CatalogSnapshot.open(path);
+        assertThat(snapshot.watermark()).isEqualTo(WATERMARK);
+        assertThat(snapshot.find(1L).getTitle()).isEqualTo("Rayuela");
+        assertThat(snapshot.contains(2L)).isFalse();
+    }
+
+    @Test
+    void add_OutOfIdOrder_ShouldThrow() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK)) {
+            writer.add(book(2L, "Ficciones", "Jorge Luis Borges"));
+
+            // When / Then
+            assertThatThrownBy(() -> writer.add(book(1L, "Rayuela", "Julio Cortázar")))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void open_WithCorruptedOrTruncatedFile_ShouldThrow() throws IOException {
+        // Given
+        Path path = directory.resolve("catalog.snapshot");
+        try (CatalogSnapshot.Writer writer = CatalogSnapshot.write(path, WATERMARK)) {
+            writer.add(book(1L, "Rayuela", "Julio Cortázar"));
+            writer.commit();
+        }
+        byte[] bytes = Files.readAllBytes(path);
+        Path corrupted = directory.resolve("corrupted.snapshot");
+        byte[] flipped = bytes.clone();
+        flipped[flipped.length - 1] ^= 1;
+        Files.write(corrupted, flipped);
+        Path truncated = directory.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(bytes, bytes.length - 4));
+
+        // When / Then
+        assertThatThrownBy(() -> CatalogSnapshot.open(corrupted))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Checksum mismatch");
+        assertThatThrownBy(() -> CatalogSnapshot.open(truncated))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private static Book book(Long id, String title, String author) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle(title);
+        book.setAuthor(author);
+        book.setGenre("Fiction");
+        book.setPublicationYear(1963);
+        book.setIsAvailable(true);
+        book.setUpdatedAt(WATERMARK.minusDays(1));
+        book.setVersion(2L);
+        return book;
+    }
+}
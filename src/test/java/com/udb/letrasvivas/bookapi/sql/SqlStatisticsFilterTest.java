@@ -0,0 +1,101 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+
+import static org.assertj.core.api.Assertions.*;
+
+class SqlStatisticsFilterTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+
+    @Test
+    void request_ShouldReportStatementsAsHeadersAndMetrics() throws Exception {
+        // Given
+        SqlStatisticsFilter filter = filter(false);
+        MockHttpServletRequest request = request();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, statements(request, 1, "SELECT * FROM books WHERE id = ?"));
+
+        // Then
+        assertThat(response.getHeader(SqlStatisticsFilter.STATEMENTS_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(SqlStatisticsFilter.TIME_HEADER)).isEqualTo("2");
+        assertThat(metricsRegistry.counter("bookapi.sql.statements", "endpoint", "GET /api/books/{id}").sum())
+                .isEqualTo(1);
+        assertThat(SqlStatistics.current()).isNull();
+    }
+
+    @Test
+    void request_OverBudget_ShouldFailWhenEnforced() throws Exception {
+        // Given
+        SqlStatisticsFilter filter = filter(true);
+        MockHttpServletRequest request = request();
+
+        // When & Then
+        assertThatThrownBy(() -> filter.doFilter(request, new MockHttpServletResponse(),
+                statements(request, 2, "SELECT * FROM books WHERE id = ?")))
+                .isInstanceOf(StatementBudgetExceededException.class)
+                .hasMessage("GET /api/books/{id} issued 2 SQL statements, budget is 1");
+        assertThat(metricsRegistry.counter("bookapi.sql.budget.exceeded", "endpoint", "GET /api/books/{id}").sum())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void request_RepeatingOneStatement_ShouldBeReportedAsPossibleNPlusOne() throws Exception {
+        // Given
+        SqlStatisticsFilter filter = filter(false);
+        MockHttpServletRequest request = request();
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, null);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(),
+                statements(request, 5, "SELECT * FROM reviews WHERE book_id = ?"));
+
+        // Then
+        assertThat(metricsRegistry.counter("bookapi.sql.repeated_statements", "endpoint", "GET /api/books/{id}")
+                .sum()).isEqualTo(1);
+    }
+
+    private SqlStatisticsFilter filter(boolean failOnExceed) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("bookapi.sql.response-headers", "true")
+                .withProperty("bookapi.sql.budget.fail-on-exceed", String.valueOf(failOnExceed));
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("metricsRegistry", metricsRegistry);
+        return new SqlStatisticsFilter(environment, beanFactory.getBeanProvider(MetricsRegistry.class));
+    }
+
+    private static MockHttpServletRequest request() throws NoSuchMethodException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/books/{id}");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE,
+                new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("getBookById")));
+        return request;
+    }
+
+    private static FilterChain statements(MockHttpServletRequest request, int count, String sql) {
+        return (req, res) -> {
+            for (int i = 0; i < count; i++) {
+                SqlStatistics.current().record(sql, 2_000_000);
+            }
+            res.getWriter().write("{}");
+        };
+    }
+
+    static class Endpoints {
+
+        @StatementBudget(1)
+        public void getBookById() {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs real requests with budget enforcement on (see the test profile), so
+ * an endpoint that starts issuing more statements than its
+ * {@link StatementBudget} fails here.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:budgetdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementBudgetIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    void endpoints_ShouldStayWithinStatementBudgets() throws Exception {
+        // Given
+        Book book = new Book();
+        book.setTitle("Budget Book");
+        book.setAuthor("Budget Author");
+        book.setPublicationYear(2001);
+        book.setPrice(new BigDecimal("12.50"));
+        book.setIsAvailable(true);
+        Long id = bookRepository.save(book).getId();
+
+        // When & Then
+        mockMvc.perform(get("/api/books/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "1"));
+        mockMvc.perform(get("/api/books").param("page", "0").param("size", "5"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/books/statistics"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/api/books/{id}", id)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\": \"Budget Book\", \"author\": \"Budget Author\", \"publicationYear\": 2002,"
+                        + " \"price\": 13.0}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(SqlStatisticsFilter.STATEMENTS_HEADER, "3"));
+        mockMvc.perform(patch("/api/books/{id}/availability", id))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/books/{id}", id))
+                .andExpect(status().isNoContent());
+    }
+}
@@ -0,0 +1,97 @@
+package com.udb.letrasvivas.bookapi.sql;
+
+import com.udb.letrasvivas.bookapi.metrics.MetricsRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StatementStatisticsDataSourceTest {
+
+    private final MetricsRegistry metricsRegistry = new MetricsRegistry();
+    private final SqlStatistics statistics = new SqlStatistics();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        try (Connection connection = h2().getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS item");
+            statement.execute("CREATE TABLE item (id INT PRIMARY KEY, name VARCHAR(20))");
+        }
+        SqlStatistics.bind(statistics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.clear();
+    }
+
+    @Test
+    void execute_ShouldCountStatementsPerRequest_AndBatchesOnce() throws Exception {
+        // Given
+        DataSource dataSource = new StatementStatisticsDataSource(h2(), Duration.ofMinutes(1), metricsRegistry);
+
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT INTO item VALUES (?, ?)")) {
+                for (int i = 0; i < 3; i++) {
+                    insert.setInt(1, i);
+                    insert.setString(2, "item-" + i);
+                    insert.addBatch();
+                }
+                insert.executeBatch();
+            }
+            for (int i = 0; i < 3; i++) {
+                try (PreparedStatement select = connection.prepareStatement("SELECT name FROM item WHERE id = ?")) {
+                    select.setInt(1, i);
+                    select.executeQuery().close();
+                }
+            }
+        }
+
+        // Then
+        assertThat(statistics.statements()).isEqualTo(4);
+        assertThat(statistics.nanos()).isPositive();
+        assertThat(statistics.mostRepeated().getKey()).isEqualTo("SELECT name FROM item WHERE id = ?");
+        assertThat(statistics.mostRepeated().getValue()).isEqualTo(3);
+        assertThat(metricsRegistry.timer("bookapi.sql.duration", "type", "select").count()).isEqualTo(3);
+        assertThat(metricsRegistry.timer("bookapi.sql.duration", "type", "insert").count()).isEqualTo(1);
+    }
+
+    @Test
+    void execute_AboveSlowThreshold_ShouldBeCountedAsSlow() throws Exception {
+        // Given
+        DataSource dataSource = new StatementStatisticsDataSource(h2(), Duration.ZERO, metricsRegistry);
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.executeQuery("SELECT COUNT(*) FROM item").close();
+        }
+
+        // Then
+        assertThat(metricsRegistry.counter("bookapi.sql.slow").sum()).isEqualTo(1);
+        assertThat(statistics.mostRepeated().getKey()).isEqualTo("SELECT COUNT(*) FROM item");
+    }
+
+    @Test
+    void statementType_ShouldUseLeadingKeyword() {
+        assertThat(StatementStatisticsDataSource.statementType("  select * from books")).isEqualTo("select");
+        assertThat(StatementStatisticsDataSource.statementType("UPDATE books SET price = ?")).isEqualTo("update");
+        assertThat(StatementStatisticsDataSource.statementType("call next value for seq")).isEqualTo("other");
+        assertThat(StatementStatisticsDataSource.statementType(null)).isEqualTo("other");
+    }
+
+    private static DataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:statements;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+}
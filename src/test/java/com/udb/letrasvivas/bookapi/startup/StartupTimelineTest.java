@@ -0,0 +1,41 @@
+package com.udb.letrasvivas.bookapi.startup;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.*;
+
+class StartupTimelineTest {
+
+    @Test
+    void report_ShouldSubtractNestedStepsFromSelfTime() throws Exception {
+        // Given
+        BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+        StartupStep outer = applicationStartup.start("spring.beans.instantiate").tag("beanName", "outer");
+        StartupStep inner = applicationStartup.start("spring.beans.instantiate").tag("beanName", "inner");
+        Thread.sleep(30);
+        inner.end();
+        outer.end();
+
+        // When
+        StartupTimeline.StartupReport report = new StartupTimeline(applicationStartup).report(10).orElseThrow();
+
+        // Then
+        assertThat(report.recordedSteps()).isEqualTo(2);
+        StartupTimeline.Step slowest = report.slowestSteps().get(0);
+        StartupTimeline.Step other = report.slowestSteps().get(1);
+        assertThat(slowest.tags()).containsEntry("beanName", "inner");
+        assertThat(slowest.selfMs()).isGreaterThanOrEqualTo(30.0).isEqualTo(slowest.durationMs());
+        assertThat(other.durationMs()).isGreaterThanOrEqualTo(slowest.durationMs());
+        assertThat(other.selfMs()).isCloseTo(other.durationMs() - slowest.durationMs(), within(0.001));
+        assertThat(report.slowestStepTypes()).singleElement()
+                .satisfies(total -> assertThat(total.count()).isEqualTo(2));
+    }
+
+    @Test
+    void report_WithoutBufferingStartup_ShouldBeEmpty() {
+        assertThat(new StartupTimeline(ApplicationStartup.DEFAULT).report(10)).isEmpty();
+    }
+}
@@ -0,0 +1,46 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+class TraceContextTest {
+
+    private static final String TRACEPARENT = "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01";
+
+    @Test
+    void parse_ShouldReadIdsAndSampledFlag() {
+        // When
+        TraceContext context = TraceContext.parse(TRACEPARENT);
+
+        // Then
+        assertThat(context.traceId()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(context.spanId()).isEqualTo("00f067aa0ba902b7");
+        assertThat(context.sampled()).isTrue();
+        assertThat(context.traceparent()).isEqualTo(TRACEPARENT);
+    }
+
+    @Test
+    void parse_InvalidHeaders_ShouldReturnNull() {
+        assertThat(TraceContext.parse("garbage")).isNull();
+        assertThat(TraceContext.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01")).isNull();
+        assertThat(TraceContext.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")).isNull();
+        assertThat(TraceContext.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01")).isNull();
+    }
+
+    @Test
+    void contextFor_ShouldFollowParentSampling() {
+        // Given
+        Tracer tracer = new Tracer(1.0, java.util.List.of());
+        TraceContext unsampledParent = TraceContext.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-00");
+
+        // When
+        TraceContext child = tracer.contextFor(unsampledParent);
+
+        // Then
+        assertThat(child.traceId()).isEqualTo(unsampledParent.traceId());
+        assertThat(child.spanId()).isNotEqualTo(unsampledParent.spanId());
+        assertThat(child.sampled()).isFalse();
+    }
+}
@@ -0,0 +1,90 @@
+package com.udb.letrasvivas.bookapi.tracing;
+
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.repository.BookRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:tracingdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private RingBufferSpanExporter ringBufferSpanExporter;
+
+    @Test
+    void search_ShouldProduceOneTraceAcrossAllLayers() throws Exception {
+        // Given
+        Book book = new Book();
+        book.setTitle("Rayuela");
+        book.setAuthor("Julio Cortazar");
+        book.setPublicationYear(1963);
+        book.setPrice(new BigDecimal("21.00"));
+        book.setIsAvailable(true);
+        bookRepository.save(book);
+
+        // When
+        mockMvc.perform(get("/api/books/search").param("title", "Rayuela")
+                        .header(TraceContext.TRACEPARENT, "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TraceContext.TRACERESPONSE,
+                        org.hamcrest.Matchers.startsWith("00-" + TRACE_ID + "-")));
+
+        // Then
+        List<Span> spans = ringBufferSpanExporter.trace(TRACE_ID);
+        Map<String, Span> byId = spans.stream().collect(Collectors.toMap(Span::getSpanId, Function.identity()));
+        Span server = spans.stream().filter(Span::isRoot).findFirst().orElseThrow();
+        Span controller = named(spans, "BookController.searchBooksAdvanced");
+        Span service = named(spans, "BookService.searchBooksAdvanced");
+        List<Span> queries = spans.stream().filter(span -> span.getName().equals("SQL SELECT")).toList();
+
+        assertThat(server.getName()).isEqualTo("GET /api/books/search");
+        assertThat(server.getParentSpanId()).isEqualTo(CALLER_SPAN_ID);
+        assertThat(server.getAttributes()).containsEntry("http.status_code", 200);
+        assertThat(controller.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(controller.getSpanId());
+        assertThat(service.getAttributes())
+                .containsEntry("criteria.title", "Rayuela")
+                .containsEntry("result.count", 1);
+        assertThat(queries).isNotEmpty().allSatisfy(query -> {
+            assertThat(query.getAttributes()).containsKeys("db.statement", "db.rows");
+            assertThat(byId.get(query.getParentSpanId()).getName()).startsWith("BookRepository.");
+        });
+        assertThat(ringBufferSpanExporter.recentTraces(5)).anyMatch(trace -> trace.traceId().equals(TRACE_ID));
+    }
+
+    private static Span named(List<Span> spans, String name) {
+        return spans.stream().filter(span -> span.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError("No span " + name + " in " + spans.stream()
+                        .map(Span::getName).toList()));
+    }
+
+    @Test
+    void traceEndpoint_ShouldBeOffByDefault() throws Exception {
+        mockMvc.perform(get("/api/traces")).andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,132 @@
+package com.udb.letrasvivas.bookapi.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.udb.letrasvivas.bookapi.book.model.Book;
+import com.udb.letrasvivas.bookapi.book.service.BookService;
+import com.udb.letrasvivas.bookapi.config.CacheConfig;
+import com.udb.letrasvivas.bookapi.config.DataSeeder;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmupdb;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "bookapi.warmup.enabled=true",
+        "bookapi.warmup.iterations=50",
+        "bookapi.warmup.hot-books=20"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class WarmupTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Warmup warmup;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DataSeeder dataSeeder;
+
+    @Test
+    void readiness_AfterWarmup_ShouldBeUp_WithHotBooksCached() throws Exception {
+        // When
+        await(warmup::isReady, Duration.ofSeconds(30));
+
+        // Then
+        Warmup.Status status = warmup.status();
+        assertThat(status.phase()).isEqualTo(Warmup.Phase.COMPLETED);
+        assertThat(status.iterations()).isEqualTo(50);
+        assertThat(status.cachedBooks()).isEqualTo(20);
+        assertThat(status.connections()).isPositive();
+        Book hottest = bookService.getAllBooks(PageRequest.of(0, 1, Sort.by("title"))).getContent().get(0);
+        assertThat(cacheManager.getCache(CacheConfig.BOOKS_CACHE).get(hottest.getId())).isNotNull();
+        mockMvc.perform(get("/api/health/readiness"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UP"))
+                .andExpect(jsonPath("$.warmup.phase").value("COMPLETED"));
+    }
+
+    @Test
+    void isReady_WhenMaxDurationPasses_ShouldReportReadyBeforeWarmupFinishes() throws Exception {
+        // Given
+        Warmup slow = new Warmup(bookService, objectMapper, validator, dataSource, ApplicationStartup.DEFAULT,
+                dataSeeder, true, Integer.MAX_VALUE, 20, Duration.ofMillis(300));
+
+        // When
+        boolean readyBeforeStart = slow.isReady();
+        slow.start();
+        boolean readyAtStart = slow.isReady();
+        await(slow::isReady, Duration.ofSeconds(10));
+
+        // Then
+        assertThat(readyBeforeStart).isFalse();
+        assertThat(readyAtStart).isFalse();
+        assertThat(slow.status().phase()).isEqualTo(Warmup.Phase.TIMED_OUT);
+        assertThat(slow.status().iterations()).isLessThan(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void start_WhileSeeding_ShouldWaitForSeedingBeforeWarmingUp() throws Exception {
+        // Given
+        CompletableFuture<Void> seeded = new CompletableFuture<>();
+        DataSeeder seeding = mock(DataSeeder.class);
+        when(seeding.completion()).thenReturn(seeded);
+        Warmup pending = new Warmup(bookService, objectMapper, validator, dataSource, ApplicationStartup.DEFAULT,
+                seeding, true, 10, 5, Duration.ofSeconds(30));
+
+        // When
+        pending.start();
+        Thread.sleep(100);
+        Warmup.Status whileSeeding = pending.status();
+        seeded.complete(null);
+        await(pending::isReady, Duration.ofSeconds(10));
+
+        // Then
+        assertThat(whileSeeding.phase()).isEqualTo(Warmup.Phase.PENDING);
+        assertThat(whileSeeding.ready()).isFalse();
+        assertThat(whileSeeding.startedAt()).isNull();
+        assertThat(pending.status().phase()).isEqualTo(Warmup.Phase.COMPLETED);
+        assertThat(pending.status().iterations()).isEqualTo(10);
+    }
+
+    private static void await(BooleanSupplier condition, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).as("condition met within %s", timeout).isTrue();
+    }
+}
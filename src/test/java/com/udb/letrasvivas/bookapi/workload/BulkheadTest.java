@@ -0,0 +1,76 @@
+package com.udb.letrasvivas.bookapi.workload;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.*;
+
+class BulkheadTest {
+
+    @Test
+    void acquire_WhenSlotsAndQueueAreFull_ShouldRejectImmediately() throws Exception {
+        // Given
+        Bulkhead bulkhead = new Bulkhead(WorkloadType.SEARCH, 1, 1, Duration.ofSeconds(5));
+        bulkhead.acquire();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch waiting = new CountDownLatch(1);
+        Future<?> queued = executor.submit(() -> {
+            waiting.countDown();
+            bulkhead.acquire();
+            bulkhead.release();
+        });
+        waiting.await();
+        while (bulkhead.queued() == 0) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            // When
+            long start = System.nanoTime();
+            Throwable thrown = catchThrowable(bulkhead::acquire);
+
+            // Then
+            assertThat(thrown).isInstanceOf(BulkheadFullException.class);
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+            assertThat(bulkhead.rejectedCount()).isEqualTo(1);
+        } finally {
+            bulkhead.release();
+            queued.get(5, TimeUnit.SECONDS);
+            executor.shutdownNow();
+        }
+        assertThat(bulkhead.inUse()).isZero();
+    }
+
+    @Test
+    void acquire_WhenWaitTimesOut_ShouldReject() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead(WorkloadType.WRITE, 1, 10, Duration.ofMillis(50));
+        bulkhead.acquire();
+
+        // When & Then
+        assertThatThrownBy(bulkhead::acquire)
+                .isInstanceOf(BulkheadFullException.class)
+                .hasMessage("Too many concurrent write requests");
+        assertThat(bulkhead.queued()).isZero();
+    }
+
+    @Test
+    void release_ShouldAdmitNextRequest() {
+        // Given
+        Bulkhead bulkhead = new Bulkhead(WorkloadType.POINT_READ, 1, 0, Duration.ZERO);
+        bulkhead.acquire();
+
+        // When
+        bulkhead.release();
+
+        // Then
+        assertThatCode(bulkhead::acquire).doesNotThrowAnyException();
+        assertThat(bulkhead.inUse()).isEqualTo(1);
+    }
+}
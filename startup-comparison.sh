@@ -0,0 +1,48 @@
+#!/bin/bash
+
+# Letras Vivas Book API - JVM vs native startup comparison
+#
+# Starts each build that exists under target/, waits for /api/health and
+# reports the time to first response, the time to ApplicationReady as seen by
+# the app (/api/startup) and the resident set size once ready.
+#
+#   ./mvnw package                   -> target/bookapi-0.0.1-SNAPSHOT-exec.jar
+#   ./mvnw -Pnative native:compile   -> target/bookapi
+#   docker-compose up -d             (database from .env / application.properties)
+#
+# Extra arguments are passed to both builds, e.g. --spring.datasource.url=...
+
+PORT=${PORT:-18081}
+JAR="target/bookapi-0.0.1-SNAPSHOT-exec.jar"
+NATIVE="target/bookapi"
+APP_ARGS="--server.port=$PORT --bookapi.catalog.async=true $*"
+
+now_ms() {
+    date +%s%3N
+}
+
+measure() {
+    local name=$1
+    shift
+    local start pid ready rss app_ready
+    start=$(now_ms)
+    "$@" $APP_ARGS > "target/startup-$name.log" 2>&1 &
+    pid=$!
+    until curl -sf "http://localhost:$PORT/api/health" > /dev/null; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "❌ $name exited during startup, see target/startup-$name.log"
+            return
+        fi
+        sleep 0.01
+    done
+    ready=$(( $(now_ms) - start ))
+    app_ready=$(curl -s "http://localhost:$PORT/api/startup?limit=1" | tr -d ' \n' | grep -o '"timeToReadyMs":[0-9]*' | cut -d: -f2)
+    rss=$(awk '/VmRSS/ {printf "%d", $2 / 1024}' "/proc/$pid/status")
+    kill "$pid" && wait "$pid" 2> /dev/null
+    printf "%-8s %18s %18s %10s\n" "$name" "$ready" "${app_ready:-n/a}" "$rss"
+}
+
+printf "%-8s %18s %18s %10s\n" "build" "first response ms" "ready (app) ms" "RSS MB"
+[ -f "$JAR" ] && measure jvm java -jar "$JAR"
+[ -x "$NATIVE" ] && measure native "$NATIVE"
+exit 0